@@ -0,0 +1,143 @@
+package com.coditory.quark.common.encode;
+
+import com.coditory.quark.common.encode.csv.CsvCodec;
+import com.coditory.quark.common.encode.lookup.LookupCodec;
+import com.coditory.quark.common.encode.percent.PercentCodec;
+import com.coditory.quark.common.encode.unicode.UnicodeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every codec over different corpora.
+ * Run with the gc profiler (configured in build.gradle) to see allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+    @Param({"json", "java", "ecmascript", "html", "percent", "csv", "base64", "unicode", "lookup"})
+    private String codecName;
+
+    @Param({"ASCII", "ESCAPES", "CJK", "EMOJI"})
+    private Corpus corpus;
+
+    @Param({"16", "1024", "1048576"})
+    private int size;
+
+    private TranslationCodec codec;
+    private String decoded;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        codec = codec(codecName);
+        decoded = corpus.generate(size, new Random(size));
+        encoded = codec.encode(decoded);
+    }
+
+    @Benchmark
+    public String encode() {
+        return codec.encode(decoded);
+    }
+
+    @Benchmark
+    public String decode() {
+        return codec.decode(encoded);
+    }
+
+    private static TranslationCodec codec(String name) {
+        switch (name) {
+            case "json":
+                return JsonCodec.getInstance();
+            case "java":
+                return JavaCodec.getInstance();
+            case "ecmascript":
+                return EcmaScriptCodec.getInstance();
+            case "html":
+                return Html4Codec.getInstance();
+            case "percent":
+                return PercentCodec.getInstance();
+            case "csv":
+                return CsvCodec.getInstance();
+            case "base64":
+                return Base64Codec.getInstance();
+            case "unicode":
+                return UnicodeCodec.getInstance();
+            case "lookup":
+                return LookupCodec.forLookupMap(Map.of(
+                        "&", "&amp;",
+                        "<", "&lt;",
+                        ">", "&gt;",
+                        "\"", "&quot;"
+                ));
+            default:
+                throw new IllegalArgumentException("Unrecognized codec: " + name);
+        }
+    }
+
+    public enum Corpus {
+        ASCII {
+            @Override
+            void append(StringBuilder builder, Random random) {
+                builder.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+            }
+        },
+        ESCAPES {
+            @Override
+            void append(StringBuilder builder, Random random) {
+                String chars = random.nextBoolean() ? SPECIAL : ALPHANUMERIC;
+                builder.append(chars.charAt(random.nextInt(chars.length())));
+            }
+        },
+        CJK {
+            @Override
+            void append(StringBuilder builder, Random random) {
+                builder.append((char) (0x4E00 + random.nextInt(0x9FFF - 0x4E00)));
+            }
+        },
+        EMOJI {
+            @Override
+            void append(StringBuilder builder, Random random) {
+                if (random.nextInt(4) == 0) {
+                    builder.append(' ');
+                } else {
+                    builder.appendCodePoint(0x1F300 + random.nextInt(0x1F64F - 0x1F300));
+                }
+            }
+        };
+
+        private static final String ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        private static final String SPECIAL = "\"'\\/<>&,;%+ \n\r\t";
+
+        abstract void append(StringBuilder builder, Random random);
+
+        String generate(int size, Random random) {
+            StringBuilder builder = new StringBuilder(size + 1);
+            while (builder.length() < size) {
+                append(builder, random);
+            }
+            // drop a high surrogate that would be left without its pair
+            builder.setLength(size);
+            if (Character.isHighSurrogate(builder.charAt(size - 1))) {
+                builder.setCharAt(size - 1, ' ');
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.coditory.quark.common.encode;
+
+import com.coditory.quark.common.encode.numeric.NumericEntityCodec;
+import com.coditory.quark.common.encode.unicode.UnicodeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Output is written to a reused builder, so with the gc profiler
+ * gc.alloc.rate.norm should stay close to 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCodecBenchmark {
+    private String numericEntities;
+    private String namedEntities;
+    private String unicodeText;
+    private StringBuilder out;
+
+    @Setup
+    public void setup() {
+        numericEntities = "&#65;&#x42;&#8364;&#x1F309; text ".repeat(200);
+        namedEntities = "&lt;p&gt;&quot;Fran&ccedil;ais&quot; &amp; &euro;&thetasym;&#x1F309; ".repeat(200);
+        unicodeText = "Zażółć gęślą jaźń 日本語 🌉 ".repeat(200);
+        out = new StringBuilder(64 * 1024);
+    }
+
+    @Benchmark
+    public StringBuilder decodeNumericEntities() {
+        out.setLength(0);
+        NumericEntityCodec.decode(numericEntities, out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder decodeHtmlEntities() {
+        out.setLength(0);
+        Html4Codec.decode(namedEntities, out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder encodeNumericEntities() {
+        out.setLength(0);
+        NumericEntityCodec.encode(unicodeText, out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder encodeUnicodeEscapes() {
+        out.setLength(0);
+        UnicodeCodec.encode(unicodeText, out);
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package com.coditory.quark.common.uri;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares expansion of a compiled uri template with building the same url with {@link UriBuilder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriTemplateBenchmark {
+    private final UriTemplate template = UriTemplate.compile("https://{host}/api/v1/users/{userId}/orders{?page,size,q}");
+    private final Map<String, Object> variables = Map.of(
+            "host", "coditory.com",
+            "userId", "123",
+            "page", "2",
+            "size", "50",
+            "q", "café latte"
+    );
+
+    @Benchmark
+    public String template() {
+        return template.expand(variables);
+    }
+
+    @Benchmark
+    public String builder() {
+        return new UriBuilder()
+                .setScheme("https")
+                .setHost((String) variables.get("host"))
+                .setPathSegments(List.of("api", "v1", "users", (String) variables.get("userId"), "orders"))
+                .addQueryParam("page", (String) variables.get("page"))
+                .addQueryParam("size", (String) variables.get("size"))
+                .addQueryParam("q", (String) variables.get("q"))
+                .toUriString();
+    }
+}
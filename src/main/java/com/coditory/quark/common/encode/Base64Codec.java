@@ -1,5 +1,6 @@
 package com.coditory.quark.common.encode;
 
+import java.util.Arrays;
 import java.util.Base64;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -18,12 +19,27 @@ public final class Base64Codec {
         return true;
     };
 
+    static final ByteTranslator BYTE_ENCODER = (input, offset, length, out) -> {
+        out.append(Base64.getEncoder().encode(slice(input, offset, length)));
+        return true;
+    };
+
+    static final ByteTranslator BYTE_DECODER = (input, offset, length, out) -> {
+        out.append(Base64.getDecoder().decode(slice(input, offset, length)));
+        return true;
+    };
+
     private static final TranslationCodec CODEC = new TranslationCodec(ENCODER, DECODER);
+    private static final ByteTranslationCodec BYTE_CODEC = new ByteTranslationCodec(BYTE_ENCODER, BYTE_DECODER);
 
     public static TranslationCodec getInstance() {
         return CODEC;
     }
 
+    public static ByteTranslationCodec getByteCodec() {
+        return BYTE_CODEC;
+    }
+
     public static Translator getEncoder() {
         return ENCODER;
     }
@@ -47,4 +63,10 @@ public final class Base64Codec {
     public static boolean decode(String input, StringBuilder out) {
         return CODEC.decode(input, out);
     }
+
+    private static byte[] slice(byte[] input, int offset, int length) {
+        return offset == 0 && length == input.length
+                ? input
+                : Arrays.copyOfRange(input, offset, offset + length);
+    }
 }
@@ -0,0 +1,151 @@
+package com.coditory.quark.common.encode;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Translates many values reusing scratch builders.
+ * Every sequential run, fork-join leaf task and stream split uses its own builder.
+ */
+final class BatchTranslator {
+    private static final int PARALLEL_BATCH_SIZE = 1024;
+    private static final int MAX_SCRATCH_CAPACITY = 64 * 1024;
+
+    private BatchTranslator() {
+        throw new UnsupportedOperationException("Do not instantiate utility class");
+    }
+
+    static List<String> translateAll(Translator translator, List<String> inputs, ForkJoinPool pool) {
+        checkNotNull(inputs, "inputs");
+        String[] values = inputs.toArray(new String[0]);
+        translateAll(translator, values, values, pool);
+        return unmodifiableList(Arrays.asList(values));
+    }
+
+    static void translateAll(Translator translator, String[] inputs, String[] out, ForkJoinPool pool) {
+        checkNotNull(translator, "translator");
+        checkNotNull(inputs, "inputs");
+        checkNotNull(out, "out");
+        check(out.length >= inputs.length, "Expected output array with at least %s elements. Got: %s", inputs.length, out.length);
+        if (pool == null || inputs.length <= 2 * PARALLEL_BATCH_SIZE) {
+            translateRange(translator, inputs, out, 0, inputs.length);
+        } else {
+            pool.invoke(new TranslateTask(translator, inputs, out, 0, inputs.length));
+        }
+    }
+
+    static Stream<String> translateAll(Translator translator, Stream<String> inputs) {
+        checkNotNull(translator, "translator");
+        checkNotNull(inputs, "inputs");
+        Spliterator<String> spliterator = new TranslatingSpliterator(translator, inputs.spliterator());
+        return StreamSupport.stream(spliterator, inputs.isParallel())
+                .onClose(inputs::close);
+    }
+
+    private static void translateRange(Translator translator, String[] inputs, String[] out, int from, int to) {
+        StringBuilder scratch = new StringBuilder();
+        for (int i = from; i < to; ++i) {
+            String input = inputs[i];
+            if (input == null) {
+                throw new IllegalArgumentException("Expected non-null input at index: " + i);
+            }
+            out[i] = translate(translator, input, scratch);
+            if (scratch.capacity() > MAX_SCRATCH_CAPACITY) {
+                scratch = new StringBuilder();
+            }
+        }
+    }
+
+    private static String translate(Translator translator, String input, StringBuilder scratch) {
+        scratch.setLength(0);
+        return translator.translate(input, scratch)
+                ? scratch.toString()
+                : input;
+    }
+
+    private static final class TranslateTask extends RecursiveAction {
+        private final Translator translator;
+        private final String[] inputs;
+        private final String[] out;
+        private final int from;
+        private final int to;
+
+        TranslateTask(Translator translator, String[] inputs, String[] out, int from, int to) {
+            this.translator = translator;
+            this.inputs = inputs;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_BATCH_SIZE) {
+                translateRange(translator, inputs, out, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new TranslateTask(translator, inputs, out, from, middle),
+                    new TranslateTask(translator, inputs, out, middle, to)
+            );
+        }
+    }
+
+    private static final class TranslatingSpliterator implements Spliterator<String> {
+        private final Translator translator;
+        private final Spliterator<String> source;
+        private StringBuilder scratch;
+
+        TranslatingSpliterator(Translator translator, Spliterator<String> source) {
+            this.translator = translator;
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            return source.tryAdvance(input -> action.accept(translate(input)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super String> action) {
+            source.forEachRemaining(input -> action.accept(translate(input)));
+        }
+
+        private String translate(String input) {
+            checkNotNull(input, "input");
+            if (scratch == null || scratch.capacity() > MAX_SCRATCH_CAPACITY) {
+                scratch = new StringBuilder();
+            }
+            return BatchTranslator.translate(translator, input, scratch);
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            Spliterator<String> split = source.trySplit();
+            return split == null
+                    ? null
+                    : new TranslatingSpliterator(translator, split);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(Spliterator.SORTED | Spliterator.DISTINCT);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.coditory.quark.common.encode;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Growable byte sequence used as an output of {@link ByteTranslator}.
+ */
+public final class ByteBuilder {
+    private byte[] bytes;
+    private int size;
+
+    public ByteBuilder() {
+        this(64);
+    }
+
+    public ByteBuilder(int capacity) {
+        check(capacity >= 0, "Expected capacity >= 0. Got: %s", capacity);
+        this.bytes = new byte[capacity];
+    }
+
+    public int length() {
+        return size;
+    }
+
+    public void setLength(int length) {
+        check(length >= 0 && length <= size, "Invalid length: %s", length);
+        this.size = length;
+    }
+
+    public ByteBuilder append(byte value) {
+        ensureCapacity(size + 1);
+        bytes[size++] = value;
+        return this;
+    }
+
+    public ByteBuilder append(byte[] input) {
+        checkNotNull(input, "input");
+        return append(input, 0, input.length);
+    }
+
+    public ByteBuilder append(byte[] input, int offset, int length) {
+        checkNotNull(input, "input");
+        checkRange(input, offset, length);
+        ensureCapacity(size + length);
+        System.arraycopy(input, offset, bytes, size, length);
+        size += length;
+        return this;
+    }
+
+    /**
+     * Appends chars that are expected to be ASCII, one byte per char.
+     */
+    public ByteBuilder appendAscii(String input) {
+        checkNotNull(input, "input");
+        int length = input.length();
+        ensureCapacity(size + length);
+        for (int i = 0; i < length; ++i) {
+            bytes[size++] = (byte) input.charAt(i);
+        }
+        return this;
+    }
+
+    public byte byteAt(int index) {
+        check(index >= 0 && index < size, "Invalid index: %s", index);
+        return bytes[index];
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Copies bytes to the buffer.
+     *
+     * @throws java.nio.BufferOverflowException if there is not enough space in the buffer
+     */
+    public void writeTo(ByteBuffer out) {
+        checkNotNull(out, "out");
+        out.put(bytes, 0, size);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            int newCapacity = Math.max(capacity, bytes.length * 2);
+            bytes = Arrays.copyOf(bytes, newCapacity);
+        }
+    }
+
+    /**
+     * Returns bytes decoded as UTF-8.
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, 0, size, UTF_8);
+    }
+
+    private static void checkRange(byte[] input, int offset, int length) {
+        check(offset >= 0 && length >= 0 && offset <= input.length - length,
+                "Invalid range. Offset: %s, length: %s, size: %s", offset, length, input.length);
+    }
+}
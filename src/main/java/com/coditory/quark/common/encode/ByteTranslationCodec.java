@@ -0,0 +1,61 @@
+package com.coditory.quark.common.encode;
+
+import java.nio.ByteBuffer;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+public class ByteTranslationCodec {
+    private final ByteTranslator encoder;
+    private final ByteTranslator decoder;
+
+    public ByteTranslationCodec(ByteTranslator encoder, ByteTranslator decoder) {
+        this.encoder = checkNotNull(encoder, "encoder");
+        this.decoder = checkNotNull(decoder, "decoder");
+    }
+
+    public ByteTranslator getEncoder() {
+        return encoder;
+    }
+
+    public ByteTranslator getDecoder() {
+        return decoder;
+    }
+
+    public byte[] encode(byte[] input) {
+        checkNotNull(input, "input");
+        return encoder.translate(input);
+    }
+
+    public boolean encode(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        checkRange(input, offset, length);
+        return encoder.translate(input, offset, length, out);
+    }
+
+    public boolean encode(ByteBuffer input, ByteBuilder out) {
+        return encoder.translate(input, out);
+    }
+
+    public byte[] decode(byte[] input) {
+        checkNotNull(input, "input");
+        return decoder.translate(input);
+    }
+
+    public boolean decode(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        checkRange(input, offset, length);
+        return decoder.translate(input, offset, length, out);
+    }
+
+    public boolean decode(ByteBuffer input, ByteBuilder out) {
+        return decoder.translate(input, out);
+    }
+
+    private static void checkRange(byte[] input, int offset, int length) {
+        check(offset >= 0 && length >= 0 && offset <= input.length - length,
+                "Invalid range. Offset: %s, length: %s, size: %s", offset, length, input.length);
+    }
+}
@@ -0,0 +1,49 @@
+package com.coditory.quark.common.encode;
+
+import java.nio.ByteBuffer;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Byte oriented counterpart of {@link Translator}. Input and output are UTF-8 encoded.
+ */
+@FunctionalInterface
+public interface ByteTranslator {
+    static ByteTranslator identity() {
+        return (input, offset, length, out) -> {
+            out.append(input, offset, length);
+            return false;
+        };
+    }
+
+    boolean translate(byte[] input, int offset, int length, ByteBuilder out);
+
+    default byte[] translate(byte[] input) {
+        checkNotNull(input, "input");
+        ByteBuilder builder = new ByteBuilder(input.length * 2);
+        boolean changed = translate(input, 0, input.length, builder);
+        return changed
+                ? builder.toByteArray()
+                : input;
+    }
+
+    /**
+     * Translates remaining bytes of the input buffer.
+     * Input buffer position is moved to its limit.
+     */
+    default boolean translate(ByteBuffer input, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        int length = input.remaining();
+        boolean changed;
+        if (input.hasArray()) {
+            changed = translate(input.array(), input.arrayOffset() + input.position(), length, out);
+            input.position(input.limit());
+        } else {
+            byte[] bytes = new byte[length];
+            input.get(bytes);
+            changed = translate(bytes, 0, length, out);
+        }
+        return changed;
+    }
+}
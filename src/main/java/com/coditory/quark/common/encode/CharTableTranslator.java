@@ -0,0 +1,68 @@
+package com.coditory.quark.common.encode;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Replaces single characters using a table of pairs: character, replacement.
+ * ASCII characters are resolved with a direct index, others with a binary search.
+ */
+final class CharTableTranslator extends IndexedTranslator {
+    private final String[] ascii = new String[128];
+    private final char[] chars;
+    private final String[] replacements;
+
+    CharTableTranslator(String[] pairs) {
+        checkNotNull(pairs, "pairs");
+        check(pairs.length % 2 == 0, "Expected pairs of: character, replacement");
+        int asciiPairs = 0;
+        char previous = 0;
+        for (int i = 0; i < pairs.length; i += 2) {
+            check(pairs[i].length() == 1, "Expected single character. Got: %s", pairs[i]);
+            char c = pairs[i].charAt(0);
+            check(i == 0 || c > previous, "Expected pairs sorted by character. Got: %s", pairs[i]);
+            previous = c;
+            if (c < 128) {
+                ascii[c] = pairs[i + 1];
+                asciiPairs++;
+            }
+        }
+        int size = pairs.length / 2 - asciiPairs;
+        this.chars = new char[size];
+        this.replacements = new String[size];
+        for (int i = 0; i < size; ++i) {
+            chars[i] = pairs[2 * (asciiPairs + i)].charAt(0);
+            replacements[i] = pairs[2 * (asciiPairs + i) + 1];
+        }
+    }
+
+    String get(int codePoint) {
+        if (codePoint < 128) {
+            return ascii[codePoint];
+        }
+        int low = 0;
+        int high = chars.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char c = chars[middle];
+            if (c < codePoint) {
+                low = middle + 1;
+            } else if (c > codePoint) {
+                high = middle - 1;
+            } else {
+                return replacements[middle];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected int translate(String input, int index, StringBuilder out) {
+        String replacement = get(input.charAt(index));
+        if (replacement == null) {
+            return 0;
+        }
+        out.append(replacement);
+        return 1;
+    }
+}
@@ -1,30 +1,17 @@
 package com.coditory.quark.common.encode;
 
-import com.coditory.quark.common.collection.Maps;
 import com.coditory.quark.common.encode.unicode.UnicodeCodec;
 
-import java.util.Map;
-
-import static com.coditory.quark.common.encode.TranslationConstants.CTRL_CHARS_ENCODE;
-import static com.coditory.quark.common.encode.TranslationConstants.CTRL_CHARS_DECODE;
+import static com.coditory.quark.common.encode.TranslationConstants.ECMA_SCRIPT_ESCAPES;
 
 public final class EcmaScriptCodec {
-    private static final Map<String, String> TRANSLATIONS = Maps.<String, String>builder()
-            .put("'", "\\'")
-            .put("\"", "\\\"")
-            .put("\\", "\\\\")
-            .put("/", "\\/")
-            .build();
-
     public static final Translator ENCODER = Translator.builder()
-            .translate(TRANSLATIONS)
-            .translate(CTRL_CHARS_ENCODE)
+            .translate(new CharTableTranslator(ECMA_SCRIPT_ESCAPES))
             .translate(UnicodeCodec.getEncoder())
             .build();
 
     private static final Translator DECODER = Translator.builder()
-            .translate(Maps.invert(TRANSLATIONS))
-            .translate(CTRL_CHARS_DECODE)
+            .translate(new EscapeTableDecoder(ECMA_SCRIPT_ESCAPES, false))
             .translate(UnicodeCodec.getDecoder())
             .build();
 
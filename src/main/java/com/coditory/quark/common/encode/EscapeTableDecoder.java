@@ -0,0 +1,46 @@
+package com.coditory.quark.common.encode;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Decodes backslash escapes using a table of pairs: character, escape sequence.
+ * Escape sequences must consist of a backslash and a single ASCII character.
+ */
+final class EscapeTableDecoder extends IndexedTranslator {
+    private static final char ESCAPE = '\\';
+
+    private final char[] decoded = new char[128];
+    private final boolean[] known = new boolean[128];
+    private final boolean dropUnknownEscapes;
+
+    EscapeTableDecoder(String[] pairs, boolean dropUnknownEscapes) {
+        checkNotNull(pairs, "pairs");
+        check(pairs.length % 2 == 0, "Expected pairs of: character, escape sequence");
+        for (int i = 0; i < pairs.length; i += 2) {
+            String escape = pairs[i + 1];
+            check(pairs[i].length() == 1, "Expected single character. Got: %s", pairs[i]);
+            check(escape.length() == 2 && escape.charAt(0) == ESCAPE && escape.charAt(1) < 128,
+                    "Expected backslash followed by ASCII character. Got: %s", escape);
+            decoded[escape.charAt(1)] = pairs[i].charAt(0);
+            known[escape.charAt(1)] = true;
+        }
+        this.dropUnknownEscapes = dropUnknownEscapes;
+    }
+
+    @Override
+    protected int translate(String input, int index, StringBuilder out) {
+        if (input.charAt(index) != ESCAPE) {
+            return 0;
+        }
+        if (index + 1 < input.length()) {
+            char c = input.charAt(index + 1);
+            if (c < 128 && known[c]) {
+                out.append(decoded[c]);
+                return 2;
+            }
+        }
+        // unknown escape, backslash is dropped and the next character is kept
+        return dropUnknownEscapes ? 1 : 0;
+    }
+}
@@ -0,0 +1,242 @@
+package com.coditory.quark.common.encode;
+
+import com.coditory.quark.common.encode.internal.Utf8Bytes;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Decodes named and numeric html entities in a single pass.
+ * Named entities are resolved with a perfect hash (hash and displace),
+ * precomputed in {@link HtmlEntityTables}, so lookups do not allocate.
+ */
+final class HtmlEntityDecoder extends IndexedTranslator implements ByteTranslator {
+    private static final int FNV_OFFSET = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+    private static final int REPLACEMENT_CHAR = 0xFFFD;
+
+    private final IndexedTranslator numericDecoder;
+    private final String[] entities;
+    private final char[] values;
+    private final int[] displacements;
+    private final int mask;
+    private final int longest;
+
+    HtmlEntityDecoder(IndexedTranslator numericDecoder) {
+        this.numericDecoder = checkNotNull(numericDecoder, "numericDecoder");
+        this.entities = HtmlEntityTables.ENTITIES;
+        this.values = HtmlEntityTables.VALUES;
+        this.displacements = HtmlEntityTables.DISPLACEMENTS;
+        this.mask = entities.length - 1;
+        int maxLength = 0;
+        for (String entity : entities) {
+            if (entity != null) {
+                maxLength = Math.max(maxLength, entity.length() - 2);
+            }
+        }
+        this.longest = maxLength;
+    }
+
+    @Override
+    public String translate(String input) {
+        checkNotNull(input, "input");
+        if (input.indexOf('&') < 0) {
+            return input;
+        }
+        StringBuilder builder = new StringBuilder(input.length());
+        return translate(input, builder)
+                ? builder.toString()
+                : input;
+    }
+
+    @Override
+    public boolean translate(String input, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        int index = input.indexOf('&');
+        if (index < 0) {
+            out.append(input);
+            return false;
+        }
+        boolean changed = false;
+        int position = 0;
+        while (index >= 0) {
+            out.append(input, position, index);
+            int consumed = translate(input, index, out);
+            if (consumed == 0) {
+                out.append('&');
+                position = index + 1;
+            } else {
+                changed = true;
+                position = index + consumed;
+            }
+            index = input.indexOf('&', position);
+        }
+        out.append(input, position, input.length());
+        return changed;
+    }
+
+    @Override
+    protected int translate(String input, int index, StringBuilder out) {
+        int length = input.length();
+        int start = index + 1;
+        if (input.charAt(index) != '&' || start >= length) {
+            return 0;
+        }
+        if (input.charAt(start) == '#') {
+            return numericDecoder.translate(input, index, out);
+        }
+        int limit = Math.min(length, start + longest);
+        int hash = FNV_OFFSET;
+        int end = start;
+        while (end < limit) {
+            char c = input.charAt(end);
+            if (!isAlphanumeric(c)) {
+                break;
+            }
+            hash = (hash ^ c) * FNV_PRIME;
+            end++;
+        }
+        if (end == start || end >= length || input.charAt(end) != ';') {
+            return 0;
+        }
+        int slot = slot(hash, displacements[bucket(hash)]);
+        String entity = entities[slot];
+        if (entity == null || entity.length() - 2 != end - start || !input.regionMatches(start, entity, 1, end - start)) {
+            return 0;
+        }
+        out.append(values[slot]);
+        return end + 1 - index;
+    }
+
+    /**
+     * Decodes UTF-8 encoded input. Numeric entities are decoded with a required semicolon,
+     * the same way as the default numeric entity decoder.
+     */
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        int end = offset + length;
+        int index = offset;
+        int cleanStart = offset;
+        boolean changed = false;
+        while (index < end) {
+            if (input[index] != '&') {
+                index++;
+                continue;
+            }
+            out.append(input, cleanStart, index - cleanStart);
+            cleanStart = index;
+            int consumed = index + 1 < end && input[index + 1] == '#'
+                    ? decodeNumeric(input, index, end, out)
+                    : decodeNamed(input, index, end, out);
+            if (consumed == 0) {
+                index++;
+            } else {
+                changed = true;
+                index += consumed;
+                cleanStart = index;
+            }
+        }
+        out.append(input, cleanStart, end - cleanStart);
+        return changed;
+    }
+
+    private int decodeNamed(byte[] input, int index, int end, ByteBuilder out) {
+        int start = index + 1;
+        int limit = Math.min(end, start + longest);
+        int hash = FNV_OFFSET;
+        int position = start;
+        while (position < limit) {
+            byte b = input[position];
+            if (b < 0 || !isAlphanumeric((char) b)) {
+                break;
+            }
+            hash = (hash ^ b) * FNV_PRIME;
+            position++;
+        }
+        if (position == start || position >= end || input[position] != ';') {
+            return 0;
+        }
+        int slot = slot(hash, displacements[bucket(hash)]);
+        String entity = entities[slot];
+        if (entity == null || entity.length() - 2 != position - start) {
+            return 0;
+        }
+        for (int i = start; i < position; ++i) {
+            if (entity.charAt(i - index) != input[i]) {
+                return 0;
+            }
+        }
+        Utf8Bytes.appendCodePoint(values[slot], out);
+        return position + 1 - index;
+    }
+
+    private int decodeNumeric(byte[] input, int index, int end, ByteBuilder out) {
+        int start = index + 2;
+        boolean isHex = start < end && (input[start] == 'x' || input[start] == 'X');
+        if (isHex) {
+            start++;
+        }
+        int value = 0;
+        int position = start;
+        while (position < end) {
+            int digit = Character.digit(input[position], isHex ? 16 : 10);
+            if (digit < 0) {
+                break;
+            }
+            if (value <= Character.MAX_CODE_POINT) {
+                value = value * (isHex ? 16 : 10) + digit;
+            }
+            position++;
+        }
+        if (position == start || position >= end || input[position] != ';') {
+            return 0;
+        }
+        if (value > Character.MAX_CODE_POINT) {
+            value = REPLACEMENT_CHAR;
+        }
+        if (value >= Character.MIN_SURROGATE && value <= Character.MAX_SURROGATE) {
+            // unpaired surrogate cannot be encoded in UTF-8
+            out.append((byte) '?');
+        } else {
+            Utf8Bytes.appendCodePoint(value, out);
+        }
+        return position + 1 - index;
+    }
+
+    private int bucket(int hash) {
+        return bucket(hash, displacements.length);
+    }
+
+    private int slot(int hash, int displacement) {
+        return slot(hash, displacement, mask);
+    }
+
+    static int bucket(int hash, int buckets) {
+        return Integer.remainderUnsigned(hash, buckets);
+    }
+
+    static int slot(int hash, int displacement, int mask) {
+        // murmur3 finalizer, so slots do not correlate with buckets
+        int h = hash ^ (displacement * 0x9E3779B9);
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+
+    static int hash(String entity) {
+        int hash = FNV_OFFSET;
+        for (int i = 1; i < entity.length() - 1; ++i) {
+            hash = (hash ^ entity.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    static boolean isAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,53 @@
+package com.coditory.quark.common.encode;
+
+import com.coditory.quark.common.encode.internal.Utf8Bytes;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Encodes UTF-8 encoded input to named html entities.
+ * Characters without an entity and malformed bytes are copied as they are.
+ */
+final class HtmlEntityEncoder implements ByteTranslator {
+    private final CharTableTranslator entities;
+
+    HtmlEntityEncoder(CharTableTranslator entities) {
+        this.entities = checkNotNull(entities, "entities");
+    }
+
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        int end = offset + length;
+        int index = offset;
+        int cleanStart = offset;
+        boolean changed = false;
+        while (index < end) {
+            byte b = input[index];
+            int codePoint;
+            int consumed;
+            if (b >= 0) {
+                codePoint = b;
+                consumed = 1;
+            } else {
+                codePoint = Utf8Bytes.codePointAt(input, index, end);
+                if (codePoint == Utf8Bytes.MALFORMED) {
+                    index++;
+                    continue;
+                }
+                consumed = Utf8Bytes.sequenceLength(b);
+            }
+            String entity = entities.get(codePoint);
+            if (entity != null) {
+                out.append(input, cleanStart, index - cleanStart);
+                out.appendAscii(entity);
+                changed = true;
+                cleanStart = index + consumed;
+            }
+            index += consumed;
+        }
+        out.append(input, cleanStart, end - cleanStart);
+        return changed;
+    }
+}
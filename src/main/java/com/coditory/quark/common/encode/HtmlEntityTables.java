@@ -0,0 +1,155 @@
+package com.coditory.quark.common.encode;
+
+/**
+ * Perfect hash tables of {@link TranslationConstants#HTML_ENTITIES} used by {@link HtmlEntityDecoder}.
+ * Generated with HtmlEntityHashBuilder from test sources, regenerate them when the entity table changes:
+ * {@code ./gradlew generateHtmlEntityTables}
+ */
+final class HtmlEntityTables {
+    static final int[] DISPLACEMENTS = {
+            4, 0, 0, 6, 0, 1, 2, 1, 0, 1, 0, 1,
+            1, 3, 1, 1, 4, 6, 0, 10, 5, 0, 0, 3,
+            5, 5, 0, 2, 12, 1, 1, 3, 0, 0, 9, 0,
+            2, 2, 3, 1, 2, 19, 15, 4, 0, 4, 0, 1,
+            0, 4, 0, 4, 1, 1, 4, 2, 6, 2, 1, 1,
+            0, 3, 0
+    };
+
+    static final String[] ENTITIES = {
+            null, null, "&raquo;", "&and;", "&eacute;", null, "&oelig;", null,
+            "&ang;", "&quot;", null, null, null, null, "&OElig;", null,
+            null, null, "&frasl;", "&alefsym;", null, null, null, null,
+            null, "&auml;", "&image;", "&Uuml;", "&hellip;", "&epsilon;", null, "&laquo;",
+            null, null, "&szlig;", "&radic;", null, "&there4;", "&uacute;", "&thinsp;",
+            "&cong;", null, "&sdot;", "&Ccedil;", "&lowast;", null, null, null,
+            null, "&eth;", "&harr;", null, "&sigmaf;", "&sup1;", "&ne;", null,
+            "&Rho;", "&isin;", "&eta;", "&thorn;", null, null, null, null,
+            "&ccedil;", "&not;", null, null, null, null, "&euro;", null,
+            "&lambda;", null, null, "&nbsp;", "&Upsilon;", null, null, "&frac14;",
+            "&Eta;", null, "&forall;", "&uArr;", null, null, "&loz;", null,
+            null, "&Ouml;", null, null, "&ouml;", null, "&int;", null,
+            "&Igrave;", "&Icirc;", "&Gamma;", null, null, "&Agrave;", null, null,
+            null, null, null, "&Ecirc;", "&rsaquo;", "&ecirc;", null, "&alpha;",
+            "&crarr;", "&le;", null, null, null, "&acute;", null, null,
+            "&larr;", null, null, "&Eacute;", null, "&aacute;", "&THORN;", "&equiv;",
+            null, "&gamma;", "&lsquo;", null, null, null, "&Acirc;", null,
+            null, "&Chi;", null, null, null, null, "&supe;", "&yacute;",
+            null, "&rho;", null, "&sbquo;", "&lfloor;", null, null, null,
+            null, "&permil;", "&ocirc;", null, "&Uacute;", null, null, "&scaron;",
+            null, null, "&lt;", null, "&zeta;", null, "&spades;", null,
+            null, null, null, "&empty;", "&ge;", "&atilde;", null, "&omicron;",
+            null, "&fnof;", null, "&Psi;", "&aring;", "&Ucirc;", null, null,
+            null, null, "&bull;", null, "&acirc;", null, null, null,
+            "&deg;", "&clubs;", "&AElig;", "&iacute;", "&ensp;", null, "&yuml;", "&cap;",
+            null, "&rarr;", "&iuml;", null, "&Ocirc;", null, null, "&macr;",
+            "&nsub;", null, null, null, null, null, null, "&prop;",
+            "&cup;", null, null, null, "&Oacute;", null, null, "&igrave;",
+            "&bdquo;", null, null, null, "&zwnj;", "&sect;", "&upsih;", "&Ograve;",
+            "&sube;", null, null, "&ucirc;", null, "&tilde;", "&oacute;", "&Mu;",
+            null, "&sub;", null, "&uuml;", null, null, null, null,
+            null, "&Ntilde;", null, "&mdash;", "&ordm;", "&frac34;", null, null,
+            null, null, null, "&plusmn;", "&sim;", null, null, null,
+            "&thetasym;", null, null, "&Omega;", null, "&Tau;", "&weierp;", null,
+            null, "&tau;", null, "&otimes;", "&Sigma;", "&pi;", "&sup2;", null,
+            "&ugrave;", null, null, null, "&Theta;", "&brvbar;", "&theta;", null,
+            null, "&Oslash;", null, null, null, "&chi;", "&Iota;", "&nabla;",
+            "&dagger;", null, "&ograve;", null, null, null, null, "&Dagger;",
+            null, "&notin;", null, null, null, null, null, null,
+            "&Yacute;", "&Lambda;", null, "&circ;", "&hArr;", null, "&hearts;", null,
+            null, null, "&Pi;", null, null, "&frac12;", null, null,
+            null, "&egrave;", null, "&rArr;", "&emsp;", "&kappa;", "&Yuml;", "&yen;",
+            "&gt;", null, null, "&micro;", null, "&middot;", "&prod;", "&divide;",
+            null, "&prime;", "&Euml;", null, "&Nu;", null, "&amp;", "&aelig;",
+            null, null, "&nu;", null, null, "&phi;", null, null,
+            null, "&shy;", null, null, null, "&Beta;", "&upsilon;", "&Epsilon;",
+            null, null, null, null, null, "&Omicron;", null, null,
+            null, "&oslash;", null, null, "&copy;", "&ldquo;", null, "&lang;",
+            null, null, null, "&iexcl;", "&darr;", null, null, null,
+            null, "&cent;", "&ntilde;", "&trade;", null, "&Alpha;", null, null,
+            "&infin;", null, "&otilde;", "&Otilde;", "&para;", null, "&rang;", "&perp;",
+            null, "&sum;", "&Ugrave;", "&or;", "&real;", "&oplus;", null, null,
+            null, "&ordf;", null, null, "&xi;", "&times;", "&delta;", null,
+            "&Phi;", "&rsquo;", "&asymp;", null, "&ETH;", "&piv;", null, null,
+            "&Xi;", "&Egrave;", "&Iuml;", "&Prime;", null, "&Delta;", null, null,
+            null, null, null, null, null, "&ndash;", null, null,
+            null, "&rceil;", null, "&minus;", "&reg;", null, null, "&lceil;",
+            "&uarr;", "&lrm;", null, "&part;", "&psi;", null, "&oline;", "&exist;",
+            "&cedil;", null, null, "&zwj;", "&omega;", null, null, null,
+            "&Aring;", "&iota;", "&agrave;", "&euml;", "&Iacute;", "&Zeta;", "&diams;", "&Scaron;",
+            "&sigma;", "&beta;", "&ni;", "&Aacute;", "&iquest;", null, "&Atilde;", null,
+            "&rlm;", "&mu;", null, null, null, "&dArr;", null, "&uml;",
+            "&lsaquo;", "&sup;", "&curren;", "&lArr;", "&sup3;", null, null, "&pound;",
+            "&Kappa;", "&Auml;", "&rdquo;", null, null, null, "&icirc;", "&rfloor;"
+    };
+
+    static final char[] VALUES = {
+            '\u0000', '\u0000', '\u00BB', '\u2227', '\u00E9', '\u0000', '\u0153', '\u0000',
+            '\u2220', '\u0022', '\u0000', '\u0000', '\u0000', '\u0000', '\u0152', '\u0000',
+            '\u0000', '\u0000', '\u2044', '\u2135', '\u0000', '\u0000', '\u0000', '\u0000',
+            '\u0000', '\u00E4', '\u2111', '\u00DC', '\u2026', '\u03B5', '\u0000', '\u00AB',
+            '\u0000', '\u0000', '\u00DF', '\u221A', '\u0000', '\u2234', '\u00FA', '\u2009',
+            '\u2245', '\u0000', '\u22C5', '\u00C7', '\u2217', '\u0000', '\u0000', '\u0000',
+            '\u0000', '\u00F0', '\u2194', '\u0000', '\u03C2', '\u00B9', '\u2260', '\u0000',
+            '\u03A1', '\u2208', '\u03B7', '\u00FE', '\u0000', '\u0000', '\u0000', '\u0000',
+            '\u00E7', '\u00AC', '\u0000', '\u0000', '\u0000', '\u0000', '\u20AC', '\u0000',
+            '\u03BB', '\u0000', '\u0000', '\u00A0', '\u03A5', '\u0000', '\u0000', '\u00BC',
+            '\u0397', '\u0000', '\u2200', '\u21D1', '\u0000', '\u0000', '\u25CA', '\u0000',
+            '\u0000', '\u00D6', '\u0000', '\u0000', '\u00F6', '\u0000', '\u222B', '\u0000',
+            '\u00CC', '\u00CE', '\u0393', '\u0000', '\u0000', '\u00C0', '\u0000', '\u0000',
+            '\u0000', '\u0000', '\u0000', '\u00CA', '\u203A', '\u00EA', '\u0000', '\u03B1',
+            '\u21B5', '\u2264', '\u0000', '\u0000', '\u0000', '\u00B4', '\u0000', '\u0000',
+            '\u2190', '\u0000', '\u0000', '\u00C9', '\u0000', '\u00E1', '\u00DE', '\u2261',
+            '\u0000', '\u03B3', '\u2018', '\u0000', '\u0000', '\u0000', '\u00C2', '\u0000',
+            '\u0000', '\u03A7', '\u0000', '\u0000', '\u0000', '\u0000', '\u2287', '\u00FD',
+            '\u0000', '\u03C1', '\u0000', '\u201A', '\u230A', '\u0000', '\u0000', '\u0000',
+            '\u0000', '\u2030', '\u00F4', '\u0000', '\u00DA', '\u0000', '\u0000', '\u0161',
+            '\u0000', '\u0000', '\u003C', '\u0000', '\u03B6', '\u0000', '\u2660', '\u0000',
+            '\u0000', '\u0000', '\u0000', '\u2205', '\u2265', '\u00E3', '\u0000', '\u03BF',
+            '\u0000', '\u0192', '\u0000', '\u03A8', '\u00E5', '\u00DB', '\u0000', '\u0000',
+            '\u0000', '\u0000', '\u2022', '\u0000', '\u00E2', '\u0000', '\u0000', '\u0000',
+            '\u00B0', '\u2663', '\u00C6', '\u00ED', '\u2002', '\u0000', '\u00FF', '\u2229',
+            '\u0000', '\u2192', '\u00EF', '\u0000', '\u00D4', '\u0000', '\u0000', '\u00AF',
+            '\u2284', '\u0000', '\u0000', '\u0000', '\u0000', '\u0000', '\u0000', '\u221D',
+            '\u222A', '\u0000', '\u0000', '\u0000', '\u00D3', '\u0000', '\u0000', '\u00EC',
+            '\u201E', '\u0000', '\u0000', '\u0000', '\u200C', '\u00A7', '\u03D2', '\u00D2',
+            '\u2286', '\u0000', '\u0000', '\u00FB', '\u0000', '\u02DC', '\u00F3', '\u039C',
+            '\u0000', '\u2282', '\u0000', '\u00FC', '\u0000', '\u0000', '\u0000', '\u0000',
+            '\u0000', '\u00D1', '\u0000', '\u2014', '\u00BA', '\u00BE', '\u0000', '\u0000',
+            '\u0000', '\u0000', '\u0000', '\u00B1', '\u223C', '\u0000', '\u0000', '\u0000',
+            '\u03D1', '\u0000', '\u0000', '\u03A9', '\u0000', '\u03A4', '\u2118', '\u0000',
+            '\u0000', '\u03C4', '\u0000', '\u2297', '\u03A3', '\u03C0', '\u00B2', '\u0000',
+            '\u00F9', '\u0000', '\u0000', '\u0000', '\u0398', '\u00A6', '\u03B8', '\u0000',
+            '\u0000', '\u00D8', '\u0000', '\u0000', '\u0000', '\u03C7', '\u0399', '\u2207',
+            '\u2020', '\u0000', '\u00F2', '\u0000', '\u0000', '\u0000', '\u0000', '\u2021',
+            '\u0000', '\u2209', '\u0000', '\u0000', '\u0000', '\u0000', '\u0000', '\u0000',
+            '\u00DD', '\u039B', '\u0000', '\u02C6', '\u21D4', '\u0000', '\u2665', '\u0000',
+            '\u0000', '\u0000', '\u03A0', '\u0000', '\u0000', '\u00BD', '\u0000', '\u0000',
+            '\u0000', '\u00E8', '\u0000', '\u21D2', '\u2003', '\u03BA', '\u0178', '\u00A5',
+            '\u003E', '\u0000', '\u0000', '\u00B5', '\u0000', '\u00B7', '\u220F', '\u00F7',
+            '\u0000', '\u2032', '\u00CB', '\u0000', '\u039D', '\u0000', '\u0026', '\u00E6',
+            '\u0000', '\u0000', '\u03BD', '\u0000', '\u0000', '\u03C6', '\u0000', '\u0000',
+            '\u0000', '\u00AD', '\u0000', '\u0000', '\u0000', '\u0392', '\u03C5', '\u0395',
+            '\u0000', '\u0000', '\u0000', '\u0000', '\u0000', '\u039F', '\u0000', '\u0000',
+            '\u0000', '\u00F8', '\u0000', '\u0000', '\u00A9', '\u201C', '\u0000', '\u2329',
+            '\u0000', '\u0000', '\u0000', '\u00A1', '\u2193', '\u0000', '\u0000', '\u0000',
+            '\u0000', '\u00A2', '\u00F1', '\u2122', '\u0000', '\u0391', '\u0000', '\u0000',
+            '\u221E', '\u0000', '\u00F5', '\u00D5', '\u00B6', '\u0000', '\u232A', '\u22A5',
+            '\u0000', '\u2211', '\u00D9', '\u2228', '\u211C', '\u2295', '\u0000', '\u0000',
+            '\u0000', '\u00AA', '\u0000', '\u0000', '\u03BE', '\u00D7', '\u03B4', '\u0000',
+            '\u03A6', '\u2019', '\u2248', '\u0000', '\u00D0', '\u03D6', '\u0000', '\u0000',
+            '\u039E', '\u00C8', '\u00CF', '\u2033', '\u0000', '\u0394', '\u0000', '\u0000',
+            '\u0000', '\u0000', '\u0000', '\u0000', '\u0000', '\u2013', '\u0000', '\u0000',
+            '\u0000', '\u2309', '\u0000', '\u2212', '\u00AE', '\u0000', '\u0000', '\u2308',
+            '\u2191', '\u200E', '\u0000', '\u2202', '\u03C8', '\u0000', '\u203E', '\u2203',
+            '\u00B8', '\u0000', '\u0000', '\u200D', '\u03C9', '\u0000', '\u0000', '\u0000',
+            '\u00C5', '\u03B9', '\u00E0', '\u00EB', '\u00CD', '\u0396', '\u2666', '\u0160',
+            '\u03C3', '\u03B2', '\u220B', '\u00C1', '\u00BF', '\u0000', '\u00C3', '\u0000',
+            '\u200F', '\u03BC', '\u0000', '\u0000', '\u0000', '\u21D3', '\u0000', '\u00A8',
+            '\u2039', '\u2283', '\u00A4', '\u21D0', '\u00B3', '\u0000', '\u0000', '\u00A3',
+            '\u039A', '\u00C4', '\u201D', '\u0000', '\u0000', '\u0000', '\u00EE', '\u230B'
+    };
+
+    private HtmlEntityTables() {
+        throw new UnsupportedOperationException("Do not instantiate utility class");
+    }
+}
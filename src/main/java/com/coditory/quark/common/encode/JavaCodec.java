@@ -1,33 +1,21 @@
 package com.coditory.quark.common.encode;
 
-import com.coditory.quark.common.collection.Maps;
 import com.coditory.quark.common.encode.unicode.UnicodeCodec;
 
-import static com.coditory.quark.common.encode.TranslationConstants.CTRL_CHARS_DECODE;
-import static com.coditory.quark.common.encode.TranslationConstants.CTRL_CHARS_ENCODE;
+import static com.coditory.quark.common.encode.TranslationConstants.ECMA_SCRIPT_ESCAPES;
+import static com.coditory.quark.common.encode.TranslationConstants.JAVA_ESCAPES;
 
 public final class JavaCodec {
     static final Translator ENCODER = Translator.builder()
-            .translate(Maps.<String, String>builder()
-                    .put("\"", "\\\"")
-                    .put("\\", "\\\\")
-                    .build()
-            )
-            .translate(CTRL_CHARS_ENCODE)
+            .translate(new CharTableTranslator(JAVA_ESCAPES))
             .translate(UnicodeCodec.getEncoder())
             .build();
 
     static final Translator DECODER = Translator.builder()
             .translate(new OctalDecoder())
             .translate(UnicodeCodec.getDecoder())
-            .translate(CTRL_CHARS_DECODE)
-            .translate(Maps.<String, String>builder()
-                    .put("\\\\", "\\")
-                    .put("\\\"", "\"")
-                    .put("\\'", "'")
-                    .put("\\", "")
-                    .build()
-            )
+            // decodes java escapes and the additional ecmascript ones, unknown escapes lose the backslash
+            .translate(new EscapeTableDecoder(ECMA_SCRIPT_ESCAPES, true))
             .build();
 
     private static class OctalDecoder extends IndexedTranslator {
@@ -0,0 +1,78 @@
+package com.coditory.quark.common.encode;
+
+import com.coditory.quark.common.encode.internal.Utf8Bytes;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.encode.JsonStringWriter.ESCAPES;
+import static com.coditory.quark.common.encode.JsonStringWriter.HEX_DIGITS;
+import static com.coditory.quark.common.encode.JsonStringWriter.UNICODE_ESCAPE;
+
+/**
+ * Escapes UTF-8 encoded input with the same rules as {@link JsonCodec#encode(String)}.
+ * Malformed UTF-8 bytes are escaped as U+FFFD.
+ */
+final class JsonByteEncoder implements ByteTranslator {
+    private static final JsonByteEncoder INSTANCE = new JsonByteEncoder();
+    private static final int REPLACEMENT_CHAR = 0xFFFD;
+
+    static JsonByteEncoder getInstance() {
+        return INSTANCE;
+    }
+
+    private JsonByteEncoder() {
+    }
+
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        int end = offset + length;
+        int index = offset;
+        int cleanStart = offset;
+        boolean changed = false;
+        while (index < end) {
+            byte b = input[index];
+            if (b >= 0 && ESCAPES[b] == 0) {
+                index++;
+                continue;
+            }
+            out.append(input, cleanStart, index - cleanStart);
+            changed = true;
+            if (b >= 0) {
+                byte escape = ESCAPES[b];
+                if (escape == UNICODE_ESCAPE) {
+                    appendUnicodeEscape(b, out);
+                } else {
+                    out.append((byte) '\\');
+                    out.append(escape);
+                }
+                index++;
+            } else {
+                int codePoint = Utf8Bytes.codePointAt(input, index, end);
+                if (codePoint == Utf8Bytes.MALFORMED) {
+                    appendUnicodeEscape(REPLACEMENT_CHAR, out);
+                    index++;
+                } else if (codePoint > 0xFFFF) {
+                    appendUnicodeEscape(Character.highSurrogate(codePoint), out);
+                    appendUnicodeEscape(Character.lowSurrogate(codePoint), out);
+                    index += 4;
+                } else {
+                    appendUnicodeEscape(codePoint, out);
+                    index += Utf8Bytes.sequenceLength(b);
+                }
+            }
+            cleanStart = index;
+        }
+        out.append(input, cleanStart, end - cleanStart);
+        return changed;
+    }
+
+    private void appendUnicodeEscape(int value, ByteBuilder out) {
+        out.append((byte) '\\');
+        out.append((byte) 'u');
+        out.append(HEX_DIGITS[(value >> 12) & 15]);
+        out.append(HEX_DIGITS[(value >> 8) & 15]);
+        out.append(HEX_DIGITS[(value >> 4) & 15]);
+        out.append(HEX_DIGITS[value & 15]);
+    }
+}
@@ -1,30 +1,28 @@
 package com.coditory.quark.common.encode;
 
-import com.coditory.quark.common.collection.Maps;
 import com.coditory.quark.common.encode.unicode.UnicodeCodec;
 
-import static com.coditory.quark.common.encode.TranslationConstants.CTRL_CHARS_ENCODE;
+import static com.coditory.quark.common.encode.TranslationConstants.JSON_ESCAPES;
 
 public final class JsonCodec {
     public static final Translator ENCODER = Translator.builder()
-            .translate(Maps.<String, String>builder()
-                    .put("\"", "\\\"")
-                    .put("\\", "\\\\")
-                    .put("/", "\\/")
-                    .build()
-            )
-            .translate(CTRL_CHARS_ENCODE)
+            .translate(new CharTableTranslator(JSON_ESCAPES))
             .translate(UnicodeCodec.getEncoder())
             .build();
 
-    private static final Translator DECODER = JavaCodec.DECODER;
+    private static final JsonDecoder DECODER = JsonDecoder.getInstance();
 
     private static final TranslationCodec CODEC = new TranslationCodec(ENCODER, DECODER);
+    private static final ByteTranslationCodec BYTE_CODEC = new ByteTranslationCodec(JsonByteEncoder.getInstance(), DECODER);
 
     public static TranslationCodec getInstance() {
         return CODEC;
     }
 
+    public static ByteTranslationCodec getByteCodec() {
+        return BYTE_CODEC;
+    }
+
     public static String encode(String input) {
         return CODEC.encode(input);
     }
@@ -40,4 +38,15 @@ public final class JsonCodec {
     public static boolean decode(String input, StringBuilder out) {
         return CODEC.decode(input, out);
     }
+
+    public static String decode(char[] input, int offset, int length) {
+        return DECODER.decode(input, offset, length);
+    }
+
+    /**
+     * Decodes UTF-8 encoded input.
+     */
+    public static String decode(byte[] input, int offset, int length) {
+        return DECODER.decode(input, offset, length);
+    }
 }
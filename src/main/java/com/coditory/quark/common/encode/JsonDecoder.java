@@ -0,0 +1,393 @@
+package com.coditory.quark.common.encode;
+
+import com.coditory.quark.common.encode.internal.Utf8Bytes;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Single pass JSON string decoder.
+ * For backward compatibility it also accepts octal escapes and drops backslash from unknown escapes.
+ */
+final class JsonDecoder implements Translator, ByteTranslator {
+    private static final JsonDecoder INSTANCE = new JsonDecoder();
+    private static final byte[] HEX_VALUES = new byte[128];
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; ++i) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; ++i) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    static JsonDecoder getInstance() {
+        return INSTANCE;
+    }
+
+    private JsonDecoder() {
+    }
+
+    @Override
+    public String translate(String input) {
+        checkNotNull(input, "input");
+        int index = input.indexOf('\\');
+        if (index < 0) {
+            return input;
+        }
+        char[] chars = input.toCharArray();
+        int end = unescape(chars, index, chars.length);
+        return new String(chars, 0, end);
+    }
+
+    @Override
+    public boolean translate(String input, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        int index = input.indexOf('\\');
+        if (index < 0) {
+            out.append(input);
+            return false;
+        }
+        char[] chars = input.toCharArray();
+        int end = unescape(chars, index, chars.length);
+        out.append(chars, 0, end);
+        return true;
+    }
+
+    @Override
+    public boolean translate(CharSequence input, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        if (input instanceof String) {
+            return translate((String) input, out);
+        }
+        if (input instanceof CharBuffer && ((CharBuffer) input).hasArray()) {
+            CharBuffer buffer = (CharBuffer) input;
+            return translate(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), out);
+        }
+        int length = input.length();
+        char[] chars = new char[length];
+        int index = -1;
+        for (int i = 0; i < length; ++i) {
+            char c = input.charAt(i);
+            if (c == '\\' && index < 0) {
+                index = i;
+            }
+            chars[i] = c;
+        }
+        if (index < 0) {
+            out.append(chars);
+            return false;
+        }
+        int end = unescape(chars, index, length);
+        out.append(chars, 0, end);
+        return true;
+    }
+
+    @Override
+    public boolean translate(char[] input, int offset, int length, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        checkRange(input.length, offset, length);
+        int end = offset + length;
+        int index = offset;
+        while (index < end && input[index] != '\\') {
+            index++;
+        }
+        if (index == end) {
+            out.append(input, offset, length);
+            return false;
+        }
+        out.append(input, offset, index - offset);
+        char[] chars = Arrays.copyOfRange(input, index, end);
+        int size = unescape(chars, 0, chars.length);
+        out.append(chars, 0, size);
+        return true;
+    }
+
+    String decode(char[] input, int offset, int length) {
+        checkNotNull(input, "input");
+        checkRange(input.length, offset, length);
+        int end = offset + length;
+        int index = offset;
+        while (index < end && input[index] != '\\') {
+            index++;
+        }
+        if (index == end) {
+            return new String(input, offset, length);
+        }
+        char[] chars = Arrays.copyOfRange(input, offset, end);
+        int size = unescape(chars, index - offset, length);
+        return new String(chars, 0, size);
+    }
+
+    /**
+     * Decodes UTF-8 encoded JSON string.
+     * Malformed UTF-8 sequences are replaced with U+FFFD.
+     */
+    String decode(byte[] input, int offset, int length) {
+        checkNotNull(input, "input");
+        checkRange(input.length, offset, length);
+        char[] chars = new char[length];
+        int size = 0;
+        int firstEscape = -1;
+        int index = offset;
+        int end = offset + length;
+        while (index < end) {
+            int b = input[index++];
+            if (b >= 0) {
+                if (b == '\\' && firstEscape < 0) {
+                    firstEscape = size;
+                }
+                chars[size++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0 && index < end && isContinuation(input[index])) {
+                int codePoint = ((b & 0x1F) << 6) | (input[index++] & 0x3F);
+                chars[size++] = codePoint < 0x80 ? REPLACEMENT_CHAR : (char) codePoint;
+            } else if ((b & 0xF0) == 0xE0 && index + 1 < end
+                    && isContinuation(input[index]) && isContinuation(input[index + 1])) {
+                int codePoint = ((b & 0x0F) << 12) | ((input[index] & 0x3F) << 6) | (input[index + 1] & 0x3F);
+                index += 2;
+                chars[size++] = codePoint < 0x800 || Character.isSurrogate((char) codePoint)
+                        ? REPLACEMENT_CHAR
+                        : (char) codePoint;
+            } else if ((b & 0xF8) == 0xF0 && index + 2 < end
+                    && isContinuation(input[index]) && isContinuation(input[index + 1]) && isContinuation(input[index + 2])) {
+                int codePoint = ((b & 0x07) << 18) | ((input[index] & 0x3F) << 12)
+                        | ((input[index + 1] & 0x3F) << 6) | (input[index + 2] & 0x3F);
+                index += 3;
+                if (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT) {
+                    chars[size++] = REPLACEMENT_CHAR;
+                } else {
+                    chars[size++] = Character.highSurrogate(codePoint);
+                    chars[size++] = Character.lowSurrogate(codePoint);
+                }
+            } else {
+                chars[size++] = REPLACEMENT_CHAR;
+            }
+        }
+        if (firstEscape >= 0) {
+            size = unescape(chars, firstEscape, size);
+        }
+        return new String(chars, 0, size);
+    }
+
+    /**
+     * Unescapes UTF-8 encoded input directly into UTF-8 bytes.
+     * Unpaired surrogates are written as '?', the same way as {@link String#getBytes}.
+     */
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        int end = offset + length;
+        int read = offset;
+        int cleanStart = offset;
+        boolean changed = false;
+        while (read < end) {
+            if (input[read] != '\\') {
+                read++;
+                continue;
+            }
+            out.append(input, cleanStart, read - cleanStart);
+            changed = true;
+            read++;
+            if (read == end) {
+                cleanStart = read;
+                break;
+            }
+            byte escape = input[read++];
+            switch (escape) {
+                case 'n':
+                    out.append((byte) '\n');
+                    break;
+                case 't':
+                    out.append((byte) '\t');
+                    break;
+                case 'r':
+                    out.append((byte) '\r');
+                    break;
+                case 'b':
+                    out.append((byte) '\b');
+                    break;
+                case 'f':
+                    out.append((byte) '\f');
+                    break;
+                case 'u':
+                    read = unescapeUnicode(input, read, end, out);
+                    break;
+                default:
+                    if (escape >= '0' && escape <= '7') {
+                        int value = escape - '0';
+                        if (read < end && isOctalDigit((char) input[read])) {
+                            value = value * 8 + input[read++] - '0';
+                            if (escape <= '3' && read < end && isOctalDigit((char) input[read])) {
+                                value = value * 8 + input[read++] - '0';
+                            }
+                        }
+                        Utf8Bytes.appendCodePoint(value, out);
+                    } else {
+                        out.append(escape);
+                    }
+            }
+            cleanStart = read;
+        }
+        out.append(input, cleanStart, end - cleanStart);
+        return changed;
+    }
+
+    private static int unescapeUnicode(byte[] input, int index, int end, ByteBuilder out) {
+        index = skipLegacyUnicodePrefix(input, index, end);
+        char value = (char) readHex(input, index, end);
+        index += 4;
+        if (Character.isHighSurrogate(value) && index + 1 < end && input[index] == '\\' && input[index + 1] == 'u') {
+            int next = skipLegacyUnicodePrefix(input, index + 2, end);
+            if (next + 4 <= end) {
+                char low = (char) readHex(input, next, end);
+                if (Character.isLowSurrogate(low)) {
+                    Utf8Bytes.appendCodePoint(Character.toCodePoint(value, low), out);
+                    return next + 4;
+                }
+            }
+        }
+        if (Character.isSurrogate(value)) {
+            out.append((byte) '?');
+        } else {
+            Utf8Bytes.appendCodePoint(value, out);
+        }
+        return index;
+    }
+
+    private static int skipLegacyUnicodePrefix(byte[] input, int index, int end) {
+        while (index < end && input[index] == 'u') {
+            index++;
+        }
+        if (index < end && input[index] == '+') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int readHex(byte[] input, int index, int end) {
+        if (index + 4 > end) {
+            throw new IllegalArgumentException("Less than 4 hex digits in unicode value: '"
+                    + new String(input, index, end - index, UTF_8) + "' due to end of CharSequence");
+        }
+        int value = 0;
+        for (int i = index; i < index + 4; ++i) {
+            byte b = input[i];
+            int digit = b >= 0 ? HEX_VALUES[b] : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("Unable to parse unicode value: " + new String(input, index, 4, UTF_8));
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private static void checkRange(int size, int offset, int length) {
+        check(offset >= 0 && length >= 0 && offset <= size - length,
+                "Invalid range. Offset: %s, length: %s, size: %s", offset, length, size);
+    }
+
+    /**
+     * Unescapes chars in place. Decoded value is never longer than the input.
+     *
+     * @return end of the decoded value
+     */
+    private static int unescape(char[] chars, int from, int to) {
+        int read = from;
+        int write = from;
+        while (read < to) {
+            char c = chars[read++];
+            if (c != '\\') {
+                chars[write++] = c;
+                continue;
+            }
+            if (read == to) {
+                break;
+            }
+            char escape = chars[read++];
+            switch (escape) {
+                case 'n':
+                    chars[write++] = '\n';
+                    break;
+                case 't':
+                    chars[write++] = '\t';
+                    break;
+                case 'r':
+                    chars[write++] = '\r';
+                    break;
+                case 'b':
+                    chars[write++] = '\b';
+                    break;
+                case 'f':
+                    chars[write++] = '\f';
+                    break;
+                case 'u':
+                    // surrogate pairs are decoded as two consecutive escapes
+                    read = unescapeUnicode(chars, read, to);
+                    chars[write++] = (char) readHex(chars, read - 4);
+                    break;
+                default:
+                    if (isOctalDigit(escape)) {
+                        int value = escape - '0';
+                        if (read < to && isOctalDigit(chars[read])) {
+                            value = value * 8 + chars[read++] - '0';
+                            if (escape <= '3' && read < to && isOctalDigit(chars[read])) {
+                                value = value * 8 + chars[read++] - '0';
+                            }
+                        }
+                        chars[write++] = (char) value;
+                    } else {
+                        chars[write++] = escape;
+                    }
+            }
+        }
+        return write;
+    }
+
+    private static int unescapeUnicode(char[] chars, int index, int to) {
+        // legacy java formats: \\uuuuXXXX and \\u+XXXX
+        while (index < to && chars[index] == 'u') {
+            index++;
+        }
+        if (index < to && chars[index] == '+') {
+            index++;
+        }
+        if (index + 4 > to) {
+            throw new IllegalArgumentException("Less than 4 hex digits in unicode value: '"
+                    + new String(chars, index, to - index) + "' due to end of CharSequence");
+        }
+        return index + 4;
+    }
+
+    private static int readHex(char[] chars, int index) {
+        int value = 0;
+        for (int i = index; i < index + 4; ++i) {
+            char c = chars[i];
+            int digit = c < 128 ? HEX_VALUES[c] : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("Unable to parse unicode value: " + new String(chars, index, 4));
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private static boolean isOctalDigit(char c) {
+        return c >= '0' && c <= '7';
+    }
+}
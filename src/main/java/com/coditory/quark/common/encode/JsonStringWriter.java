@@ -0,0 +1,233 @@
+package com.coditory.quark.common.encode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Writes quoted and escaped JSON strings directly as UTF-8 bytes.
+ * By default produces the same output as {@link JsonCodec#encode(String)} surrounded with quotes.
+ */
+public final class JsonStringWriter {
+    private static final JsonStringWriter INSTANCE = new JsonStringWriter(true);
+    private static final JsonStringWriter UTF8_INSTANCE = new JsonStringWriter(false);
+    static final byte[] HEX_DIGITS = {
+            '0', '1', '2', '3', '4', '5', '6', '7',
+            '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
+    static final int UNICODE_ESCAPE = 'u';
+    static final byte[] ESCAPES = new byte[128];
+    private static final int MAX_BYTES_PER_CHAR = 6;
+    private static final int SCRATCH_SIZE = 512;
+
+    static {
+        for (int i = 0; i < 32; ++i) {
+            ESCAPES[i] = UNICODE_ESCAPE;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['/'] = '/';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+    }
+
+    public static JsonStringWriter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns writer that does not escape non ASCII characters
+     * and writes them as UTF-8 multi byte sequences.
+     */
+    public static JsonStringWriter getUtf8Instance() {
+        return UTF8_INSTANCE;
+    }
+
+    private final boolean escapeNonAscii;
+
+    private JsonStringWriter(boolean escapeNonAscii) {
+        this.escapeNonAscii = escapeNonAscii;
+    }
+
+    /**
+     * @return upper bound of the encoded length, clamped to {@link Integer#MAX_VALUE}
+     */
+    public static int maxEncodedLength(String input) {
+        checkNotNull(input, "input");
+        return (int) Math.min(Integer.MAX_VALUE, 2L + (long) MAX_BYTES_PER_CHAR * input.length());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the encoded input does not fit in an array
+     */
+    public int encodedLength(String input) {
+        checkNotNull(input, "input");
+        long length = 2;
+        int size = input.length();
+        for (int i = 0; i < size; ++i) {
+            char c = input.charAt(i);
+            if (c < 128) {
+                byte escape = ESCAPES[c];
+                length += escape == 0 ? 1 : escape == UNICODE_ESCAPE ? 6 : 2;
+            } else if (escapeNonAscii) {
+                length += 6;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(input.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 6;
+            } else {
+                length += 3;
+            }
+        }
+        check(length <= Integer.MAX_VALUE, "Encoded input too long: %s bytes", length);
+        return (int) length;
+    }
+
+    public byte[] write(String input) {
+        checkNotNull(input, "input");
+        byte[] out = new byte[encodedLength(input)];
+        write(input, out, 0);
+        return out;
+    }
+
+    /**
+     * Writes quoted string to the array.
+     *
+     * @return offset after the last written byte
+     */
+    public int write(String input, byte[] out, int offset) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        check(offset >= 0 && offset <= out.length, "Invalid offset: %s", offset);
+        if (out.length - offset < maxEncodedLength(input) && out.length - offset < encodedLength(input)) {
+            throw new IllegalArgumentException("Output array too small to write encoded input");
+        }
+        out[offset++] = '"';
+        int position = writeChars(input, 0, input.length(), out, offset);
+        out[position++] = '"';
+        return position;
+    }
+
+    public void write(String input, ByteBuffer out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        if (out.remaining() < maxEncodedLength(input) && out.remaining() < encodedLength(input)) {
+            throw new BufferOverflowException();
+        }
+        if (out.hasArray()) {
+            int offset = out.arrayOffset() + out.position();
+            int end = write(input, out.array(), offset);
+            out.position(out.position() + end - offset);
+            return;
+        }
+        byte[] scratch = new byte[SCRATCH_SIZE];
+        out.put((byte) '"');
+        int index = 0;
+        while (index < input.length()) {
+            int end = chunkEnd(input, index);
+            int written = writeChars(input, index, end, scratch, 0);
+            out.put(scratch, 0, written);
+            index = end;
+        }
+        out.put((byte) '"');
+    }
+
+    public void write(String input, OutputStream out) throws IOException {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        byte[] scratch = new byte[SCRATCH_SIZE];
+        out.write('"');
+        int index = 0;
+        while (index < input.length()) {
+            int end = chunkEnd(input, index);
+            int written = writeChars(input, index, end, scratch, 0);
+            out.write(scratch, 0, written);
+            index = end;
+        }
+        out.write('"');
+    }
+
+    private int chunkEnd(String input, int index) {
+        int end = Math.min(input.length(), index + SCRATCH_SIZE / MAX_BYTES_PER_CHAR - 1);
+        // do not split surrogate pairs between chunks
+        if (end < input.length()
+                && Character.isHighSurrogate(input.charAt(end - 1))
+                && Character.isLowSurrogate(input.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    @SuppressWarnings("deprecation")
+    private int writeChars(String input, int from, int to, byte[] out, int position) {
+        int index = from;
+        while (index < to) {
+            int cleanEnd = index;
+            while (cleanEnd < to) {
+                char c = input.charAt(cleanEnd);
+                if (c >= 128 || ESCAPES[c] != 0) {
+                    break;
+                }
+                cleanEnd++;
+            }
+            if (cleanEnd > index) {
+                // bulk copy of ASCII only run, every char maps to a single byte
+                input.getBytes(index, cleanEnd, out, position);
+                position += cleanEnd - index;
+                index = cleanEnd;
+                if (index == to) {
+                    break;
+                }
+            }
+            char c = input.charAt(index++);
+            if (c < 128) {
+                byte escape = ESCAPES[c];
+                if (escape == UNICODE_ESCAPE) {
+                    position = writeUnicodeEscape(c, out, position);
+                } else {
+                    out[position++] = '\\';
+                    out[position++] = escape;
+                }
+            } else if (escapeNonAscii) {
+                position = writeUnicodeEscape(c, out, position);
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && index < to && Character.isLowSurrogate(input.charAt(index))) {
+                int codePoint = Character.toCodePoint(c, input.charAt(index++));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // lone surrogate cannot be encoded in UTF-8
+                position = writeUnicodeEscape(c, out, position);
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private int writeUnicodeEscape(char c, byte[] out, int position) {
+        out[position++] = '\\';
+        out[position++] = 'u';
+        out[position++] = HEX_DIGITS[(c >> 12) & 15];
+        out[position++] = HEX_DIGITS[(c >> 8) & 15];
+        out[position++] = HEX_DIGITS[(c >> 4) & 15];
+        out[position++] = HEX_DIGITS[c & 15];
+        return position;
+    }
+}
@@ -1,5 +1,11 @@
 package com.coditory.quark.common.encode;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
 import static com.coditory.quark.common.check.Args.checkNotNull;
 
 public class TranslationCodec {
@@ -19,12 +25,36 @@ public class TranslationCodec {
         return decoder;
     }
 
+    /**
+     * Returns codec that encodes with this codec and then with the next one.
+     * Decoding runs in the reverse order.
+     */
+    public TranslationCodec andThen(TranslationCodec next) {
+        checkNotNull(next, "next");
+        return new TranslationCodec(
+                encoder.andThen(next.encoder),
+                next.decoder.andThen(decoder)
+        );
+    }
+
     public boolean encode(String input, StringBuilder out) {
         checkNotNull(input, "input");
         checkNotNull(out, "out");
         return encoder.translate(input, out);
     }
 
+    public boolean encode(CharSequence input, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        return encoder.translate(input, out);
+    }
+
+    public boolean encode(char[] input, int offset, int length, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        return encoder.translate(input, offset, length, out);
+    }
+
     public String encode(String input) {
         checkNotNull(input, "input");
         return encoder.translate(input);
@@ -36,8 +66,66 @@ public class TranslationCodec {
         return decoder.translate(input, out);
     }
 
+    public boolean decode(CharSequence input, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        return decoder.translate(input, out);
+    }
+
+    public boolean decode(char[] input, int offset, int length, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        return decoder.translate(input, offset, length, out);
+    }
+
     public String decode(String input) {
         checkNotNull(input, "input");
         return decoder.translate(input);
     }
+
+    public List<String> encodeAll(List<String> inputs) {
+        return BatchTranslator.translateAll(encoder, inputs, null);
+    }
+
+    /**
+     * Encodes values in order. Large batches are split between pool workers.
+     */
+    public List<String> encodeAll(List<String> inputs, @Nullable ForkJoinPool pool) {
+        return BatchTranslator.translateAll(encoder, inputs, pool);
+    }
+
+    public void encodeAll(String[] inputs, String[] out) {
+        BatchTranslator.translateAll(encoder, inputs, out, null);
+    }
+
+    public void encodeAll(String[] inputs, String[] out, @Nullable ForkJoinPool pool) {
+        BatchTranslator.translateAll(encoder, inputs, out, pool);
+    }
+
+    public Stream<String> encodeAll(Stream<String> inputs) {
+        return BatchTranslator.translateAll(encoder, inputs);
+    }
+
+    public List<String> decodeAll(List<String> inputs) {
+        return BatchTranslator.translateAll(decoder, inputs, null);
+    }
+
+    /**
+     * Decodes values in order. Large batches are split between pool workers.
+     */
+    public List<String> decodeAll(List<String> inputs, @Nullable ForkJoinPool pool) {
+        return BatchTranslator.translateAll(decoder, inputs, pool);
+    }
+
+    public void decodeAll(String[] inputs, String[] out) {
+        BatchTranslator.translateAll(decoder, inputs, out, null);
+    }
+
+    public void decodeAll(String[] inputs, String[] out, @Nullable ForkJoinPool pool) {
+        BatchTranslator.translateAll(decoder, inputs, out, pool);
+    }
+
+    public Stream<String> decodeAll(Stream<String> inputs) {
+        return BatchTranslator.translateAll(decoder, inputs);
+    }
 }
@@ -2,10 +2,12 @@ package com.coditory.quark.common.encode;
 
 import com.coditory.quark.common.encode.lookup.LookupTranslator;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static com.coditory.quark.common.check.Args.check;
 import static com.coditory.quark.common.check.Args.checkNotNull;
 
 public interface Translator {
@@ -18,6 +20,21 @@ public interface Translator {
 
     boolean translate(String input, StringBuilder out);
 
+    /**
+     * Translates any char sequence. Default implementation converts input to a String,
+     * translators that can read the sequence directly override it.
+     */
+    default boolean translate(CharSequence input, StringBuilder out) {
+        checkNotNull(input, "input");
+        return translate(input.toString(), out);
+    }
+
+    default boolean translate(char[] input, int offset, int length, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkRange(input, offset, length);
+        return translate(CharBuffer.wrap(input, offset, length), out);
+    }
+
     default String translate(String input) {
         checkNotNull(input, "input");
         StringBuilder builder = new StringBuilder(input.length() * 2);
@@ -27,6 +44,43 @@ public interface Translator {
                 : input;
     }
 
+    default String translate(CharSequence input) {
+        checkNotNull(input, "input");
+        StringBuilder builder = new StringBuilder(input.length() * 2);
+        boolean changed = translate(input, builder);
+        return changed
+                ? builder.toString()
+                : input.toString();
+    }
+
+    default String translate(char[] input, int offset, int length) {
+        checkNotNull(input, "input");
+        checkRange(input, offset, length);
+        StringBuilder builder = new StringBuilder(length * 2);
+        boolean changed = translate(input, offset, length, builder);
+        return changed
+                ? builder.toString()
+                : new String(input, offset, length);
+    }
+
+    /**
+     * Returns translator that passes the output of this translator to the next one.
+     */
+    default Translator andThen(Translator next) {
+        checkNotNull(next, "next");
+        return TranslatorPipeline.of(List.of(this, next));
+    }
+
+    static Translator pipeline(Translator... translators) {
+        checkNotNull(translators, "translators");
+        return TranslatorPipeline.of(List.of(translators));
+    }
+
+    private static void checkRange(char[] input, int offset, int length) {
+        check(offset >= 0 && length >= 0 && offset <= input.length - length,
+                "Invalid range. Offset: %s, length: %s, size: %s", offset, length, input.length);
+    }
+
     static TranslatorBuilder builder() {
         return new TranslatorBuilder();
     }
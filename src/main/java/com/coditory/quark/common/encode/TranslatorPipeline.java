@@ -0,0 +1,89 @@
+package com.coditory.quark.common.encode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.coditory.quark.common.check.Args.checkNotEmpty;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Runs translators one after another.
+ * Stage that reports no change is skipped and its input is passed to the next stage as it is.
+ * Intermediate results are kept in two reused builders and the last stage writes directly to the output.
+ */
+final class TranslatorPipeline implements Translator {
+    static Translator of(List<Translator> translators) {
+        checkNotEmpty(translators, "translators");
+        List<Translator> stages = new ArrayList<>();
+        for (Translator translator : translators) {
+            checkNotNull(translator, "translator");
+            if (translator instanceof TranslatorPipeline) {
+                stages.addAll(List.of(((TranslatorPipeline) translator).stages));
+            } else {
+                stages.add(translator);
+            }
+        }
+        return stages.size() == 1
+                ? stages.get(0)
+                : new TranslatorPipeline(stages.toArray(new Translator[0]));
+    }
+
+    private final Translator[] stages;
+
+    private TranslatorPipeline(Translator[] stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public String translate(String input) {
+        checkNotNull(input, "input");
+        StringBuilder builder = new StringBuilder(input.length() + 16);
+        return translate(input, builder)
+                ? builder.toString()
+                : input;
+    }
+
+    @Override
+    public boolean translate(String input, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        return translateStages(input, out);
+    }
+
+    @Override
+    public boolean translate(CharSequence input, StringBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        return translateStages(input, out);
+    }
+
+    private boolean translateStages(CharSequence input, StringBuilder out) {
+        // intermediate results are passed between two reused builders,
+        // stages that only accept String input still copy the builder content to a String
+        CharSequence current = input;
+        StringBuilder first = null;
+        StringBuilder second = null;
+        boolean changed = false;
+        int last = stages.length - 1;
+        for (int i = 0; i < last; ++i) {
+            StringBuilder target;
+            if (current != first) {
+                if (first == null) {
+                    first = new StringBuilder(current.length() + 16);
+                }
+                target = first;
+            } else {
+                if (second == null) {
+                    second = new StringBuilder(current.length() + 16);
+                }
+                target = second;
+            }
+            target.setLength(0);
+            if (stages[i].translate(current, target)) {
+                current = target;
+                changed = true;
+            }
+        }
+        return stages[last].translate(current, out) || changed;
+    }
+}
@@ -1,5 +1,6 @@
 package com.coditory.quark.common.encode.csv;
 
+import com.coditory.quark.common.encode.ByteTranslationCodec;
 import com.coditory.quark.common.encode.TranslationCodec;
 import com.coditory.quark.common.encode.Translator;
 
@@ -7,6 +8,10 @@ public final class CsvCodec {
     private static final Translator ENCODER = CsvEncoder.getInstance();
     private static final Translator DECODER = CsvDecoder.getInstance();
     private static final TranslationCodec CODEC = new TranslationCodec(ENCODER, DECODER);
+    private static final ByteTranslationCodec BYTE_CODEC = new ByteTranslationCodec(
+            CsvEncoder.getInstance(),
+            CsvDecoder.getInstance()
+    );
 
     public static TranslationCodec forSeparator(char separator) {
         if (separator == ',') {
@@ -25,6 +30,10 @@ public final class CsvCodec {
         return CODEC;
     }
 
+    public static ByteTranslationCodec getByteCodec() {
+        return BYTE_CODEC;
+    }
+
     public static Translator getEncoder() {
         return CODEC.getEncoder();
     }
@@ -1,14 +1,18 @@
 package com.coditory.quark.common.encode.csv;
 
+import com.coditory.quark.common.encode.ByteBuilder;
+import com.coditory.quark.common.encode.ByteTranslator;
 import com.coditory.quark.common.encode.Translator;
 import com.coditory.quark.common.util.Strings;
 
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
 import static com.coditory.quark.common.encode.csv.CsvEncoder.CSV_ESCAPED_QUOTE_STR;
 import static com.coditory.quark.common.encode.csv.CsvEncoder.CSV_QUOTE;
 import static com.coditory.quark.common.encode.csv.CsvEncoder.CSV_QUOTE_STR;
 import static com.coditory.quark.common.util.Strings.replace;
 
-final class CsvDecoder implements Translator {
+final class CsvDecoder implements Translator, ByteTranslator {
     private static final CsvDecoder CSV_INSTANCE = new CsvDecoder(',');
     private static final CsvDecoder TSV_INSTANCE = new CsvDecoder('\t');
 
@@ -26,9 +30,11 @@ final class CsvDecoder implements Translator {
         return CSV_INSTANCE;
     }
 
+    private final char separator;
     private final char[] searchChars;
 
     private CsvDecoder(char separator) {
+        this.separator = separator;
         searchChars = new char[]{separator, '\r', '\n'};
     }
 
@@ -42,6 +48,7 @@ final class CsvDecoder implements Translator {
             return false;
         }
         if (input.length() == 1) {
+            out.append(input);
             return false;
         }
         String quoteless = input.subSequence(1, input.length() - 1).toString();
@@ -52,4 +59,42 @@ final class CsvDecoder implements Translator {
         }
         return true;
     }
+
+    /**
+     * Decodes UTF-8 encoded value. Requires ASCII separator.
+     */
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        check(separator < 128, "Expected ASCII separator for byte translation. Got: '%s'", separator);
+        if (length == 0) {
+            return false;
+        }
+        int end = offset + length;
+        if (input[offset] != CSV_QUOTE || input[end - 1] != CSV_QUOTE) {
+            out.append(input, offset, length);
+            return false;
+        }
+        if (length == 1) {
+            out.append(input, offset, length);
+            return false;
+        }
+        int start = offset + 1;
+        int quotelessEnd = end - 1;
+        if (!CsvEncoder.containsDelimiter(input, start, quotelessEnd, (byte) separator)) {
+            out.append(input, start, quotelessEnd - start);
+            return true;
+        }
+        int cleanStart = start;
+        for (int i = start; i < quotelessEnd - 1; ++i) {
+            if (input[i] == CSV_QUOTE && input[i + 1] == CSV_QUOTE) {
+                out.append(input, cleanStart, i + 1 - cleanStart);
+                i++;
+                cleanStart = i + 1;
+            }
+        }
+        out.append(input, cleanStart, quotelessEnd - cleanStart);
+        return true;
+    }
 }
@@ -1,12 +1,16 @@
 package com.coditory.quark.common.encode.csv;
 
+import com.coditory.quark.common.encode.ByteBuilder;
+import com.coditory.quark.common.encode.ByteTranslator;
 import com.coditory.quark.common.encode.Translator;
 import com.coditory.quark.common.util.Strings;
 
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
 import static com.coditory.quark.common.util.Strings.containsNone;
 import static com.coditory.quark.common.util.Strings.replace;
 
-final class CsvEncoder implements Translator {
+final class CsvEncoder implements Translator, ByteTranslator {
     private static final CsvEncoder CSV_INSTANCE = new CsvEncoder(',');
     private static final CsvEncoder TSV_INSTANCE = new CsvEncoder('\t');
 
@@ -28,9 +32,11 @@ final class CsvEncoder implements Translator {
     static final String CSV_QUOTE_STR = "\"";
     static final String CSV_ESCAPED_QUOTE_STR = CSV_QUOTE_STR + CSV_QUOTE_STR;
 
+    private final char separator;
     private final char[] searchChars;
 
     private CsvEncoder(char separator) {
+        this.separator = separator;
         searchChars = new char[]{separator, '\r', '\n'};
     }
 
@@ -45,4 +51,40 @@ final class CsvEncoder implements Translator {
         out.append(CSV_QUOTE);
         return true;
     }
+
+    /**
+     * Encodes UTF-8 encoded value. Requires ASCII separator.
+     */
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        check(separator < 128, "Expected ASCII separator for byte translation. Got: '%s'", separator);
+        int end = offset + length;
+        if (!containsDelimiter(input, offset, end, (byte) separator)) {
+            out.append(input, offset, length);
+            return false;
+        }
+        out.append((byte) CSV_QUOTE);
+        int cleanStart = offset;
+        for (int i = offset; i < end; ++i) {
+            if (input[i] == CSV_QUOTE) {
+                out.append(input, cleanStart, i + 1 - cleanStart);
+                cleanStart = i;
+            }
+        }
+        out.append(input, cleanStart, end - cleanStart);
+        out.append((byte) CSV_QUOTE);
+        return true;
+    }
+
+    static boolean containsDelimiter(byte[] input, int offset, int end, byte separator) {
+        for (int i = offset; i < end; ++i) {
+            byte b = input[i];
+            if (b == separator || b == '\r' || b == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
 }
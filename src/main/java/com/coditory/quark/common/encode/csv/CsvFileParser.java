@@ -0,0 +1,443 @@
+package com.coditory.quark.common.encode.csv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.check.Args.checkPositive;
+import static com.coditory.quark.common.encode.csv.CsvEncoder.CSV_QUOTE;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses CSV files in parallel.
+ * <p>
+ * The file is memory mapped and split into chunks. Each chunk is moved to the nearest
+ * record boundary. Boundaries are found with the state machine of {@link CsvParser}
+ * (a quote opens a quoted field only at the start of a field), so records are split
+ * exactly as in the serial parser, also for lenient input with stray quotes.
+ * Every chunk is scanned in parallel from all the possible initial states,
+ * then the results are chained in the file order. Chunks are parsed on a fork-join pool.
+ */
+public final class CsvFileParser {
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    // scanner states
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+    private static final int STATES = 4;
+    // byte classes
+    private static final int OTHER = 0;
+    private static final int QUOTE = 1;
+    private static final int DELIMITER = 2;
+    private static final int LINE_FEED = 3;
+    /**
+     * Transitions of all the states at once. Packed states hold the current state
+     * of a scan started from state s on bits [2s, 2s + 2).
+     */
+    private static final byte[][] PACKED_TRANSITIONS = new byte[4][256];
+    private static final int PACKED_INITIAL_STATES = FIELD_START | UNQUOTED << 2 | QUOTED << 4 | QUOTE_IN_QUOTED << 6;
+
+    static {
+        for (int byteClass = 0; byteClass < 4; ++byteClass) {
+            for (int packed = 0; packed < 256; ++packed) {
+                int result = 0;
+                for (int s = 0; s < STATES; ++s) {
+                    result |= transition(packedState(packed, s), byteClass) << (2 * s);
+                }
+                PACKED_TRANSITIONS[byteClass][packed] = (byte) result;
+            }
+        }
+    }
+
+    private static int transition(int state, int byteClass) {
+        switch (state) {
+            case FIELD_START:
+                return byteClass == QUOTE ? QUOTED
+                        : byteClass == OTHER ? UNQUOTED
+                        : FIELD_START;
+            case UNQUOTED:
+                return byteClass == QUOTE || byteClass == OTHER ? UNQUOTED : FIELD_START;
+            case QUOTED:
+                return byteClass == QUOTE ? QUOTE_IN_QUOTED : QUOTED;
+            default:
+                // closing or escaped quote, characters after the closing quote are kept as in unquoted field
+                return byteClass == QUOTE ? QUOTED
+                        : byteClass == OTHER ? UNQUOTED
+                        : FIELD_START;
+        }
+    }
+
+    private static int packedState(int packed, int initialState) {
+        return (packed >>> (2 * initialState)) & 3;
+    }
+
+    public static CsvFileParser forSeparator(char separator) {
+        return builder()
+                .separator(separator)
+                .build();
+    }
+
+    private final char separator;
+    private final Charset charset;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final CsvProjection projection;
+    private final byte[] byteClasses = new byte[256];
+
+    private CsvFileParser(char separator, Charset charset, int chunkSize, ForkJoinPool pool, CsvProjection projection) {
+        this.separator = separator;
+        this.charset = charset;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.projection = projection;
+        this.byteClasses[CSV_QUOTE] = QUOTE;
+        this.byteClasses[separator] = DELIMITER;
+        this.byteClasses['\r'] = DELIMITER;
+        this.byteClasses['\n'] = LINE_FEED;
+    }
+
+    public List<List<String>> parse(Path file) {
+        List<List<String>> result = new ArrayList<>();
+        parseOrdered(file, result::add);
+        return result;
+    }
+
+    /**
+     * Passes records to the sink in the same order as in the file.
+     * Sink is called from the calling thread.
+     */
+    public void parseOrdered(Path file, Consumer<List<String>> sink) {
+        checkNotNull(file, "file");
+        checkNotNull(sink, "sink");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long dataStart = findDataStart(channel);
+            CsvRow header = readHeader(channel, dataStart);
+            long[] boundaries = split(channel, dataStart);
+            int window = 2 * pool.getParallelism();
+            Deque<ForkJoinTask<List<List<String>>>> inFlight = new ArrayDeque<>(window);
+            AtomicBoolean cancelled = new AtomicBoolean();
+            try {
+                for (int i = 0; i < boundaries.length - 1; ++i) {
+                    if (inFlight.size() >= window) {
+                        inFlight.poll().join().forEach(sink);
+                    }
+                    long start = boundaries[i];
+                    long end = boundaries[i + 1];
+                    inFlight.add(pool.submit(() -> {
+                        List<List<String>> records = new ArrayList<>();
+                        parseChunk(channel, start, end, header, cancelled, row -> records.add(row.toList()));
+                        return records;
+                    }));
+                }
+                while (!inFlight.isEmpty()) {
+                    inFlight.poll().join().forEach(sink);
+                }
+            } finally {
+                cancel(inFlight, cancelled);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not parse csv file: " + file, e);
+        }
+    }
+
+    /**
+     * Passes records to the sink as soon as they are parsed.
+     * Sink is called concurrently from the pool threads and must be thread safe.
+     */
+    public void parseUnordered(Path file, Consumer<List<String>> sink) {
+        checkNotNull(sink, "sink");
+        forEachRowUnordered(file, row -> sink.accept(row.toList()));
+    }
+
+    /**
+     * Passes rows to the consumer as soon as they are parsed.
+     * Consumer is called concurrently from the pool threads and must be thread safe.
+     * Every worker reuses its row instance, so it must not be stored by the consumer.
+     */
+    public void forEachRowUnordered(Path file, Consumer<CsvRow> consumer) {
+        checkNotNull(file, "file");
+        checkNotNull(consumer, "consumer");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long dataStart = findDataStart(channel);
+            CsvRow header = readHeader(channel, dataStart);
+            long[] boundaries = split(channel, dataStart);
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(boundaries.length - 1);
+            AtomicBoolean cancelled = new AtomicBoolean();
+            try {
+                for (int i = 0; i < boundaries.length - 1; ++i) {
+                    long start = boundaries[i];
+                    long end = boundaries[i + 1];
+                    tasks.add(pool.submit(() -> parseChunk(channel, start, end, header, cancelled, consumer)));
+                }
+                tasks.forEach(ForkJoinTask::join);
+            } finally {
+                cancel(tasks, cancelled);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not parse csv file: " + file, e);
+        }
+    }
+
+    /**
+     * Cancels tasks that are not finished, when parsing fails or the sink throws.
+     * Running tasks stop at the next record.
+     */
+    private static void cancel(Collection<? extends ForkJoinTask<?>> tasks, AtomicBoolean cancelled) {
+        cancelled.set(true);
+        for (ForkJoinTask<?> task : tasks) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * @return position after the header record or after the byte order mark
+     */
+    private long findDataStart(FileChannel channel) throws IOException {
+        long start = byteOrderMarkLength(channel);
+        if (projection == null || !projection.requiresHeader()) {
+            return start;
+        }
+        long size = channel.size();
+        long position = start;
+        int state = FIELD_START;
+        // blank lines before the header are skipped like in CsvParser
+        boolean content = false;
+        while (position < size) {
+            MappedByteBuffer buffer = map(channel, position, Math.min(size, position + chunkSize));
+            int length = buffer.limit();
+            for (int i = 0; i < length; ++i) {
+                byte b = buffer.get(i);
+                state = transition(state, byteClasses[b & 0xFF]);
+                if (b != '\n' && b != '\r') {
+                    content = true;
+                } else if (state == FIELD_START && content) {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    private int byteOrderMarkLength(FileChannel channel) throws IOException {
+        if (!charset.equals(UTF_8) || channel.size() < 3) {
+            return 0;
+        }
+        MappedByteBuffer buffer = map(channel, 0, 3);
+        // UTF-8 encoded byte order mark
+        return buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF
+                ? 3
+                : 0;
+    }
+
+    private CsvRow readHeader(FileChannel channel, long dataStart) {
+        if (projection == null || !projection.requiresHeader()) {
+            return null;
+        }
+        CsvRow header = new CsvRow();
+        if (!openChunk(channel, 0, dataStart).nextRow(header)) {
+            throw new IllegalArgumentException("Missing csv header");
+        }
+        return header;
+    }
+
+    private long[] split(FileChannel channel, long dataStart) throws IOException {
+        long size = channel.size();
+        int count = (int) ((size - dataStart + chunkSize - 1) / chunkSize);
+        if (count <= 1) {
+            return new long[]{dataStart, size};
+        }
+        List<ForkJoinTask<ChunkStats>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            long start = dataStart + (long) i * chunkSize;
+            long end = Math.min(size, start + chunkSize);
+            tasks.add(pool.submit(() -> scanChunk(channel, start, end)));
+        }
+        long[] boundaries = new long[count + 1];
+        boundaries[0] = dataStart;
+        int boundariesCount = 1;
+        int state = FIELD_START;
+        try {
+            for (ForkJoinTask<ChunkStats> task : tasks) {
+                ChunkStats stats = task.join();
+                if (stats.start > dataStart) {
+                    long boundary = stats.recordStarts[state];
+                    if (boundary > boundaries[boundariesCount - 1] && boundary < size) {
+                        boundaries[boundariesCount++] = boundary;
+                    }
+                }
+                state = packedState(stats.endStates, state);
+            }
+        } finally {
+            cancel(tasks, new AtomicBoolean());
+        }
+        boundaries[boundariesCount++] = size;
+        return boundariesCount == boundaries.length
+                ? boundaries
+                : Arrays.copyOf(boundaries, boundariesCount);
+    }
+
+    /**
+     * Scans the chunk from every initial state at once.
+     */
+    private ChunkStats scanChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer = map(channel, start, end);
+        int length = buffer.limit();
+        long[] recordStarts = {-1, -1, -1, -1};
+        int missingRecordStarts = STATES;
+        int states = PACKED_INITIAL_STATES;
+        for (int i = 0; i < length; ++i) {
+            int byteClass = byteClasses[buffer.get(i) & 0xFF];
+            states = PACKED_TRANSITIONS[byteClass][states] & 0xFF;
+            if (byteClass == LINE_FEED && missingRecordStarts > 0) {
+                for (int s = 0; s < STATES; ++s) {
+                    if (recordStarts[s] < 0 && packedState(states, s) == FIELD_START) {
+                        recordStarts[s] = start + i + 1;
+                        missingRecordStarts--;
+                    }
+                }
+            }
+        }
+        return new ChunkStats(start, states, recordStarts);
+    }
+
+    private void parseChunk(FileChannel channel, long start, long end, CsvRow header, AtomicBoolean cancelled, Consumer<CsvRow> consumer) {
+        CsvScanner scanner = openChunk(channel, start, end);
+        if (projection != null) {
+            projection.apply(scanner, header);
+        }
+        CsvRow row = new CsvRow();
+        while (!cancelled.get() && scanner.nextRow(row)) {
+            consumer.accept(row);
+        }
+    }
+
+    private CsvScanner openChunk(FileChannel channel, long start, long end) {
+        CharBuffer chars = decode(map(channel, start, end));
+        int offset = chars.arrayOffset() + chars.position();
+        int limit = chars.arrayOffset() + chars.limit();
+        if (start == 0 && offset < limit && chars.array()[offset] == BYTE_ORDER_MARK) {
+            offset++;
+        }
+        CsvScanner scanner = new CsvScanner(separator);
+        scanner.reset(chars.array(), offset, limit);
+        return scanner;
+    }
+
+    private CharBuffer decode(MappedByteBuffer buffer) {
+        try {
+            return charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(buffer);
+        } catch (CharacterCodingException e) {
+            throw new IllegalStateException("Could not decode csv chunk", e);
+        }
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long start, long end) {
+        long length = end - start;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Csv record too long to be memory mapped: " + length + " bytes");
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not memory map csv chunk", e);
+        }
+    }
+
+    private static class ChunkStats {
+        final long start;
+        // packed end states for every initial state
+        final int endStates;
+        // first record start for every initial state or -1
+        final long[] recordStarts;
+
+        ChunkStats(long start, int endStates, long[] recordStarts) {
+            this.start = start;
+            this.endStates = endStates;
+            this.recordStarts = recordStarts;
+        }
+    }
+
+    public static CsvFileParserBuilder builder() {
+        return new CsvFileParserBuilder();
+    }
+
+    public static class CsvFileParserBuilder {
+        private char separator = ',';
+        private Charset charset = UTF_8;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+        private CsvProjection projection;
+
+        public CsvFileParserBuilder separator(char separator) {
+            check(separator < 128, "Expected ASCII separator. Got: %s", separator);
+            check(separator != CSV_QUOTE && separator != '\n' && separator != '\r', "Invalid separator: %s", separator);
+            this.separator = separator;
+            return this;
+        }
+
+        public CsvFileParserBuilder charset(Charset charset) {
+            checkNotNull(charset, "charset");
+            check(charset.equals(UTF_8) || charset.equals(US_ASCII) || charset.equals(ISO_8859_1),
+                    "Expected ASCII compatible charset. Got: %s", charset);
+            this.charset = charset;
+            return this;
+        }
+
+        public CsvFileParserBuilder chunkSize(int chunkSize) {
+            this.chunkSize = checkPositive(chunkSize, "chunkSize");
+            return this;
+        }
+
+        public CsvFileParserBuilder pool(ForkJoinPool pool) {
+            this.pool = checkNotNull(pool, "pool");
+            return this;
+        }
+
+        public CsvFileParserBuilder columns(int... columns) {
+            checkNotNull(columns, "columns");
+            this.projection = CsvProjection.ofIndexes(columns);
+            return this;
+        }
+
+        /**
+         * Selects columns by header names.
+         * The first record is treated as a header and is not passed to the sink.
+         */
+        public CsvFileParserBuilder columns(String... columns) {
+            checkNotNull(columns, "columns");
+            this.projection = CsvProjection.ofNames(columns);
+            return this;
+        }
+
+        public CsvFileParser build() {
+            return new CsvFileParser(separator, charset, chunkSize, pool, projection);
+        }
+    }
+}
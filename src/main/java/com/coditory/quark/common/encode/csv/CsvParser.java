@@ -0,0 +1,91 @@
+package com.coditory.quark.common.encode.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+public final class CsvParser {
+    private static final CsvParser CSV_INSTANCE = new CsvParser(',', null);
+    private static final CsvParser TSV_INSTANCE = new CsvParser('\t', null);
+
+    public static CsvParser forSeparator(char separator) {
+        if (separator == ',') {
+            return CSV_INSTANCE;
+        }
+        if (separator == '\t') {
+            return TSV_INSTANCE;
+        }
+        return new CsvParser(separator, null);
+    }
+
+    public static CsvParser getInstance() {
+        return CSV_INSTANCE;
+    }
+
+    private final char separator;
+    private final CsvProjection projection;
+
+    private CsvParser(char separator, CsvProjection projection) {
+        this.separator = separator;
+        this.projection = projection;
+    }
+
+    public char getSeparator() {
+        return separator;
+    }
+
+    /**
+     * Returns parser that reads only the selected columns.
+     * Remaining columns are skipped without being unescaped.
+     */
+    public CsvParser withColumns(int... columns) {
+        checkNotNull(columns, "columns");
+        return new CsvParser(separator, CsvProjection.ofIndexes(columns));
+    }
+
+    /**
+     * Returns parser that reads only the selected columns.
+     * The first record is treated as a header and is not passed to the consumer.
+     */
+    public CsvParser withColumns(String... columns) {
+        checkNotNull(columns, "columns");
+        return new CsvParser(separator, CsvProjection.ofNames(columns));
+    }
+
+    public List<List<String>> parse(String input) {
+        checkNotNull(input, "input");
+        List<List<String>> result = new ArrayList<>();
+        parse(input, row -> result.add(row.toList()));
+        return result;
+    }
+
+    /**
+     * Passes every record to the consumer. The row instance is reused
+     * between records and must not be stored by the consumer.
+     */
+    public void parse(String input, Consumer<CsvRow> consumer) {
+        checkNotNull(input, "input");
+        checkNotNull(consumer, "consumer");
+        char[] chars = input.toCharArray();
+        parse(chars, 0, chars.length, consumer);
+    }
+
+    void parse(char[] chars, int offset, int limit, Consumer<CsvRow> consumer) {
+        CsvScanner scanner = new CsvScanner(separator);
+        CsvRow row = new CsvRow();
+        scanner.reset(chars, offset, limit);
+        if (projection != null && projection.requiresHeader()) {
+            if (!scanner.nextRow(row)) {
+                return;
+            }
+            projection.apply(scanner, row);
+        } else if (projection != null) {
+            projection.apply(scanner, null);
+        }
+        while (scanner.nextRow(row)) {
+            consumer.accept(row);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.coditory.quark.common.encode.csv;
+
+import java.util.Arrays;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotEmpty;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+final class CsvProjection {
+    static CsvProjection ofIndexes(int[] columns) {
+        checkNotEmpty(columns, "columns");
+        int max = 0;
+        for (int column : columns) {
+            check(column >= 0, "Expected column index >= 0. Got: %s", column);
+            max = Math.max(max, column);
+        }
+        int[] slots = new int[max + 1];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < columns.length; ++i) {
+            check(slots[columns[i]] < 0, "Duplicated column index: %s", columns[i]);
+            slots[columns[i]] = i;
+        }
+        return new CsvProjection(slots, null, columns.length);
+    }
+
+    static CsvProjection ofNames(String[] names) {
+        checkNotEmpty(names, "names");
+        for (String name : names) {
+            checkNotNull(name, "name");
+        }
+        check(Arrays.stream(names).distinct().count() == names.length, "Duplicated column names: %s", Arrays.toString(names));
+        return new CsvProjection(null, names.clone(), names.length);
+    }
+
+    private final int[] slots;
+    private final String[] names;
+    private final int size;
+
+    private CsvProjection(int[] slots, String[] names, int size) {
+        this.slots = slots;
+        this.names = names;
+        this.size = size;
+    }
+
+    boolean requiresHeader() {
+        return names != null;
+    }
+
+    void apply(CsvScanner scanner, CsvRow header) {
+        scanner.project(resolve(header), size);
+    }
+
+    private int[] resolve(CsvRow header) {
+        if (names == null) {
+            return slots;
+        }
+        int[] result = new int[header.size()];
+        Arrays.fill(result, -1);
+        for (int i = 0; i < names.length; ++i) {
+            int column = indexOf(header, names[i]);
+            check(column >= 0, "Missing column in csv header: %s", names[i]);
+            result[column] = i;
+        }
+        return result;
+    }
+
+    private int indexOf(CsvRow header, String name) {
+        for (int i = 0; i < header.size(); ++i) {
+            if (name.equals(header.getString(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
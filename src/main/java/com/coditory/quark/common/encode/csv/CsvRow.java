@@ -0,0 +1,142 @@
+package com.coditory.quark.common.encode.csv;
+
+import com.coditory.quark.common.util.Doubles;
+import com.coditory.quark.common.util.Integers;
+import com.coditory.quark.common.util.Longs;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkPositionIndex;
+
+/**
+ * Reusable view over a parsed record. Values are decoded only on access.
+ * When parser uses a column projection, indexes refer to the projected columns.
+ * Projected columns missing from a short record are null.
+ */
+public final class CsvRow {
+    private static final int MISSING = -1;
+
+    private char[] buffer;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int size;
+
+    CsvRow() {
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty(int index) {
+        checkPositionIndex(index, size);
+        return starts[index] == ends[index];
+    }
+
+    public boolean isMissing(int index) {
+        checkPositionIndex(index, size);
+        return starts[index] == MISSING;
+    }
+
+    @Nullable
+    public String getString(int index) {
+        checkPositionIndex(index, size);
+        return value(index);
+    }
+
+    public int getInt(int index) {
+        checkPresent(index);
+        return Integers.parseInteger(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    public int getIntOrDefault(int index, int defaultValue) {
+        checkPositionIndex(index, size);
+        if (starts[index] == MISSING) {
+            return defaultValue;
+        }
+        return Integers.parseIntegerOrDefault(buffer, starts[index], ends[index] - starts[index], defaultValue);
+    }
+
+    public long getLong(int index) {
+        checkPresent(index);
+        return Longs.parseLong(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    public long getLongOrDefault(int index, long defaultValue) {
+        checkPositionIndex(index, size);
+        if (starts[index] == MISSING) {
+            return defaultValue;
+        }
+        return Longs.parseLongOrDefault(buffer, starts[index], ends[index] - starts[index], defaultValue);
+    }
+
+    public double getDouble(int index) {
+        checkPresent(index);
+        return Doubles.parseDouble(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    public double getDoubleOrDefault(int index, double defaultValue) {
+        checkPositionIndex(index, size);
+        if (starts[index] == MISSING) {
+            return defaultValue;
+        }
+        return Doubles.parseDoubleOrDefault(buffer, starts[index], ends[index] - starts[index], defaultValue);
+    }
+
+    /**
+     * @return unmodifiable list of values, with nulls for the missing projected columns
+     */
+    public List<String> toList() {
+        String[] values = new String[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = value(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    private String value(int index) {
+        return starts[index] == MISSING
+                ? null
+                : new String(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    private void checkPresent(int index) {
+        checkPositionIndex(index, size);
+        check(starts[index] != MISSING, "Missing column in csv record: %s", index);
+    }
+
+    void reset(char[] buffer, int size) {
+        this.buffer = buffer;
+        ensureCapacity(size);
+        Arrays.fill(starts, 0, size, MISSING);
+        Arrays.fill(ends, 0, size, MISSING);
+        this.size = size;
+    }
+
+    void set(int index, int start, int end) {
+        if (index >= size) {
+            ensureCapacity(index + 1);
+            size = index + 1;
+        }
+        starts[index] = start;
+        ends[index] = end;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > starts.length) {
+            int newCapacity = Math.max(capacity, starts.length * 2);
+            starts = Arrays.copyOf(starts, newCapacity);
+            ends = Arrays.copyOf(ends, newCapacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CsvRow" + toList();
+    }
+}
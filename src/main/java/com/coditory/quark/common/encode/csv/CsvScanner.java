@@ -0,0 +1,143 @@
+package com.coditory.quark.common.encode.csv;
+
+import static com.coditory.quark.common.encode.csv.CsvEncoder.CSV_QUOTE;
+
+final class CsvScanner {
+    private final char separator;
+    private int[] slots;
+    private int projectionSize;
+    private char[] buffer;
+    private int position;
+    private int limit;
+
+    CsvScanner(char separator) {
+        this.separator = separator;
+    }
+
+    void reset(char[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Restricts parsing to the projected columns.
+     * Slots map column index to the row index or -1 for a skipped column.
+     */
+    void project(int[] slots, int projectionSize) {
+        this.slots = slots;
+        this.projectionSize = projectionSize;
+    }
+
+    /**
+     * Reads next record into the row. Quoted fields are unescaped in place,
+     * so the buffer passed to {@link #reset} is modified while scanning.
+     * Skipped columns are not unescaped. Empty lines are skipped.
+     */
+    boolean nextRow(CsvRow row) {
+        skipEmptyLines();
+        if (position >= limit) {
+            return false;
+        }
+        row.reset(buffer, slots == null ? 0 : projectionSize);
+        int pos = position;
+        int column = 0;
+        while (true) {
+            int slot = slot(column++);
+            if (slot < 0) {
+                pos = skip(pos);
+            } else if (buffer[pos] == CSV_QUOTE) {
+                int start = pos + 1;
+                int end = unquote(start);
+                pos = position;
+                row.set(slot, start, end);
+            } else {
+                int start = pos;
+                while (pos < limit && !isDelimiter(buffer[pos])) {
+                    pos++;
+                }
+                row.set(slot, start, pos);
+            }
+            if (pos >= limit) {
+                position = limit;
+                return true;
+            }
+            char c = buffer[pos++];
+            if (c != separator) {
+                if (c == '\r' && pos < limit && buffer[pos] == '\n') {
+                    pos++;
+                }
+                position = pos;
+                return true;
+            }
+            if (pos >= limit) {
+                slot = slot(column);
+                if (slot >= 0) {
+                    row.set(slot, pos, pos);
+                }
+                position = limit;
+                return true;
+            }
+        }
+    }
+
+    private int slot(int column) {
+        if (slots == null) {
+            return column;
+        }
+        return column < slots.length
+                ? slots[column]
+                : -1;
+    }
+
+    private int skip(int pos) {
+        if (buffer[pos] == CSV_QUOTE) {
+            pos++;
+            while (pos < limit) {
+                if (buffer[pos++] == CSV_QUOTE) {
+                    if (pos < limit && buffer[pos] == CSV_QUOTE) {
+                        pos++;
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+        while (pos < limit && !isDelimiter(buffer[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private int unquote(int start) {
+        int read = start;
+        int write = start;
+        while (read < limit) {
+            char c = buffer[read++];
+            if (c == CSV_QUOTE) {
+                if (read < limit && buffer[read] == CSV_QUOTE) {
+                    read++;
+                } else {
+                    break;
+                }
+            }
+            buffer[write++] = c;
+        }
+        // lenient mode: characters between closing quote and delimiter are kept
+        while (read < limit && !isDelimiter(buffer[read])) {
+            buffer[write++] = buffer[read++];
+        }
+        position = read;
+        return write;
+    }
+
+    private void skipEmptyLines() {
+        while (position < limit && (buffer[position] == '\n' || buffer[position] == '\r')) {
+            position++;
+        }
+    }
+
+    private boolean isDelimiter(char c) {
+        return c == separator || c == '\n' || c == '\r';
+    }
+}
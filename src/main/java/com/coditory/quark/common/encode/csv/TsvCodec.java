@@ -1,5 +1,6 @@
 package com.coditory.quark.common.encode.csv;
 
+import com.coditory.quark.common.encode.ByteTranslationCodec;
 import com.coditory.quark.common.encode.TranslationCodec;
 import com.coditory.quark.common.encode.Translator;
 
@@ -7,11 +8,19 @@ public final class TsvCodec {
     private static final Translator ENCODER = CsvEncoder.forSeparator('\t');
     private static final Translator DECODER = CsvDecoder.forSeparator('\t');
     private static final TranslationCodec CODEC = new TranslationCodec(ENCODER, DECODER);
+    private static final ByteTranslationCodec BYTE_CODEC = new ByteTranslationCodec(
+            CsvEncoder.forSeparator('\t'),
+            CsvDecoder.forSeparator('\t')
+    );
 
     public static TranslationCodec getInstance() {
         return CODEC;
     }
 
+    public static ByteTranslationCodec getByteCodec() {
+        return BYTE_CODEC;
+    }
+
     public static Translator getEncoder() {
         return CODEC.getEncoder();
     }
@@ -0,0 +1,82 @@
+package com.coditory.quark.common.encode.internal;
+
+import com.coditory.quark.common.encode.ByteBuilder;
+
+/**
+ * Helpers for translators working directly on UTF-8 encoded bytes.
+ * Internal to the encode packages, not a part of the public API.
+ */
+public final class Utf8Bytes {
+    public static final int MALFORMED = -1;
+    private static final int[] MIN_VALUES = {0, 0, 0x80, 0x800, 0x10000};
+
+    private Utf8Bytes() {
+        throw new UnsupportedOperationException("Do not instantiate utility class");
+    }
+
+    /**
+     * Returns number of bytes in a sequence started with the lead byte or 1 for a malformed lead byte.
+     */
+    public static int sequenceLength(byte lead) {
+        if (lead >= 0) {
+            return 1;
+        }
+        if ((lead & 0xE0) == 0xC0) {
+            return 2;
+        }
+        if ((lead & 0xF0) == 0xE0) {
+            return 3;
+        }
+        if ((lead & 0xF8) == 0xF0) {
+            return 4;
+        }
+        return 1;
+    }
+
+    /**
+     * Decodes code point starting at the index or returns {@link #MALFORMED}.
+     * Overlong sequences, surrogates and values above U+10FFFF are malformed.
+     */
+    public static int codePointAt(byte[] input, int index, int end) {
+        int lead = input[index];
+        if (lead >= 0) {
+            return lead;
+        }
+        int length = sequenceLength((byte) lead);
+        if (length == 1 || index + length > end) {
+            return MALFORMED;
+        }
+        int codePoint = lead & (0x7F >> length);
+        for (int i = index + 1; i < index + length; ++i) {
+            int b = input[i];
+            if ((b & 0xC0) != 0x80) {
+                return MALFORMED;
+            }
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        if (codePoint < MIN_VALUES[length]
+                || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return MALFORMED;
+        }
+        return codePoint;
+    }
+
+    public static void appendCodePoint(int codePoint, ByteBuilder out) {
+        if (codePoint < 0x80) {
+            out.append((byte) codePoint);
+        } else if (codePoint < 0x800) {
+            out.append((byte) (0xC0 | (codePoint >> 6)));
+            out.append((byte) (0x80 | (codePoint & 0x3F)));
+        } else if (codePoint < 0x10000) {
+            out.append((byte) (0xE0 | (codePoint >> 12)));
+            out.append((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            out.append((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            out.append((byte) (0xF0 | (codePoint >> 18)));
+            out.append((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            out.append((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            out.append((byte) (0x80 | (codePoint & 0x3F)));
+        }
+    }
+}
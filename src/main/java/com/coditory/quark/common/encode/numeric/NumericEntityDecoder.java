@@ -6,6 +6,7 @@ import static com.coditory.quark.common.check.Args.checkNotNull;
 
 final class NumericEntityDecoder extends IndexedTranslator {
     private static final NumericEntityDecoder INSTANCE = new NumericEntityDecoder();
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
 
     static NumericEntityDecoder getInstance() {
         return INSTANCE;
@@ -30,53 +31,68 @@ final class NumericEntityDecoder extends IndexedTranslator {
     @Override
     public int translate(String input, int index, StringBuilder out) {
         int seqEnd = input.length();
-        if (input.charAt(index) == '&' && index < seqEnd - 2 && input.charAt(index + 1) == '#') {
-            int start = index + 2;
-            boolean isHex = false;
-            char firstChar = input.charAt(start);
-            if (firstChar == 'x' || firstChar == 'X') {
-                start++;
-                isHex = true;
-                if (start == seqEnd) {
-                    return 0;
-                }
+        if (input.charAt(index) != '&' || index >= seqEnd - 2 || input.charAt(index + 1) != '#') {
+            return 0;
+        }
+        int start = index + 2;
+        boolean isHex = false;
+        char firstChar = input.charAt(start);
+        if (firstChar == 'x' || firstChar == 'X') {
+            start++;
+            isHex = true;
+            if (start == seqEnd) {
+                return 0;
             }
-            int end = start;
-            while (end < seqEnd && (input.charAt(end) >= '0' && input.charAt(end) <= '9'
-                    || input.charAt(end) >= 'a' && input.charAt(end) <= 'f'
-                    || input.charAt(end) >= 'A' && input.charAt(end) <= 'F')) {
-                end++;
+        }
+        // digits are accumulated in place, value is clamped to detect overflow
+        int value = 0;
+        int end = start;
+        while (end < seqEnd) {
+            int digit = digit(input.charAt(end), isHex);
+            if (digit < 0) {
+                break;
             }
-
-            boolean semiNext = end != seqEnd && input.charAt(end) == ';';
-            if (!semiNext) {
-                if (semiColonPolicy == SemiColonPolicy.REQUIRED) {
-                    return 0;
-                }
-                if (semiColonPolicy == SemiColonPolicy.ERROR_IF_MISSING) {
-                    throw new IllegalArgumentException("Semi-colon required at end of numeric entity");
-                }
+            if (value <= Character.MAX_CODE_POINT) {
+                value = value * (isHex ? 16 : 10) + digit;
             }
-
-            String entityStringValue = input.substring(start, end);
-            int entityValue = parse(entityStringValue, isHex ? 16 : 10);
-            if (entityValue > 0xFFFF) {
-                char[] chars = Character.toChars(entityValue);
-                out.append(chars[0]);
-                out.append(chars[1]);
-            } else {
-                out.append((char) entityValue);
+            end++;
+        }
+        if (end == start) {
+            return 0;
+        }
+        boolean semiNext = end != seqEnd && input.charAt(end) == ';';
+        if (!semiNext) {
+            if (semiColonPolicy == SemiColonPolicy.REQUIRED) {
+                return 0;
+            }
+            if (semiColonPolicy == SemiColonPolicy.ERROR_IF_MISSING) {
+                throw new IllegalArgumentException("Semi-colon required at end of numeric entity");
             }
-            return 2 + end - start + (isHex ? 1 : 0) + (semiNext ? 1 : 0);
         }
-        return 0;
+        if (value > Character.MAX_CODE_POINT) {
+            out.append(REPLACEMENT_CHAR);
+        } else if (value > 0xFFFF) {
+            out.append(Character.highSurrogate(value));
+            out.append(Character.lowSurrogate(value));
+        } else {
+            out.append((char) value);
+        }
+        return 2 + end - start + (isHex ? 1 : 0) + (semiNext ? 1 : 0);
     }
 
-    private int parse(String value, int base) {
-        try {
-            return Integer.parseInt(value, base);
-        } catch (NumberFormatException nfe) {
-            return 0;
+    private static int digit(char c, boolean isHex) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (!isHex) {
+            return -1;
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
         }
+        return -1;
     }
 }
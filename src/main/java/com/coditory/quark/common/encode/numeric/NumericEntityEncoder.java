@@ -1,7 +1,6 @@
 package com.coditory.quark.common.encode.numeric;
 
 import com.coditory.quark.common.encode.IndexedTranslator;
-import com.coditory.quark.common.util.Range;
 
 final class NumericEntityEncoder extends IndexedTranslator {
     private static final NumericEntityEncoder INSTANCE = new NumericEntityEncoder();
@@ -27,10 +26,12 @@ final class NumericEntityEncoder extends IndexedTranslator {
     }
 
     private final boolean between;
-    private final Range<Integer> range;
+    private final int low;
+    private final int high;
 
     private NumericEntityEncoder(final int below, final int above, final boolean between) {
-        this.range = Range.ofInclusive(below, above);
+        this.low = below;
+        this.high = above;
         this.between = between;
     }
 
@@ -41,11 +42,11 @@ final class NumericEntityEncoder extends IndexedTranslator {
     @Override
     public int translate(String input, int index, StringBuilder out) {
         int codepoint = Character.codePointAt(input, index);
-        if (this.between != this.range.contains(codepoint)) {
+        if (this.between != (codepoint >= low && codepoint <= high)) {
             return 0;
         }
         out.append("&#");
-        out.append(Integer.toString(codepoint, 10));
+        out.append(codepoint);
         out.append(';');
         return 1;
     }
@@ -1,5 +1,6 @@
 package com.coditory.quark.common.encode.percent;
 
+import com.coditory.quark.common.encode.ByteTranslationCodec;
 import com.coditory.quark.common.util.BitSets;
 import com.coditory.quark.common.encode.TranslationCodec;
 import com.coditory.quark.common.encode.Translator;
@@ -16,6 +17,7 @@ public final class PercentCodec {
     private static final PercentEncoder ENCODER = PercentEncoder.getInstance();
     private static final PercentDecoder DECODER = PercentDecoder.getInstance();
     private static final TranslationCodec CODEC = new TranslationCodec(ENCODER, DECODER);
+    private static final ByteTranslationCodec BYTE_CODEC = new ByteTranslationCodec(ENCODER, DECODER);
 
     public static TranslationCodec forCharset(Charset charset) {
         PercentEncoder encoder = PercentEncoder.forCharset(charset);
@@ -29,6 +31,13 @@ public final class PercentCodec {
         return CODEC;
     }
 
+    /**
+     * Returns codec operating on UTF-8 encoded bytes.
+     */
+    public static ByteTranslationCodec getByteCodec() {
+        return BYTE_CODEC;
+    }
+
     public static Translator getEncoder() {
         return ENCODER;
     }
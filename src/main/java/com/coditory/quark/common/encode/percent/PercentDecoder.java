@@ -1,5 +1,7 @@
 package com.coditory.quark.common.encode.percent;
 
+import com.coditory.quark.common.encode.ByteBuilder;
+import com.coditory.quark.common.encode.ByteTranslator;
 import com.coditory.quark.common.encode.Translator;
 
 import java.nio.charset.Charset;
@@ -7,7 +9,7 @@ import java.nio.charset.Charset;
 import static com.coditory.quark.common.check.Args.checkNotNull;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-final class PercentDecoder implements Translator {
+final class PercentDecoder implements Translator, ByteTranslator {
     private static final PercentDecoder INSTANCE = new PercentDecoder(false, UTF_8);
 
     public static PercentDecoder getInstance() {
@@ -33,7 +35,12 @@ final class PercentDecoder implements Translator {
         return translate(text, dst, charset);
     }
 
-    public boolean translate(String text, StringBuilder dst, Charset charset) {
+    @Override
+    public boolean translate(CharSequence text, StringBuilder dst) {
+        return translate(text, dst, charset);
+    }
+
+    public boolean translate(CharSequence text, StringBuilder dst, Charset charset) {
         checkNotNull(dst, "dst");
         checkNotNull(text, "text");
         boolean needToChange = false;
@@ -90,6 +97,52 @@ final class PercentDecoder implements Translator {
         return needToChange;
     }
 
+    /**
+     * Decodes percent encoded bytes directly, without charset transcoding.
+     *
+     * @throws IllegalStateException if the decoder is configured with other charset than UTF-8
+     */
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        if (!UTF_8.equals(charset)) {
+            throw new IllegalStateException("Byte translation requires UTF-8 charset. Got: " + charset);
+        }
+        int end = offset + length;
+        int index = offset;
+        int cleanStart = offset;
+        boolean changed = false;
+        while (index < end) {
+            byte b = input[index];
+            if (b != '%' && (b != '+' || !spaceAsPlus)) {
+                index++;
+                continue;
+            }
+            out.append(input, cleanStart, index - cleanStart);
+            changed = true;
+            if (b == '+') {
+                out.append((byte) ' ');
+                index++;
+            } else {
+                if (index + 2 >= end) {
+                    throw new IllegalArgumentException("Incomplete trailing escape (%) pattern");
+                }
+                int high = Character.digit(input[index + 1], 16);
+                int low = Character.digit(input[index + 2], 16);
+                if (high < 0 || low < 0) {
+                    throw new IllegalArgumentException("Illegal hex characters in escape (%) pattern - "
+                            + new String(input, index, 3, UTF_8));
+                }
+                out.append((byte) ((high << 4) | low));
+                index += 3;
+            }
+            cleanStart = index;
+        }
+        out.append(input, cleanStart, end - cleanStart);
+        return changed;
+    }
+
     public static PercentDecoderBuilder builder() {
         return new PercentDecoderBuilder();
     }
@@ -1,6 +1,9 @@
 package com.coditory.quark.common.encode.percent;
 
+import com.coditory.quark.common.encode.ByteBuilder;
+import com.coditory.quark.common.encode.ByteTranslator;
 import com.coditory.quark.common.encode.Translator;
+import com.coditory.quark.common.encode.internal.Utf8Bytes;
 import com.coditory.quark.common.util.BitSets;
 
 import java.io.CharArrayWriter;
@@ -13,7 +16,7 @@ import static com.coditory.quark.common.check.Args.checkNotNull;
 import static com.coditory.quark.common.text.Alphabets.URI_UNRESERVED;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-final class PercentEncoder implements Translator {
+final class PercentEncoder implements Translator, ByteTranslator {
     private static final PercentEncoder INSTANCE = PercentEncoder.builder()
             .safeCharacters(URI_UNRESERVED)
             .build();
@@ -32,14 +35,20 @@ final class PercentEncoder implements Translator {
     }
 
     private static final int CASE_DIFF = ('a' - 'A');
+    private static final byte[] HEX_DIGITS = {
+            '0', '1', '2', '3', '4', '5', '6', '7',
+            '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
     private final boolean spaceAsPlus;
     private final Charset charset;
     private final BitSet safeCharacters;
+    private final boolean nonAsciiSafeCharacters;
 
     private PercentEncoder(BitSet safeCharacters, boolean spaceAsPlus, Charset charset) {
         this.spaceAsPlus = spaceAsPlus;
         this.charset = checkNotNull(charset, "charset");
         this.safeCharacters = checkNotNull(safeCharacters, "safeCharacters");
+        this.nonAsciiSafeCharacters = safeCharacters.nextSetBit(128) >= 0;
     }
 
     @Override
@@ -47,7 +56,12 @@ final class PercentEncoder implements Translator {
         return translate(text, dst, charset);
     }
 
-    public boolean translate(String text, StringBuilder dst, Charset charset) {
+    @Override
+    public boolean translate(CharSequence text, StringBuilder dst) {
+        return translate(text, dst, charset);
+    }
+
+    public boolean translate(CharSequence text, StringBuilder dst, Charset charset) {
         checkNotNull(dst, "dst");
         checkNotNull(text, "text");
         boolean needToChange = false;
@@ -55,7 +69,7 @@ final class PercentEncoder implements Translator {
         CharArrayWriter charArrayWriter = new CharArrayWriter();
 
         for (int i = 0; i < text.length(); ) {
-            int cp = text.codePointAt(i);
+            int cp = Character.codePointAt(text, i);
             if (cp == ' ' && spaceAsPlus) {
                 out.append('+');
                 needToChange = true;
@@ -77,7 +91,7 @@ final class PercentEncoder implements Translator {
                         }
                     }
                     i++;
-                } while (i < text.length() && !safeCharacters.get(text.codePointAt(i)));
+                } while (i < text.length() && !safeCharacters.get(Character.codePointAt(text, i)));
                 charArrayWriter.flush();
                 byte[] bytes = new String(charArrayWriter.toCharArray())
                         .getBytes(charset);
@@ -102,6 +116,66 @@ final class PercentEncoder implements Translator {
         return needToChange;
     }
 
+    /**
+     * Encodes UTF-8 encoded input. Bytes are percent encoded as they are,
+     * so the result is the same as encoding decoded input with UTF-8 charset.
+     *
+     * @throws IllegalStateException if the encoder is configured with other charset than UTF-8
+     */
+    @Override
+    public boolean translate(byte[] input, int offset, int length, ByteBuilder out) {
+        checkNotNull(input, "input");
+        checkNotNull(out, "out");
+        if (!UTF_8.equals(charset)) {
+            throw new IllegalStateException("Byte translation requires UTF-8 charset. Got: " + charset);
+        }
+        int end = offset + length;
+        int index = offset;
+        int cleanStart = offset;
+        boolean changed = false;
+        while (index < end) {
+            byte b = input[index];
+            if (b >= 0 && isSafe(b)) {
+                index++;
+                continue;
+            }
+            int sequenceLength = 1;
+            if (b < 0) {
+                int codePoint = Utf8Bytes.codePointAt(input, index, end);
+                // malformed sequences are encoded byte by byte
+                if (codePoint != Utf8Bytes.MALFORMED) {
+                    sequenceLength = Utf8Bytes.sequenceLength(b);
+                    if (nonAsciiSafeCharacters && safeCharacters.get(codePoint)) {
+                        index += sequenceLength;
+                        continue;
+                    }
+                }
+            }
+            out.append(input, cleanStart, index - cleanStart);
+            changed = true;
+            if (b == ' ' && spaceAsPlus) {
+                out.append((byte) '+');
+            } else {
+                for (int i = index; i < index + sequenceLength; ++i) {
+                    out.append((byte) '%');
+                    out.append(HEX_DIGITS[(input[i] >> 4) & 0xF]);
+                    out.append(HEX_DIGITS[input[i] & 0xF]);
+                }
+            }
+            index += sequenceLength;
+            cleanStart = index;
+        }
+        out.append(input, cleanStart, end - cleanStart);
+        return changed;
+    }
+
+    private boolean isSafe(byte b) {
+        if (spaceAsPlus && (b == ' ' || b == '+')) {
+            return false;
+        }
+        return safeCharacters.get(b);
+    }
+
     public static PercentEncoderBuilder builder() {
         return new PercentEncoderBuilder();
     }
@@ -2,8 +2,6 @@ package com.coditory.quark.common.encode.unicode;
 
 import com.coditory.quark.common.encode.IndexedTranslator;
 
-import java.util.Locale;
-
 class UnicodeEncoder extends IndexedTranslator {
     private static final UnicodeEncoder INSTANCE = builder().build();
 
@@ -38,29 +36,31 @@ class UnicodeEncoder extends IndexedTranslator {
         if (codepoint >= minSafeCodepoint && codepoint <= maxSafeCodepoint) {
             return false;
         }
-        if (codepoint > 0xffff) {
-            out.append(toUtf16Escape(codepoint));
+        if (codepoint <= 0xffff) {
+            appendEscape(codepoint, out);
+        } else if (splitSurrogate) {
+            appendEscape(Character.highSurrogate(codepoint), out);
+            appendEscape(Character.lowSurrogate(codepoint), out);
         } else {
             out.append("\\u");
-            out.append(HEX_DIGITS[(codepoint >> 12) & 15]);
-            out.append(HEX_DIGITS[(codepoint >> 8) & 15]);
-            out.append(HEX_DIGITS[(codepoint >> 4) & 15]);
-            out.append(HEX_DIGITS[(codepoint) & 15]);
+            // leading zeros are skipped, as supplementary code point has at most 6 hex digits
+            int shift = 20;
+            while ((codepoint >> shift) == 0) {
+                shift -= 4;
+            }
+            for (; shift >= 0; shift -= 4) {
+                out.append(HEX_DIGITS[(codepoint >> shift) & 15]);
+            }
         }
         return true;
     }
 
-    private String toUtf16Escape(int codepoint) {
-        if (!splitSurrogate) {
-            return "\\u" + hex(codepoint);
-        }
-        char[] surrogatePair = Character.toChars(codepoint);
-        return "\\u" + hex(surrogatePair[0]) + "\\u" + hex(surrogatePair[1]);
-    }
-
-    private String hex(int codepoint) {
-        return Integer.toHexString(codepoint)
-                .toUpperCase(Locale.ROOT);
+    private void appendEscape(int value, StringBuilder out) {
+        out.append("\\u");
+        out.append(HEX_DIGITS[(value >> 12) & 15]);
+        out.append(HEX_DIGITS[(value >> 8) & 15]);
+        out.append(HEX_DIGITS[(value >> 4) & 15]);
+        out.append(HEX_DIGITS[value & 15]);
     }
 
     public static UnicodeEscaperBuilder builder() {
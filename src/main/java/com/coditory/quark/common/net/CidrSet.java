@@ -0,0 +1,328 @@
+package com.coditory.quark.common.net;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.net.InetAddressValidator.INVALID_INET4_ADDRESS;
+
+/**
+ * Immutable set of ipv4 and ipv6 CIDR blocks, like {@code 10.0.0.0/8} or {@code 2001:db8::/32}.
+ * Blocks are stored in a path compressed binary trie, so lookups take at most one step per address bit
+ * and do not allocate.
+ * <p>
+ * Host bits of a block are ignored: {@code 10.1.2.3/8} is the same block as {@code 10.0.0.0/8}.
+ * Address without a prefix length is a single address block.
+ */
+public final class CidrSet {
+    private static final CidrSet EMPTY = builder().build();
+    private static final int INET4_BITS = 32;
+    private static final int INET6_BITS = 128;
+    private static final ThreadLocal<long[]> INET6_ADDRESS = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static CidrSet empty() {
+        return EMPTY;
+    }
+
+    public static CidrSet of(Collection<String> cidrs) {
+        return builder()
+                .addAll(cidrs)
+                .build();
+    }
+
+    public static CidrSetBuilder builder() {
+        return new CidrSetBuilder();
+    }
+
+    private final String[] cidrs;
+    private final Trie inet4;
+    private final Trie inet6;
+
+    private CidrSet(String[] cidrs, Trie inet4, Trie inet6) {
+        this.cidrs = cidrs;
+        this.inet4 = inet4;
+        this.inet6 = inet6;
+    }
+
+    public int size() {
+        return cidrs.length;
+    }
+
+    public boolean isEmpty() {
+        return cidrs.length == 0;
+    }
+
+    public boolean contains(String address) {
+        checkNotNull(address, "address");
+        return contains(address, 0, address.length());
+    }
+
+    /**
+     * Checks if the address belongs to any block. Invalid addresses are not contained.
+     */
+    public boolean contains(CharSequence source, int start, int end) {
+        return longestPrefixMatchIndex(source, start, end) >= 0;
+    }
+
+    public boolean containsInet4Address(int address) {
+        return inet4.longestPrefixMatch((long) address << INET4_BITS, 0) >= 0;
+    }
+
+    public boolean containsInet6Address(long high, long low) {
+        return inet6.longestPrefixMatch(high, low) >= 0;
+    }
+
+    /**
+     * Returns the most specific block containing the address, in the form it was added to the set.
+     */
+    @Nullable
+    public String longestPrefixMatch(String address) {
+        checkNotNull(address, "address");
+        return longestPrefixMatch(address, 0, address.length());
+    }
+
+    @Nullable
+    public String longestPrefixMatch(CharSequence source, int start, int end) {
+        int index = longestPrefixMatchIndex(source, start, end);
+        return index >= 0 ? cidrs[index] : null;
+    }
+
+    @Nullable
+    public String longestPrefixMatchInet4Address(int address) {
+        int index = inet4.longestPrefixMatch((long) address << INET4_BITS, 0);
+        return index >= 0 ? cidrs[index] : null;
+    }
+
+    @Nullable
+    public String longestPrefixMatchInet6Address(long high, long low) {
+        int index = inet6.longestPrefixMatch(high, low);
+        return index >= 0 ? cidrs[index] : null;
+    }
+
+    private int longestPrefixMatchIndex(CharSequence source, int start, int end) {
+        checkNotNull(source, "source");
+        long inet4Address = InetAddressValidator.parseInet4Address(source, start, end);
+        if (inet4Address != INVALID_INET4_ADDRESS) {
+            return inet4.longestPrefixMatch(inet4Address << INET4_BITS, 0);
+        }
+        long[] inet6Address = INET6_ADDRESS.get();
+        if (!InetAddressValidator.parseInet6Address(source, start, end, inet6Address)) {
+            return -1;
+        }
+        return inet6.longestPrefixMatch(inet6Address[0], inet6Address[1]);
+    }
+
+    @Override
+    public String toString() {
+        return "CidrSet{size=" + cidrs.length + '}';
+    }
+
+    /**
+     * Flattened trie. Keys are 128-bit values kept in two longs, ipv4 keys occupy the highest 32 bits.
+     */
+    private static final class Trie {
+        private final long[] highs;
+        private final long[] lows;
+        private final int[] lengths;
+        private final int[] children;
+        private final int[] entries;
+
+        Trie(MutableNode root) {
+            int size = root.count();
+            this.highs = new long[size];
+            this.lows = new long[size];
+            this.lengths = new int[size];
+            this.children = new int[2 * size];
+            this.entries = new int[size];
+            flatten(root, 0, 1);
+        }
+
+        private int flatten(MutableNode node, int index, int next) {
+            highs[index] = node.high;
+            lows[index] = node.low;
+            lengths[index] = node.length;
+            entries[index] = node.entry;
+            for (int bit = 0; bit < 2; bit++) {
+                MutableNode child = node.children[bit];
+                if (child == null) {
+                    children[2 * index + bit] = -1;
+                } else {
+                    int childIndex = next;
+                    children[2 * index + bit] = childIndex;
+                    next = flatten(child, childIndex, next + 1);
+                }
+            }
+            return next;
+        }
+
+        int longestPrefixMatch(long high, long low) {
+            int result = -1;
+            int node = 0;
+            while (node >= 0) {
+                int length = lengths[node];
+                if (!hasPrefix(high, low, highs[node], lows[node], length)) {
+                    break;
+                }
+                if (entries[node] >= 0) {
+                    result = entries[node];
+                }
+                if (length == INET6_BITS) {
+                    break;
+                }
+                node = children[2 * node + bit(high, low, length)];
+            }
+            return result;
+        }
+    }
+
+    private static final class MutableNode {
+        private final long high;
+        private final long low;
+        private final int length;
+        private final MutableNode[] children = new MutableNode[2];
+        private int entry = -1;
+
+        MutableNode(long high, long low, int length) {
+            this.high = maskHigh(high, length);
+            this.low = maskLow(low, length);
+            this.length = length;
+        }
+
+        int count() {
+            int result = 1;
+            for (MutableNode child : children) {
+                if (child != null) {
+                    result += child.count();
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return false if the block was already present
+         */
+        boolean insert(long high, long low, int length, int entry) {
+            MutableNode node = this;
+            while (true) {
+                if (node.length == length) {
+                    if (node.entry >= 0) {
+                        return false;
+                    }
+                    node.entry = entry;
+                    return true;
+                }
+                int bit = bit(high, low, node.length);
+                MutableNode child = node.children[bit];
+                if (child == null) {
+                    child = new MutableNode(high, low, length);
+                    child.entry = entry;
+                    node.children[bit] = child;
+                    return true;
+                }
+                int common = Math.min(Math.min(commonPrefixLength(high, low, child.high, child.low), child.length), length);
+                if (common == child.length) {
+                    node = child;
+                    continue;
+                }
+                MutableNode split = new MutableNode(high, low, common);
+                split.children[bit(child.high, child.low, common)] = child;
+                node.children[bit] = split;
+                node = split;
+            }
+        }
+    }
+
+    private static int bit(long high, long low, int index) {
+        return index < 64
+                ? (int) (high >>> (63 - index)) & 1
+                : (int) (low >>> (127 - index)) & 1;
+    }
+
+    private static int commonPrefixLength(long high, long low, long otherHigh, long otherLow) {
+        return high != otherHigh
+                ? Long.numberOfLeadingZeros(high ^ otherHigh)
+                : 64 + Long.numberOfLeadingZeros(low ^ otherLow);
+    }
+
+    private static boolean hasPrefix(long high, long low, long prefixHigh, long prefixLow, int length) {
+        return maskHigh(high, length) == prefixHigh && maskLow(low, length) == prefixLow;
+    }
+
+    private static long maskHigh(long value, int length) {
+        if (length >= 64) {
+            return value;
+        }
+        return length == 0 ? 0 : value & (-1L << (64 - length));
+    }
+
+    private static long maskLow(long value, int length) {
+        if (length <= 64) {
+            return 0;
+        }
+        return length == INET6_BITS ? value : value & (-1L << (INET6_BITS - length));
+    }
+
+    public static class CidrSetBuilder {
+        private final List<String> cidrs = new ArrayList<>();
+        private final MutableNode inet4 = new MutableNode(0, 0, 0);
+        private final MutableNode inet6 = new MutableNode(0, 0, 0);
+        private final long[] inet6Address = new long[2];
+
+        private CidrSetBuilder() {
+        }
+
+        /**
+         * @throws IllegalArgumentException if the block is invalid
+         */
+        public CidrSetBuilder add(String cidr) {
+            checkNotNull(cidr, "cidr");
+            int slash = cidr.indexOf('/');
+            int addressEnd = slash < 0 ? cidr.length() : slash;
+            check(cidr.lastIndexOf('%', addressEnd) < 0, "Expected CIDR block without zone id. Got: %s", cidr);
+            long inet4Address = InetAddressValidator.parseInet4Address(cidr, 0, addressEnd);
+            boolean added;
+            if (inet4Address != INVALID_INET4_ADDRESS) {
+                int length = parsePrefixLength(cidr, slash, INET4_BITS);
+                added = inet4.insert(inet4Address << INET4_BITS, 0, length, cidrs.size());
+            } else {
+                boolean valid = InetAddressValidator.parseInet6Address(cidr, 0, addressEnd, inet6Address);
+                check(valid, "Expected CIDR block. Got: %s", cidr);
+                int length = parsePrefixLength(cidr, slash, INET6_BITS);
+                added = inet6.insert(inet6Address[0], inet6Address[1], length, cidrs.size());
+            }
+            if (added) {
+                cidrs.add(cidr);
+            }
+            return this;
+        }
+
+        public CidrSetBuilder addAll(Collection<String> cidrs) {
+            checkNotNull(cidrs, "cidrs");
+            cidrs.forEach(this::add);
+            return this;
+        }
+
+        private static int parsePrefixLength(String cidr, int slash, int maxLength) {
+            if (slash < 0) {
+                return maxLength;
+            }
+            int length = 0;
+            boolean valid = slash + 1 < cidr.length() && cidr.length() - slash <= 4;
+            for (int i = slash + 1; valid && i < cidr.length(); i++) {
+                int digit = cidr.charAt(i) - '0';
+                valid = digit >= 0 && digit <= 9;
+                length = length * 10 + digit;
+            }
+            check(valid && length <= maxLength, "Expected CIDR prefix length in range [0, %d]. Got: %s", maxLength, cidr);
+            return length;
+        }
+
+        public CidrSet build() {
+            return new CidrSet(cidrs.toArray(new String[0]), new Trie(inet4), new Trie(inet6));
+        }
+    }
+}
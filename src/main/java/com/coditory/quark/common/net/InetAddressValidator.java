@@ -1,132 +1,265 @@
 package com.coditory.quark.common.net;
 
-import com.coditory.quark.common.util.Strings;
-import com.coditory.quark.common.util.Integers;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
 
+/**
+ * Validates and parses textual ip addresses in a single pass, without regular expressions and allocations.
+ */
 public final class InetAddressValidator {
     private InetAddressValidator() {
         throw new UnsupportedOperationException("Do not instantiate utility class");
     }
 
-    private static final int MAX_BYTE = 128;
+    public static final long INVALID_INET4_ADDRESS = -1;
+    public static final int INET6_ADDRESS_BYTES = 16;
     private static final int IPV4_MAX_OCTET_VALUE = 255;
-    private static final int MAX_UNSIGNED_SHORT = 0xffff;
-    private static final int BASE_16 = 16;
-    private static final Pattern IPV4_REGEX = Pattern.compile("^(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})$");
+    private static final int IPV4_OCTETS = 4;
+    private static final int IPV4_MAX_OCTET_DIGITS = 3;
+    private static final int IPV6_MAX_PREFIX_LENGTH = 128;
     private static final int IPV6_MAX_HEX_GROUPS = 8;
     private static final int IPV6_MAX_HEX_DIGITS_PER_GROUP = 4;
+    private static final int IPV6_MAX_PREFIX_DIGITS = 3;
 
     public static boolean isValidInetAddress(String inetAddress) {
         return isValidInet4Address(inetAddress) || isValidInet6Address(inetAddress);
     }
 
+    public static boolean isValidInetAddress(CharSequence source, int start, int end) {
+        return parseInet4Address(source, start, end) != INVALID_INET4_ADDRESS
+                || parseInet6Address(source, start, end, null, null, 0);
+    }
+
     public static boolean isValidInet4Address(String inet4Address) {
-        Matcher matcher = IPV4_REGEX.matcher(inet4Address);
-        if (!matcher.matches()) {
-            return false;
-        }
-        for (int j = 0; j < matcher.groupCount(); j++) {
-            String ipSegment = matcher.group(j + 1);
-            if (Strings.isNullOrBlank(ipSegment)) {
-                return false;
+        return parseInet4Address(inet4Address) != INVALID_INET4_ADDRESS;
+    }
+
+    public static boolean isValidInet6Address(String inet6Address) {
+        checkNotNull(inet6Address, "inet6Address");
+        return parseInet6Address(inet6Address, 0, inet6Address.length(), null, null, 0);
+    }
+
+    /**
+     * Parses dotted decimal ipv4 address. Octets with leading zeros are rejected.
+     *
+     * @return address as an unsigned 32-bit number or {@link #INVALID_INET4_ADDRESS}
+     */
+    public static long parseInet4Address(CharSequence source) {
+        checkNotNull(source, "source");
+        return parseInet4Address(source, 0, source.length());
+    }
+
+    public static long parseInet4Address(CharSequence source, int start, int end) {
+        checkNotNull(source, "source");
+        long result = 0;
+        int octets = 0;
+        int position = start;
+        while (true) {
+            int octetStart = position;
+            int value = 0;
+            while (position < end && position - octetStart < IPV4_MAX_OCTET_DIGITS) {
+                int digit = source.charAt(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                position++;
             }
-            if (ipSegment.startsWith("0")) {
-                return false;
+            int digits = position - octetStart;
+            if (digits == 0 || value > IPV4_MAX_OCTET_VALUE || (digits > 1 && source.charAt(octetStart) == '0')) {
+                return INVALID_INET4_ADDRESS;
             }
-            Integer iIpSegment = Integers.parseIntegerOrNull(ipSegment);
-            if (iIpSegment == null || iIpSegment > IPV4_MAX_OCTET_VALUE) {
-                return false;
+            result = (result << 8) | value;
+            octets++;
+            if (octets == IPV4_OCTETS) {
+                return position == end ? result : INVALID_INET4_ADDRESS;
             }
+            if (position >= end || source.charAt(position) != '.') {
+                return INVALID_INET4_ADDRESS;
+            }
+            position++;
         }
-        return true;
     }
 
-    public static boolean isValidInet6Address(String inet6Address) {
-        String[] parts;
-        parts = inet6Address.split("/", -1);
-        if (parts.length > 2) {
+    /**
+     * Parses ipv6 address into two longs: {@code result[0]} holds the high and {@code result[1]} the low 64 bits.
+     * Optional zone id ({@code %eth0}) and prefix length ({@code /64}) are validated but not included in the result.
+     *
+     * @return false if the address is invalid, the result is left unchanged in such case
+     */
+    public static boolean parseInet6Address(CharSequence source, long[] result) {
+        checkNotNull(source, "source");
+        return parseInet6Address(source, 0, source.length(), result);
+    }
+
+    public static boolean parseInet6Address(CharSequence source, int start, int end, long[] result) {
+        checkNotNull(source, "source");
+        checkNotNull(result, "result");
+        check(result.length >= 2, "Expected result array with at least 2 elements");
+        return parseInet6Address(source, start, end, result, null, 0);
+    }
+
+    /**
+     * Parses ipv6 address into 16 bytes in network byte order.
+     *
+     * @return false if the address is invalid, the result is left unchanged in such case
+     * @see #parseInet6Address(CharSequence, long[])
+     */
+    public static boolean parseInet6Address(CharSequence source, byte[] result) {
+        checkNotNull(source, "source");
+        return parseInet6Address(source, 0, source.length(), result, 0);
+    }
+
+    public static boolean parseInet6Address(CharSequence source, int start, int end, byte[] result, int offset) {
+        checkNotNull(source, "source");
+        checkNotNull(result, "result");
+        check(offset >= 0 && result.length - offset >= INET6_ADDRESS_BYTES, "Expected 16 bytes in result array after offset");
+        return parseInet6Address(source, start, end, null, result, offset);
+    }
+
+    private static boolean parseInet6Address(CharSequence source, int start, int end, long[] longs, byte[] bytes, int offset) {
+        int addressEnd = indexOf(source, '/', start, end);
+        if (addressEnd < end && !isValidPrefixLength(source, addressEnd + 1, end)) {
             return false;
         }
-        if (parts.length == 2) {
-            if (parts[1].matches("\\d{1,3}")) {
-                int bits = Integer.parseInt(parts[1]);
-                if (bits < 0 || bits > MAX_BYTE) {
+        int zoneStart = indexOf(source, '%', start, addressEnd);
+        if (zoneStart < addressEnd && !isValidZoneId(source, zoneStart + 1, addressEnd)) {
+            return false;
+        }
+        addressEnd = zoneStart;
+        // groups before and after "::" are shifted into separate 128-bit registers
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int groups = 0;
+        int compressedAt = -1;
+        int position = start;
+        if (position + 1 < addressEnd && source.charAt(position) == ':' && source.charAt(position + 1) == ':') {
+            compressedAt = 0;
+            position += 2;
+        }
+        while (position < addressEnd) {
+            int groupStart = position;
+            int value = 0;
+            boolean inet4 = false;
+            while (position < addressEnd) {
+                char c = source.charAt(position);
+                if (c == ':') {
+                    break;
+                }
+                int digit = Character.digit(c, 16);
+                if (c == '.') {
+                    inet4 = true;
+                } else if (digit < 0 || c > 'f') {
                     return false;
                 }
-            } else {
+                value = (value << 4) | digit;
+                position++;
+            }
+            int length = position - groupStart;
+            int groupCount = 1;
+            if (inet4) {
+                long inet4Address = position == addressEnd
+                        ? parseInet4Address(source, groupStart, addressEnd)
+                        : INVALID_INET4_ADDRESS;
+                if (inet4Address == INVALID_INET4_ADDRESS) {
+                    return false;
+                }
+                value = (int) inet4Address;
+                groupCount = 2;
+            } else if (length == 0 || length > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
                 return false;
             }
-        }
-        parts = parts[0].split("%", -1);
-        if (parts.length > 2) {
-            return false;
-        } else if (parts.length == 2){
-            if (!parts[1].matches("[^\\s/%]+")) {
+            groups += groupCount;
+            if (groups > IPV6_MAX_HEX_GROUPS) {
                 return false;
             }
+            int shift = 16 * groupCount;
+            long shiftedValue = groupCount == 2 ? value & 0xFFFFFFFFL : value;
+            if (compressedAt < 0) {
+                headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+                headLow = (headLow << shift) | shiftedValue;
+            } else {
+                tailHigh = (tailHigh << shift) | (tailLow >>> (64 - shift));
+                tailLow = (tailLow << shift) | shiftedValue;
+            }
+            if (position == addressEnd) {
+                break;
+            }
+            // position points to a colon
+            position++;
+            if (position == addressEnd) {
+                return false;
+            }
+            if (source.charAt(position) == ':') {
+                if (compressedAt >= 0) {
+                    return false;
+                }
+                compressedAt = groups;
+                position++;
+            }
         }
-        inet6Address = parts[0];
-        boolean containsCompressedZeroes = inet6Address.contains("::");
-        if (containsCompressedZeroes && (inet6Address.indexOf("::") != inet6Address.lastIndexOf("::"))) {
+        if (compressedAt < 0 ? groups != IPV6_MAX_HEX_GROUPS : groups >= IPV6_MAX_HEX_GROUPS) {
             return false;
         }
-        if ((inet6Address.startsWith(":") && !inet6Address.startsWith("::"))
-                || (inet6Address.endsWith(":") && !inet6Address.endsWith("::"))) {
+        if (longs == null && bytes == null) {
+            return true;
+        }
+        // head groups are moved to the front, the gap is filled with zeros
+        int headShift = compressedAt < 0 ? 0 : IPV6_MAX_HEX_GROUPS - compressedAt;
+        for (int i = 0; i < headShift; i++) {
+            headHigh = (headHigh << 16) | (headLow >>> 48);
+            headLow = headLow << 16;
+        }
+        long high = headHigh | tailHigh;
+        long low = headLow | tailLow;
+        if (longs != null) {
+            longs[0] = high;
+            longs[1] = low;
+        } else {
+            for (int i = 0; i < 8; i++) {
+                bytes[offset + i] = (byte) (high >>> (56 - 8 * i));
+                bytes[offset + 8 + i] = (byte) (low >>> (56 - 8 * i));
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidPrefixLength(CharSequence source, int start, int end) {
+        if (start == end || end - start > IPV6_MAX_PREFIX_DIGITS) {
             return false;
         }
-        String[] octets = inet6Address.split(":");
-        if (containsCompressedZeroes) {
-            List<String> octetList = new ArrayList<>(Arrays.asList(octets));
-            if (inet6Address.endsWith("::")) {
-                octetList.add("");
-            } else if (inet6Address.startsWith("::") && !octetList.isEmpty()) {
-                octetList.remove(0);
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = source.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
             }
-            octets = octetList.toArray(new String[octetList.size()]);
+            value = value * 10 + digit;
         }
-        if (octets.length > IPV6_MAX_HEX_GROUPS) {
+        return value <= IPV6_MAX_PREFIX_LENGTH;
+    }
+
+    private static boolean isValidZoneId(CharSequence source, int start, int end) {
+        if (start == end) {
             return false;
         }
-        int validOctets = 0;
-        int emptyOctets = 0; // consecutive empty chunks
-        for (int index = 0; index < octets.length; index++) {
-            String octet = octets[index];
-            if (octet.length() == 0) {
-                emptyOctets++;
-                if (emptyOctets > 1) {
-                    return false;
-                }
-            } else {
-                emptyOctets = 0;
-                if (index == octets.length - 1 && octet.contains(".")) {
-                    if (!isValidInet4Address(octet)) {
-                        return false;
-                    }
-                    validOctets += 2;
-                    continue;
-                }
-                if (octet.length() > IPV6_MAX_HEX_DIGITS_PER_GROUP) {
-                    return false;
-                }
-                int octetInt = 0;
-                try {
-                    octetInt = Integer.parseInt(octet, BASE_16);
-                } catch (NumberFormatException e) {
-                    return false;
-                }
-                if (octetInt < 0 || octetInt > MAX_UNSIGNED_SHORT) {
-                    return false;
-                }
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '%' || c == '/' || c == ' ' || (c >= '\t' && c <= '\r')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence source, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (source.charAt(i) == c) {
+                return i;
             }
-            validOctets++;
         }
-        return validOctets <= IPV6_MAX_HEX_GROUPS
-                && (validOctets >= IPV6_MAX_HEX_GROUPS || containsCompressedZeroes);
+        return end;
     }
 }
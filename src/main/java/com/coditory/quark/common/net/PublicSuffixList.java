@@ -0,0 +1,347 @@
+package com.coditory.quark.common.net;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.IDN;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.coditory.quark.common.check.Args.checkNotBlank;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Resolves public suffixes and registrable domains (eTLD+1) using rules
+ * in the <a href="https://publicsuffix.org/list/">public suffix list</a> format.
+ * <p>
+ * Rules are kept in a trie of reversed labels. Hosts are resolved in a single pass over
+ * their labels, from right to left, without splitting. Each rule is registered in unicode
+ * and punycode form, so both kinds of hosts are resolved and the result keeps the form of the host.
+ */
+public final class PublicSuffixList {
+    public static final String DEFAULT_RESOURCE = "public_suffix_list.dat";
+    private static final String PRIVATE_DOMAINS_MARKER = "===BEGIN PRIVATE DOMAINS===";
+
+    /**
+     * Loads {@value #DEFAULT_RESOURCE} from the classpath.
+     */
+    public static PublicSuffixList fromClasspath() {
+        return fromClasspath(DEFAULT_RESOURCE);
+    }
+
+    public static PublicSuffixList fromClasspath(String resource) {
+        return fromClasspath(resource, true);
+    }
+
+    public static PublicSuffixList fromClasspath(String resource, boolean includePrivateDomains) {
+        checkNotBlank(resource, "resource");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try (InputStream stream = classLoader.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Could not find classpath resource: " + resource);
+            }
+            return parse(new BufferedReader(new InputStreamReader(stream, UTF_8)), includePrivateDomains);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read classpath resource: " + resource, e);
+        }
+    }
+
+    public static PublicSuffixList fromFile(Path file) {
+        return fromFile(file, true);
+    }
+
+    public static PublicSuffixList fromFile(Path file, boolean includePrivateDomains) {
+        checkNotNull(file, "file");
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            return parse(reader, includePrivateDomains);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read file: " + file, e);
+        }
+    }
+
+    public static PublicSuffixList parse(String rules) {
+        checkNotNull(rules, "rules");
+        try {
+            return parse(new BufferedReader(new StringReader(rules)), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not parse public suffix rules", e);
+        }
+    }
+
+    private static PublicSuffixList parse(BufferedReader reader, boolean includePrivateDomains) throws IOException {
+        MutableNode root = new MutableNode();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.startsWith("//")) {
+                if (!includePrivateDomains && line.contains(PRIVATE_DOMAINS_MARKER)) {
+                    break;
+                }
+                continue;
+            }
+            if (line.isEmpty()) {
+                continue;
+            }
+            int ruleEnd = 0;
+            while (ruleEnd < line.length() && !Character.isWhitespace(line.charAt(ruleEnd))) {
+                ruleEnd++;
+            }
+            String rule = line.substring(0, ruleEnd);
+            root.addRule(rule);
+            String asciiRule = toAscii(rule);
+            if (asciiRule != null && !asciiRule.equals(rule)) {
+                root.addRule(asciiRule);
+            }
+        }
+        return new PublicSuffixList(root.build());
+    }
+
+    @Nullable
+    private static String toAscii(String rule) {
+        try {
+            return IDN.toASCII(rule, IDN.ALLOW_UNASSIGNED);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private final Node root;
+
+    private PublicSuffixList(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns public suffix of the host, like {@code co.uk} for {@code www.example.co.uk}.
+     * Hosts with no matching rule get their last label as the public suffix.
+     * Result is lower cased and uses dots as label separators.
+     *
+     * @return normalized public suffix or null for ip addresses and hosts with empty labels
+     */
+    @Nullable
+    public String getPublicSuffix(String host) {
+        checkNotNull(host, "host");
+        int end = hostEnd(host);
+        int start = publicSuffixStart(host, end);
+        return start >= 0 ? normalize(host, start, end) : null;
+    }
+
+    /**
+     * Returns registrable domain (eTLD+1) of the host, like {@code example.co.uk} for {@code www.example.co.uk}.
+     *
+     * @return normalized registrable domain or null if the host is a public suffix, an ip address or has empty labels
+     */
+    @Nullable
+    public String getRegistrableDomain(String host) {
+        checkNotNull(host, "host");
+        int end = hostEnd(host);
+        int suffixStart = publicSuffixStart(host, end);
+        if (suffixStart <= 0) {
+            return null;
+        }
+        int start = labelStart(host, suffixStart - 1);
+        return start < suffixStart - 1
+                ? normalize(host, start, end)
+                : null;
+    }
+
+    public boolean isPublicSuffix(String host) {
+        checkNotNull(host, "host");
+        return publicSuffixStart(host, hostEnd(host)) == 0;
+    }
+
+    public boolean hasPublicSuffix(String host) {
+        checkNotNull(host, "host");
+        int end = hostEnd(host);
+        return end > 0 && matchRules(host, end) >= 0;
+    }
+
+    private static int hostEnd(String host) {
+        int end = host.length();
+        return end > 0 && isLabelSeparator(host.charAt(end - 1))
+                ? end - 1
+                : end;
+    }
+
+    private int publicSuffixStart(String host, int end) {
+        if (end == 0 || host.charAt(0) == '[' || InetAddressValidator.isValidInetAddress(host, 0, end)) {
+            return -1;
+        }
+        int start = matchRules(host, end);
+        if (start == -2) {
+            return -1;
+        }
+        // the default rule: unlisted top level domain is a public suffix
+        return start >= 0 ? start : labelStart(host, end);
+    }
+
+    /**
+     * @return start of the public suffix, -1 if no rule matches or -2 if the host has an empty label
+     */
+    private int matchRules(String host, int end) {
+        Node node = root;
+        int result = -1;
+        int labelEnd = end;
+        int previousLabelStart = end;
+        while (labelEnd >= 0) {
+            int labelStart = labelStart(host, labelEnd);
+            if (labelStart == labelEnd) {
+                return -2;
+            }
+            if (node.wildcard) {
+                result = labelStart;
+            }
+            Node child = node.findChild(host, labelStart, labelEnd);
+            if (child == null) {
+                break;
+            }
+            if (child.exception) {
+                return previousLabelStart;
+            }
+            if (child.rule) {
+                result = labelStart;
+            }
+            node = child;
+            previousLabelStart = labelStart;
+            labelEnd = labelStart - 1;
+        }
+        return result;
+    }
+
+    private static int labelStart(String host, int labelEnd) {
+        int position = labelEnd;
+        while (position > 0 && !isLabelSeparator(host.charAt(position - 1))) {
+            position--;
+        }
+        return position;
+    }
+
+    private static boolean isLabelSeparator(char c) {
+        // full stops that are label separators in IDNA
+        return c == '.' || c == '\u3002' || c == '\uFF0E' || c == '\uFF61';
+    }
+
+    private static char lowerCase(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static String normalize(String host, int start, int end) {
+        StringBuilder builder = null;
+        for (int i = start; i < end; i++) {
+            char c = host.charAt(i);
+            char lower = isLabelSeparator(c) ? '.' : lowerCase(c);
+            if (builder == null && lower != c) {
+                builder = new StringBuilder(end - start);
+                builder.append(host, start, i);
+            }
+            if (builder != null) {
+                builder.append(lower);
+            }
+        }
+        return builder != null
+                ? builder.toString()
+                : host.substring(start, end);
+    }
+
+    private static final class Node {
+        private final String[] keys;
+        private final Node[] children;
+        private final int mask;
+        private final boolean rule;
+        private final boolean wildcard;
+        private final boolean exception;
+
+        Node(Map<String, Node> children, boolean rule, boolean wildcard, boolean exception) {
+            this.rule = rule;
+            this.wildcard = wildcard;
+            this.exception = exception;
+            // open addressing table, at most half full
+            int capacity = children.isEmpty()
+                    ? 0
+                    : Integer.highestOneBit(children.size() * 2 - 1) << 1;
+            this.mask = capacity - 1;
+            this.keys = new String[capacity];
+            this.children = new Node[capacity];
+            children.forEach((key, child) -> {
+                int slot = slot(key.hashCode());
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                this.children[slot] = child;
+            });
+        }
+
+        @Nullable
+        Node findChild(String host, int start, int end) {
+            if (keys.length == 0) {
+                return null;
+            }
+            // same hash as String.hashCode of the lower cased label
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + lowerCase(host.charAt(i));
+            }
+            int length = end - start;
+            int slot = slot(hash);
+            String key;
+            while ((key = keys[slot]) != null) {
+                if (key.length() == length && key.regionMatches(true, 0, host, start, length)) {
+                    return children[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private int slot(int hash) {
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    private static final class MutableNode {
+        private final Map<String, MutableNode> children = new HashMap<>();
+        private boolean rule;
+        private boolean wildcard;
+        private boolean exception;
+
+        void addRule(String rule) {
+            boolean exception = rule.startsWith("!");
+            String labels = exception ? rule.substring(1) : rule;
+            MutableNode node = this;
+            int labelEnd = labels.length();
+            while (labelEnd > 0) {
+                int labelStart = labelStart(labels, labelEnd);
+                String label = normalize(labels, labelStart, labelEnd);
+                if (label.equals("*") && labelStart == 0) {
+                    node.wildcard = true;
+                    return;
+                }
+                node = node.children.computeIfAbsent(label, k -> new MutableNode());
+                labelEnd = labelStart - 1;
+            }
+            if (exception) {
+                node.exception = true;
+            } else {
+                node.rule = true;
+            }
+        }
+
+        Node build() {
+            Map<String, Node> result = new HashMap<>();
+            children.forEach((key, child) -> result.put(key, child.build()));
+            return new Node(result, rule, wildcard, exception);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.coditory.quark.common.uri;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Results of {@link BulkUriParser} in the order of the parsed uris.
+ */
+public final class BulkUriParseResult {
+    private final List<String> uris;
+    private final UriParseStatus[] statuses;
+    private final UriComponents[] components;
+
+    BulkUriParseResult(List<String> uris) {
+        this.uris = uris;
+        this.statuses = new UriParseStatus[uris.size()];
+        this.components = new UriComponents[uris.size()];
+    }
+
+    void set(int index, UriParseStatus status, @Nullable UriComponents components) {
+        this.statuses[index] = status;
+        this.components[index] = components;
+    }
+
+    public int size() {
+        return statuses.length;
+    }
+
+    public String getUri(int index) {
+        checkIndex(index);
+        return uris.get(index);
+    }
+
+    public UriParseStatus getStatus(int index) {
+        checkIndex(index);
+        return statuses[index];
+    }
+
+    public boolean isValid(int index) {
+        return getStatus(index).isValid();
+    }
+
+    /**
+     * @return parsed uri or null if the uri is invalid
+     */
+    @Nullable
+    public UriComponents getUriComponents(int index) {
+        checkIndex(index);
+        return components[index];
+    }
+
+    public int countValid() {
+        return count(UriParseStatus.VALID);
+    }
+
+    public int count(UriParseStatus status) {
+        checkNotNull(status, "status");
+        int count = 0;
+        for (UriParseStatus s : statuses) {
+            if (s == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void checkIndex(int index) {
+        check(index >= 0 && index < statuses.length, "Expected index in range [0, %d). Got: %d", statuses.length, index);
+    }
+}
@@ -0,0 +1,220 @@
+package com.coditory.quark.common.uri;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.check.Args.checkPositive;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses large batches of uris in parallel on a fork-join pool, with the same rules as
+ * {@link UriComponents#parseUri(String)}. Invalid uris are reported with {@link UriParseStatus}
+ * codes instead of exceptions, so dirty input does not slow the parsing down.
+ * <p>
+ * Each worker thread reuses its own parser state between uris and batches.
+ */
+public final class BulkUriParser {
+    private static final BulkUriParser INSTANCE = builder().build();
+    private static final ThreadLocal<Worker> WORKER = ThreadLocal.withInitial(Worker::new);
+
+    public static BulkUriParser getInstance() {
+        return INSTANCE;
+    }
+
+    public static BulkUriParserBuilder builder() {
+        return new BulkUriParserBuilder();
+    }
+
+    private final ForkJoinPool pool;
+    private final int taskSize;
+    private final int chunkSize;
+
+    private BulkUriParser(ForkJoinPool pool, int taskSize, int chunkSize) {
+        this.pool = pool;
+        this.taskSize = taskSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param uris uris to parse, null elements are reported as {@link UriParseStatus#MALFORMED}
+     */
+    public BulkUriParseResult parse(List<String> uris) {
+        checkNotNull(uris, "uris");
+        ParseTask task = createTask(uris);
+        pool.invoke(task);
+        return task.getResult();
+    }
+
+    /**
+     * Parses uris from the lines of UTF-8 encoded input. Lines are parsed in chunks and the results
+     * are passed to the consumer on the calling thread, in the order of the input.
+     * Next chunk is read and parsed while the consumer handles the previous one.
+     * Input is not closed.
+     */
+    public void parse(InputStream input, Consumer<BulkUriParseResult> consumer) {
+        checkNotNull(input, "input");
+        checkNotNull(consumer, "consumer");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8));
+        ParseTask pending = null;
+        try {
+            List<String> lines = readLines(reader);
+            while (!lines.isEmpty()) {
+                ParseTask task = createTask(lines);
+                pool.execute(task);
+                if (pending != null) {
+                    ParseTask completed = pending;
+                    pending = task;
+                    completed.join();
+                    consumer.accept(completed.getResult());
+                } else {
+                    pending = task;
+                }
+                lines = readLines(reader);
+            }
+            if (pending != null) {
+                ParseTask completed = pending;
+                pending = null;
+                completed.join();
+                consumer.accept(completed.getResult());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read uris", e);
+        } finally {
+            // consumer or reader failed, parsing the next chunk is not needed
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+    }
+
+    private List<String> readLines(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>(chunkSize);
+        String line;
+        while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private ParseTask createTask(List<String> uris) {
+        List<String> source = uris instanceof RandomAccess
+                ? uris
+                : new ArrayList<>(uris);
+        BulkUriParseResult result = new BulkUriParseResult(source);
+        return new ParseTask(source, result, 0, source.size(), taskSize);
+    }
+
+    private static final class ParseTask extends RecursiveAction {
+        private final List<String> uris;
+        private final BulkUriParseResult result;
+        private final int start;
+        private final int end;
+        private final int taskSize;
+
+        ParseTask(List<String> uris, BulkUriParseResult result, int start, int end, int taskSize) {
+            this.uris = uris;
+            this.result = result;
+            this.start = start;
+            this.end = end;
+            this.taskSize = taskSize;
+        }
+
+        BulkUriParseResult getResult() {
+            return result;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= taskSize) {
+                Worker worker = WORKER.get();
+                for (int i = start; i < end; i++) {
+                    worker.parse(uris.get(i), i, result);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(
+                    new ParseTask(uris, result, start, middle, taskSize),
+                    new ParseTask(uris, result, middle, end, taskSize)
+            );
+        }
+    }
+
+    /**
+     * Parser state reused by a single thread.
+     */
+    private static final class Worker {
+        private final UriRanges ranges = new UriRanges();
+        private final List<String> segments = new ArrayList<>();
+
+        UriParseStatus validate(@Nullable String uri) {
+            if (uri == null || !ranges.rescan(uri)) {
+                return UriParseStatus.MALFORMED;
+            }
+            return UriComponentsParser.validate(uri, ranges);
+        }
+
+        void parse(@Nullable String uri, int index, BulkUriParseResult result) {
+            UriParseStatus status = validate(uri);
+            if (!status.isValid()) {
+                result.set(index, status, null);
+                return;
+            }
+            UriComponents components;
+            try {
+                components = UriComponentsParser.parseValidated(uri, ranges, segments);
+            } catch (RuntimeException e) {
+                // rare case of encoded components rejected after decoding
+                result.set(index, UriParseStatus.INVALID_URI, null);
+                return;
+            }
+            result.set(index, UriParseStatus.VALID, components);
+        }
+    }
+
+    public static class BulkUriParserBuilder {
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+        private int taskSize = 1024;
+        private int chunkSize = 64 * 1024;
+
+        private BulkUriParserBuilder() {
+        }
+
+        public BulkUriParserBuilder pool(ForkJoinPool pool) {
+            this.pool = checkNotNull(pool, "pool");
+            return this;
+        }
+
+        /**
+         * Maximal number of uris parsed by a single fork-join task.
+         */
+        public BulkUriParserBuilder taskSize(int taskSize) {
+            this.taskSize = checkPositive(taskSize, "taskSize");
+            return this;
+        }
+
+        /**
+         * Number of lines read from the input stream and passed to the consumer at once.
+         */
+        public BulkUriParserBuilder chunkSize(int chunkSize) {
+            this.chunkSize = checkPositive(chunkSize, "chunkSize");
+            return this;
+        }
+
+        public BulkUriParser build() {
+            return new BulkUriParser(pool, taskSize, chunkSize);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.coditory.quark.common.uri;
+
+public final class InvalidUriTemplateException extends RuntimeException {
+    public InvalidUriTemplateException(String message) {
+        super(message);
+    }
+
+    public InvalidUriTemplateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
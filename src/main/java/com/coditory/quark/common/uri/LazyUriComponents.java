@@ -0,0 +1,463 @@
+package com.coditory.quark.common.uri;
+
+import com.coditory.quark.common.net.Ports;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.uri.UriPartValidator.checkHost;
+import static com.coditory.quark.common.uri.UriPartValidator.checkPort;
+import static com.coditory.quark.common.uri.UriPartValidator.checkScheme;
+import static com.coditory.quark.common.uri.UriRanges.QUERY_PARAM_RANGE_SIZE;
+import static com.coditory.quark.common.uri.UriRfc.FRAGMENT;
+import static com.coditory.quark.common.uri.UriRfc.HOST;
+import static com.coditory.quark.common.uri.UriRfc.PATH_SEGMENT;
+import static com.coditory.quark.common.uri.UriRfc.PORT;
+import static com.coditory.quark.common.uri.UriRfc.QUERY;
+import static com.coditory.quark.common.uri.UriRfc.QUERY_PARAM;
+import static com.coditory.quark.common.uri.UriRfc.SCHEME;
+import static com.coditory.quark.common.uri.UriRfc.SCHEME_SPECIFIC_PART;
+import static com.coditory.quark.common.uri.UriRfc.USER_INFO;
+import static com.coditory.quark.common.util.Strings.emptyToNull;
+import static com.coditory.quark.common.util.Strings.isNotBlank;
+import static com.coditory.quark.common.util.Strings.lowerCase;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Uri that keeps the source string and offsets of its components.
+ * Uri is validated during parsing, the same way as in {@link UriComponents#parseUri(String)},
+ * but components are decoded on first access and memoized.
+ * Instances are thread safe, a component may be decoded more than once under contention.
+ */
+public final class LazyUriComponents {
+    private static final String NOT_DECODED = new String("");
+
+    public static LazyUriComponents parseUri(String uri) {
+        checkNotNull(uri, "uri");
+        UriRanges ranges = UriRanges.scan(uri);
+        if (ranges == null) {
+            throw new InvalidUriException("Could not parse uri: \"" + uri + "\"");
+        }
+        try {
+            return new LazyUriComponents(uri, ranges);
+        } catch (InvalidUriException e) {
+            throw new InvalidUriException("Could not parse uri: \"" + uri + "\". Cause: " + e.getMessage());
+        } catch (RuntimeException e) {
+            throw new InvalidUriException("Could not parse uri: \"" + uri + "\"");
+        }
+    }
+
+    @Nullable
+    public static LazyUriComponents parseUriOrNull(String uri) {
+        checkNotNull(uri, "uri");
+        UriRanges ranges = UriRanges.scan(uri);
+        if (ranges == null) {
+            return null;
+        }
+        try {
+            return new LazyUriComponents(uri, ranges);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private final String uri;
+    private final UriRanges ranges;
+    // uris with encoded characters in scheme, port or scheme specific part are decoded eagerly
+    private final UriComponents eager;
+    private final String scheme;
+    private final String host;
+    private final int port;
+    private final boolean protocolRelative;
+    private final boolean rootPath;
+    private final int[] queryParamRanges;
+    private final String[] queryParamValues;
+    private String userInfo = NOT_DECODED;
+    private String ssp = NOT_DECODED;
+    private String fragment = NOT_DECODED;
+    private volatile List<String> pathSegments;
+    private volatile Map<String, List<String>> queryParams;
+    private volatile UriComponents components;
+
+    private LazyUriComponents(String uri, UriRanges ranges) {
+        this.uri = uri;
+        this.ranges = ranges;
+        if (isEagerlyDecoded(uri, ranges)) {
+            this.eager = UriComponentsParser.parseUri(uri, ranges).build();
+            this.components = eager;
+            this.scheme = eager.getScheme();
+            this.host = eager.getHost();
+            this.port = eager.getPort();
+            this.protocolRelative = eager.isProtocolRelative();
+            this.rootPath = eager.isRootPath();
+            this.queryParamRanges = new int[0];
+            this.queryParamValues = new String[0];
+            return;
+        }
+        this.eager = null;
+        if (ranges.hasScheme()) {
+            SCHEME.checkValidEncoded(uri, 0, ranges.schemeEnd);
+            this.scheme = lowerCase(uri.substring(0, ranges.schemeEnd));
+            this.protocolRelative = false;
+        } else {
+            this.scheme = null;
+            this.protocolRelative = uri.startsWith("//");
+        }
+        if (ranges.opaque) {
+            SCHEME_SPECIFIC_PART.checkValidEncoded(uri, ranges.sspStart, ranges.sspEnd);
+            checkFragment(uri, ranges);
+            this.host = null;
+            this.port = -1;
+            this.rootPath = false;
+            this.queryParamRanges = new int[0];
+            this.queryParamValues = new String[0];
+            return;
+        }
+        if (ranges.userInfoStart >= 0) {
+            USER_INFO.checkValidEncoded(uri, ranges.userInfoStart, ranges.userInfoEnd);
+        }
+        this.host = ranges.hasAuthority()
+                ? parseHost(uri, ranges)
+                : null;
+        this.port = ranges.portStart >= 0
+                ? parsePort(uri, ranges)
+                : -1;
+        checkPathSegments(uri, ranges);
+        this.rootPath = host != null || (ranges.pathEnd > ranges.pathStart && uri.charAt(ranges.pathStart) == '/');
+        this.queryParamRanges = ranges.queryStart >= 0
+                ? parseQueryParamRanges(uri, ranges)
+                : new int[0];
+        this.queryParamValues = new String[queryParamRanges.length / 2];
+        checkFragment(uri, ranges);
+        if (host == null) {
+            if (ranges.userInfoEnd > ranges.userInfoStart) {
+                throw new InvalidUriException("URI with user info must include host");
+            }
+            if (port >= 0) {
+                throw new InvalidUriException("URI with port must include host");
+            }
+        }
+        if (scheme != null) {
+            checkScheme(scheme);
+        }
+        if (host != null) {
+            checkHost(host);
+        }
+        if (port >= 0) {
+            checkPort(port);
+        }
+    }
+
+    private static boolean isEagerlyDecoded(String uri, UriRanges ranges) {
+        return (ranges.hasScheme() && uri.lastIndexOf('%', ranges.schemeEnd - 1) >= 0)
+                || (ranges.opaque && (ranges.sspStart == ranges.sspEnd || containsPercent(uri, ranges.sspStart, ranges.sspEnd)))
+                || (ranges.portStart >= 0 && containsPercent(uri, ranges.portStart, ranges.portEnd));
+    }
+
+    private static String parseHost(String uri, UriRanges ranges) {
+        String decoded = HOST.validateAndDecode(uri, ranges.hostStart, ranges.hostEnd);
+        return isNotBlank(decoded)
+                ? lowerCase(decoded)
+                : null;
+    }
+
+    private static int parsePort(String uri, UriRanges ranges) {
+        PORT.checkValidEncoded(uri, ranges.portStart, ranges.portEnd);
+        int port = Integer.parseInt(uri, ranges.portStart, ranges.portEnd, 10);
+        return Ports.checkPortNumberOrSchemeDefault(port);
+    }
+
+    private static void checkPathSegments(String uri, UriRanges ranges) {
+        int segmentStart = ranges.pathStart;
+        for (int i = ranges.pathStart; i <= ranges.pathEnd; i++) {
+            if (i == ranges.pathEnd || uri.charAt(i) == '/') {
+                if (i > segmentStart) {
+                    PATH_SEGMENT.checkValidEncoded(uri, segmentStart, i);
+                }
+                segmentStart = i + 1;
+            }
+        }
+    }
+
+    private static int[] parseQueryParamRanges(String uri, UriRanges ranges) {
+        QUERY.checkValidEncoded(uri, ranges.queryStart, ranges.queryEnd);
+        int[] params = UriRanges.scanQueryParams(uri, ranges.queryStart, ranges.queryEnd);
+        for (int i = 0; i < params.length; i += 2) {
+            QUERY_PARAM.checkValidEncoded(uri, params[i], params[i + 1]);
+        }
+        for (int i = 0; i < params.length; i += QUERY_PARAM_RANGE_SIZE) {
+            if (isEncoded(uri, params[i], params[i + 1])
+                    && !isNotBlank(QUERY_PARAM.validateAndDecode(uri, params[i], params[i + 1]))) {
+                throw new IllegalArgumentException("Expected non blank query param name");
+            }
+        }
+        return params;
+    }
+
+    private static void checkFragment(String uri, UriRanges ranges) {
+        if (ranges.fragmentStart >= 0) {
+            FRAGMENT.checkValidEncoded(uri, ranges.fragmentStart, uri.length());
+        }
+    }
+
+    public boolean isOpaque() {
+        return eager != null
+                ? eager.isOpaque()
+                : ranges.opaque;
+    }
+
+    @Nullable
+    public String getSchemeSpecificPart() {
+        if (eager != null) {
+            return eager.getSchemeSpecificPart();
+        }
+        String value = ssp;
+        if (value == NOT_DECODED) {
+            value = ranges.opaque
+                    ? SCHEME_SPECIFIC_PART.validateAndDecode(uri, ranges.sspStart, ranges.sspEnd)
+                    : null;
+            ssp = value;
+        }
+        return value;
+    }
+
+    @Nullable
+    public String getScheme() {
+        return scheme;
+    }
+
+    @Nullable
+    public String getUserInfo() {
+        if (eager != null) {
+            return eager.getUserInfo();
+        }
+        String value = userInfo;
+        if (value == NOT_DECODED) {
+            value = ranges.userInfoStart >= 0 && !ranges.opaque
+                    ? emptyToNull(USER_INFO.validateAndDecode(uri, ranges.userInfoStart, ranges.userInfoEnd))
+                    : null;
+            userInfo = value;
+        }
+        return value;
+    }
+
+    @Nullable
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public boolean isRootPath() {
+        return rootPath;
+    }
+
+    public boolean isProtocolRelative() {
+        return protocolRelative;
+    }
+
+    public List<String> getPathSegments() {
+        if (eager != null) {
+            return eager.getPathSegments();
+        }
+        List<String> segments = pathSegments;
+        if (segments == null) {
+            segments = decodePathSegments();
+            pathSegments = segments;
+        }
+        return segments;
+    }
+
+    private List<String> decodePathSegments() {
+        if (ranges.opaque) {
+            return List.of();
+        }
+        List<String> segments = new ArrayList<>();
+        int segmentStart = ranges.pathStart;
+        for (int i = ranges.pathStart; i <= ranges.pathEnd; i++) {
+            if (i == ranges.pathEnd || uri.charAt(i) == '/') {
+                if (i > segmentStart) {
+                    segments.add(PATH_SEGMENT.validateAndDecode(uri, segmentStart, i));
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return Collections.unmodifiableList(segments);
+    }
+
+    @Nullable
+    public String getPath() {
+        List<String> segments = getPathSegments();
+        if (segments.isEmpty()) {
+            return null;
+        }
+        String path = segments.stream()
+                .map(PATH_SEGMENT::encode)
+                .collect(joining("/"));
+        String prefix = rootPath ? "/" : "";
+        return prefix + path;
+    }
+
+    /**
+     * @return first value of the query param or null if there is no such param
+     */
+    @Nullable
+    public String getQueryParam(String name) {
+        checkNotNull(name, "name");
+        if (eager != null) {
+            List<String> values = eager.getQueryParams().get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+        for (int i = 0; i < queryParamRanges.length; i += QUERY_PARAM_RANGE_SIZE) {
+            if (queryParamNameEquals(i, name)) {
+                return queryParamValue(i);
+            }
+        }
+        return null;
+    }
+
+    public List<String> getQueryParamValues(String name) {
+        checkNotNull(name, "name");
+        if (eager != null) {
+            List<String> values = eager.getQueryParams().get(name);
+            return values == null ? List.of() : values;
+        }
+        List<String> values = null;
+        for (int i = 0; i < queryParamRanges.length; i += QUERY_PARAM_RANGE_SIZE) {
+            if (queryParamNameEquals(i, name)) {
+                if (values == null) {
+                    values = new ArrayList<>(2);
+                }
+                values.add(queryParamValue(i));
+            }
+        }
+        return values == null ? List.of() : Collections.unmodifiableList(values);
+    }
+
+    public Map<String, List<String>> getQueryParams() {
+        if (eager != null) {
+            return eager.getQueryParams();
+        }
+        Map<String, List<String>> params = queryParams;
+        if (params == null) {
+            params = decodeQueryParams();
+            queryParams = params;
+        }
+        return params;
+    }
+
+    private Map<String, List<String>> decodeQueryParams() {
+        if (queryParamRanges.length == 0) {
+            return Map.of();
+        }
+        Map<String, List<String>> params = new LinkedHashMap<>();
+        for (int i = 0; i < queryParamRanges.length; i += QUERY_PARAM_RANGE_SIZE) {
+            params.computeIfAbsent(queryParamName(i), k -> new ArrayList<>(2))
+                    .add(queryParamValue(i));
+        }
+        params.replaceAll((name, values) -> Collections.unmodifiableList(values));
+        return Collections.unmodifiableMap(params);
+    }
+
+    private boolean queryParamNameEquals(int index, String name) {
+        int start = queryParamRanges[index];
+        int end = queryParamRanges[index + 1];
+        if (isEncoded(uri, start, end)) {
+            return queryParamName(index).equals(name);
+        }
+        return end - start == name.length() && uri.regionMatches(start, name, 0, name.length());
+    }
+
+    private String queryParamName(int index) {
+        return decodeQueryParamPart(index);
+    }
+
+    private String queryParamValue(int index) {
+        return decodeQueryParamPart(index + 2);
+    }
+
+    private String decodeQueryParamPart(int index) {
+        String value = queryParamValues[index / 2];
+        if (value == null) {
+            value = QUERY_PARAM.validateAndDecode(uri, queryParamRanges[index], queryParamRanges[index + 1]);
+            queryParamValues[index / 2] = value;
+        }
+        return value;
+    }
+
+    @Nullable
+    public String getFragment() {
+        if (eager != null) {
+            return eager.getFragment();
+        }
+        String value = fragment;
+        if (value == NOT_DECODED) {
+            value = ranges.fragmentStart >= 0
+                    ? emptyToNull(FRAGMENT.validateAndDecode(uri, ranges.fragmentStart, uri.length()))
+                    : null;
+            fragment = value;
+        }
+        return value;
+    }
+
+    @Nullable
+    public UriAuthority getUriAuthority() {
+        if (isOpaque()) {
+            return null;
+        }
+        UriAuthority authority = UriAuthority.of(getUserInfo(), host, port);
+        return authority.isEmpty() ? null : authority;
+    }
+
+    public boolean isHttpUrl() {
+        return !isOpaque() && "http".equals(scheme) || "https".equals(scheme);
+    }
+
+    /**
+     * @return fully decoded uri components
+     */
+    public UriComponents toUriComponents() {
+        UriComponents result = components;
+        if (result == null) {
+            result = isOpaque()
+                    ? UriComponents.buildOpaque(scheme, getSchemeSpecificPart(), getFragment())
+                    : UriComponents.buildHierarchical(scheme, getUserInfo(), host, port, protocolRelative, rootPath, getPathSegments(), getQueryParams(), getFragment());
+            components = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the parsed uri, without re-encoding
+     */
+    public String toUriString() {
+        return uri;
+    }
+
+    @Override
+    public String toString() {
+        return uri;
+    }
+
+    private static boolean isEncoded(String uri, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c == '%' || c == '+') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsPercent(String uri, int start, int end) {
+        int index = uri.indexOf('%', start);
+        return index >= 0 && index < end;
+    }
+}
@@ -0,0 +1,65 @@
+package com.coditory.quark.common.uri;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Result of {@link PathRouter#match(String)}. Variables are decoded on access.
+ */
+public final class PathRouteMatch<T> {
+    private final String path;
+    private final String pattern;
+    private final T value;
+    private final String[] variableNames;
+    private final int[] captures;
+
+    PathRouteMatch(String path, String pattern, T value, String[] variableNames, int[] captures) {
+        this.path = path;
+        this.pattern = pattern;
+        this.value = value;
+        this.variableNames = variableNames;
+        this.captures = captures;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    @Nullable
+    public String getVariable(String name) {
+        checkNotNull(name, "name");
+        for (int i = 0; i < variableNames.length; i++) {
+            if (name.equals(variableNames[i])) {
+                return decodeCapture(i);
+            }
+        }
+        return null;
+    }
+
+    public Map<String, String> getVariables() {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < variableNames.length; i++) {
+            if (variableNames[i] != null) {
+                result.put(variableNames[i], decodeCapture(i));
+            }
+        }
+        return result;
+    }
+
+    private String decodeCapture(int index) {
+        return UriRfc.PATH_SEGMENT.validateAndDecode(path, captures[2 * index], captures[2 * index + 1]);
+    }
+
+    @Override
+    public String toString() {
+        return "PathRouteMatch{pattern=" + pattern + ", variables=" + getVariables() + '}';
+    }
+}
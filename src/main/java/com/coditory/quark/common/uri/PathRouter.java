@@ -0,0 +1,302 @@
+package com.coditory.quark.common.uri;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Matches raw request paths against route patterns compiled into a segment trie.
+ * Matching cost depends on the path length, not on the number of routes.
+ * <p>
+ * Pattern segments:
+ * <ul>
+ *     <li>{@code {name}} - matches a single segment and captures it as a variable</li>
+ *     <li>{@code *} - matches a single segment</li>
+ *     <li>{@code **} - matches remaining segments, allowed only as the last segment</li>
+ *     <li>other segments are matched literally, after percent decoding</li>
+ * </ul>
+ * Static segments take precedence over single segment matchers, which take precedence over {@code **}.
+ * Empty segments are skipped, the same way as in {@link UriComponents}.
+ */
+public final class PathRouter<T> {
+    private static final String MULTI_SEGMENT_WILDCARD = "**";
+    private static final String SINGLE_SEGMENT_WILDCARD = "*";
+
+    public static <T> PathRouterBuilder<T> builder() {
+        return new PathRouterBuilder<>();
+    }
+
+    private final Node<T> root;
+    private final int maxCaptures;
+
+    private PathRouter(Node<T> root, int maxCaptures) {
+        this.root = root;
+        this.maxCaptures = maxCaptures;
+    }
+
+    /**
+     * Matches raw, percent encoded path. Query and fragment are ignored.
+     * Captured variables are decoded on access.
+     *
+     * @throws InvalidUriException when a percent encoded segment is malformed
+     */
+    @Nullable
+    public PathRouteMatch<T> match(String path) {
+        checkNotNull(path, "path");
+        int end = pathEnd(path);
+        int[] captures = new int[maxCaptures * 2];
+        Route<T> route = match(root, path, 0, end, captures, 0);
+        return route != null
+                ? new PathRouteMatch<>(path, route.pattern, route.value, route.variableNames, captures)
+                : null;
+    }
+
+    @Nullable
+    public T matchValue(String path) {
+        checkNotNull(path, "path");
+        int end = pathEnd(path);
+        int[] captures = maxCaptures > 0 ? new int[maxCaptures * 2] : null;
+        Route<T> route = match(root, path, 0, end, captures, 0);
+        return route != null ? route.value : null;
+    }
+
+    private static int pathEnd(String path) {
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '?' || c == '#') {
+                return i;
+            }
+        }
+        return path.length();
+    }
+
+    @Nullable
+    private static <T> Route<T> match(Node<T> node, String path, int position, int end, int[] captures, int depth) {
+        while (position < end && path.charAt(position) == '/') {
+            position++;
+        }
+        if (position == end) {
+            return node.route != null
+                    ? node.route
+                    : node.wildcardRoute;
+        }
+        int segmentEnd = position;
+        while (segmentEnd < end && path.charAt(segmentEnd) != '/') {
+            segmentEnd++;
+        }
+        Node<T> child = node.findStaticChild(path, position, segmentEnd);
+        if (child != null) {
+            Route<T> route = match(child, path, segmentEnd, end, captures, depth);
+            if (route != null) {
+                return route;
+            }
+        }
+        if (node.segmentChild != null) {
+            Route<T> route = match(node.segmentChild, path, segmentEnd, end, captures, depth + 1);
+            if (route != null) {
+                captures[2 * depth] = position;
+                captures[2 * depth + 1] = segmentEnd;
+                return route;
+            }
+        }
+        return node.wildcardRoute;
+    }
+
+    private static final class Route<T> {
+        private final String pattern;
+        private final T value;
+        private final String[] variableNames;
+
+        Route(String pattern, T value, String[] variableNames) {
+            this.pattern = pattern;
+            this.value = value;
+            this.variableNames = variableNames;
+        }
+    }
+
+    private static final class Node<T> {
+        private final String[] staticKeys;
+        private final Node<T>[] staticChildren;
+        private final int mask;
+        private final Node<T> segmentChild;
+        private final Route<T> route;
+        private final Route<T> wildcardRoute;
+
+        Node(Map<String, Node<T>> staticChildren, Node<T> segmentChild, Route<T> route, Route<T> wildcardRoute) {
+            this.segmentChild = segmentChild;
+            this.route = route;
+            this.wildcardRoute = wildcardRoute;
+            // open addressing table, at most half full
+            int capacity = staticChildren.isEmpty()
+                    ? 0
+                    : Integer.highestOneBit(staticChildren.size() * 2 - 1) << 1;
+            this.mask = capacity - 1;
+            this.staticKeys = new String[capacity];
+            @SuppressWarnings("unchecked")
+            Node<T>[] children = (Node<T>[]) new Node<?>[capacity];
+            this.staticChildren = children;
+            staticChildren.forEach((key, child) -> {
+                int slot = slot(key.hashCode());
+                while (staticKeys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                staticKeys[slot] = key;
+                this.staticChildren[slot] = child;
+            });
+        }
+
+        @Nullable
+        Node<T> findStaticChild(String path, int start, int end) {
+            if (staticKeys.length == 0) {
+                return null;
+            }
+            // same hash as String.hashCode, computed without extracting the segment
+            int hash = 0;
+            boolean encoded = false;
+            for (int i = start; i < end; i++) {
+                char c = path.charAt(i);
+                encoded |= c == '%';
+                hash = 31 * hash + c;
+            }
+            if (encoded) {
+                String decoded = UriRfc.PATH_SEGMENT.validateAndDecode(path, start, end);
+                return findStaticChild(decoded, decoded.hashCode(), 0, decoded.length());
+            }
+            return findStaticChild(path, hash, start, end);
+        }
+
+        @Nullable
+        private Node<T> findStaticChild(String segment, int hash, int start, int end) {
+            int length = end - start;
+            int slot = slot(hash);
+            String key;
+            while ((key = staticKeys[slot]) != null) {
+                if (key.length() == length && key.regionMatches(0, segment, start, length)) {
+                    return staticChildren[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private int slot(int hash) {
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    public static class PathRouterBuilder<T> {
+        private final MutableNode<T> root = new MutableNode<>();
+        private int maxCaptures = 0;
+
+        private PathRouterBuilder() {
+        }
+
+        public PathRouterBuilder<T> addRoute(String pattern, T value) {
+            checkNotNull(pattern, "pattern");
+            checkNotNull(value, "value");
+            List<String> variableNames = new ArrayList<>();
+            Set<String> uniqueNames = new HashSet<>();
+            MutableNode<T> node = root;
+            String[] segments = pattern.split("/");
+            boolean wildcard = false;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (segment.equals(MULTI_SEGMENT_WILDCARD)) {
+                    check(isLastSegment(segments, i), "Expected '**' as the last segment in route pattern: %s", pattern);
+                    wildcard = true;
+                } else if (segment.equals(SINGLE_SEGMENT_WILDCARD)) {
+                    variableNames.add(null);
+                    node = node.segmentChild();
+                } else if (segment.startsWith("{") && segment.endsWith("}")) {
+                    String name = segment.substring(1, segment.length() - 1);
+                    check(isValidVariableName(name), "Invalid variable name %s in route pattern: %s", segment, pattern);
+                    check(uniqueNames.add(name), "Duplicated variable name %s in route pattern: %s", segment, pattern);
+                    variableNames.add(name);
+                    node = node.segmentChild();
+                } else {
+                    check(segment.indexOf('{') < 0 && segment.indexOf('}') < 0 && segment.indexOf('*') < 0,
+                            "Variables and wildcards must span the whole segment in route pattern: %s", pattern);
+                    String decoded = UriRfc.PATH_SEGMENT.validateAndDecode(segment);
+                    node = node.staticChild(decoded);
+                }
+            }
+            Route<T> route = new Route<>(pattern, value, variableNames.toArray(new String[0]));
+            if (wildcard) {
+                check(node.wildcardRoute == null, "Duplicated route pattern: %s", pattern);
+                node.wildcardRoute = route;
+            } else {
+                check(node.route == null, "Duplicated route pattern: %s", pattern);
+                node.route = route;
+            }
+            maxCaptures = Math.max(maxCaptures, variableNames.size());
+            return this;
+        }
+
+        public PathRouter<T> build() {
+            return new PathRouter<>(root.build(), maxCaptures);
+        }
+
+        private static boolean isLastSegment(String[] segments, int index) {
+            for (int i = index + 1; i < segments.length; i++) {
+                if (!segments[i].isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isValidVariableName(String name) {
+            if (name.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '{' || c == '}' || c == '/' || c == '*') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class MutableNode<T> {
+        private final Map<String, MutableNode<T>> staticChildren = new LinkedHashMap<>();
+        private MutableNode<T> segmentChild;
+        private Route<T> route;
+        private Route<T> wildcardRoute;
+
+        MutableNode<T> staticChild(String segment) {
+            return staticChildren.computeIfAbsent(segment, k -> new MutableNode<>());
+        }
+
+        MutableNode<T> segmentChild() {
+            if (segmentChild == null) {
+                segmentChild = new MutableNode<>();
+            }
+            return segmentChild;
+        }
+
+        Node<T> build() {
+            Map<String, Node<T>> children = new HashMap<>();
+            staticChildren.forEach((key, child) -> children.put(key, child.build()));
+            return new Node<>(
+                    children,
+                    segmentChild != null ? segmentChild.build() : null,
+                    route,
+                    wildcardRoute
+            );
+        }
+    }
+}
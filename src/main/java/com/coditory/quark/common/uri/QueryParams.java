@@ -0,0 +1,181 @@
+package com.coditory.quark.common.uri;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.uri.UriRanges.QUERY_PARAM_RANGE_SIZE;
+
+/**
+ * Immutable query params multimap stored as parallel arrays of names and values in insertion order.
+ * Lookups are linear, which is faster than hashing for the typical number of query params.
+ */
+public final class QueryParams {
+    private static final QueryParams EMPTY = new QueryParams(new String[0], new String[0]);
+
+    public static QueryParams empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Parses and decodes query string, without the leading '?'.
+     * Parameters without a name are skipped.
+     *
+     * @throws InvalidUriException if query is invalid or a decoded parameter name is blank
+     */
+    public static QueryParams parse(String query) {
+        checkNotNull(query, "query");
+        return parse(query, 0, query.length());
+    }
+
+    static QueryParams parse(String source, int start, int end) {
+        UriRfc.QUERY.checkValidEncoded(source, start, end);
+        int[] ranges = UriRanges.scanQueryParams(source, start, end);
+        if (ranges.length == 0) {
+            return EMPTY;
+        }
+        int size = ranges.length / QUERY_PARAM_RANGE_SIZE;
+        String[] names = new String[size];
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            int offset = i * QUERY_PARAM_RANGE_SIZE;
+            names[i] = checkName(UriRfc.QUERY_PARAM.validateAndDecode(source, ranges[offset], ranges[offset + 1]), source, start, end);
+            values[i] = UriRfc.QUERY_PARAM.validateAndDecode(source, ranges[offset + 2], ranges[offset + 3]);
+        }
+        return new QueryParams(names, values);
+    }
+
+    static String checkName(String name, String source, int start, int end) {
+        if (name.trim().isEmpty()) {
+            throw new InvalidUriException("Blank query param name in \"" + source.substring(start, end) + "\"");
+        }
+        return name;
+    }
+
+    private final String[] names;
+    private final String[] values;
+
+    private QueryParams(String[] names, String[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    public String getName(int index) {
+        checkIndex(index);
+        return names[index];
+    }
+
+    public String getValue(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public boolean contains(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    @Nullable
+    public String getFirst(String name) {
+        int index = indexOf(name);
+        return index >= 0 ? values[index] : null;
+    }
+
+    public List<String> getAll(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            return List.of();
+        }
+        List<String> result = null;
+        for (int i = index + 1; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                if (result == null) {
+                    result = new ArrayList<>(2);
+                    result.add(values[index]);
+                }
+                result.add(values[i]);
+            }
+        }
+        return result == null
+                ? List.of(values[index])
+                : Collections.unmodifiableList(result);
+    }
+
+    public void forEach(BiConsumer<String, String> consumer) {
+        checkNotNull(consumer, "consumer");
+        for (int i = 0; i < names.length; i++) {
+            consumer.accept(names[i], values[i]);
+        }
+    }
+
+    /**
+     * @return modifiable map with names in the order of their first occurrence
+     */
+    public Map<String, List<String>> toMap() {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            result.computeIfAbsent(names[i], k -> new ArrayList<>(1))
+                    .add(values[i]);
+        }
+        return result;
+    }
+
+    private int indexOf(String name) {
+        checkNotNull(name, "name");
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void checkIndex(int index) {
+        check(index >= 0 && index < names.length, "Expected index in range [0, %d). Got: %d", names.length, index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QueryParams that = (QueryParams) o;
+        return Arrays.equals(names, that.names)
+                && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("QueryParams{");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(names[i]).append('=').append(values[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
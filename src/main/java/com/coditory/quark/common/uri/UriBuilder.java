@@ -15,7 +15,6 @@ import java.util.Map;
 
 import static com.coditory.quark.common.check.Args.checkNotBlank;
 import static com.coditory.quark.common.check.Args.checkNotNull;
-import static com.coditory.quark.common.uri.UriComponentsParser.parseQuery;
 import static com.coditory.quark.common.uri.UriRfc.PATH_SEGMENT;
 import static com.coditory.quark.common.util.Strings.emptyToNull;
 import static com.coditory.quark.common.util.Strings.isNotBlank;
@@ -246,6 +245,16 @@ public final class UriBuilder {
         return this;
     }
 
+    UriBuilder setParsedPath(boolean absolute, List<String> decodedSegments) {
+        this.pathSegments.clear();
+        this.pathSegments.addAll(decodedSegments);
+        this.rootPath = absolute || this.host != null;
+        if (!decodedSegments.isEmpty()) {
+            resetSchemeSpecificPart();
+        }
+        return this;
+    }
+
     public void setRootPath(boolean rootPath) {
         this.rootPath = rootPath;
         resetSchemeSpecificPart();
@@ -280,7 +289,41 @@ public final class UriBuilder {
 
     public UriBuilder setQuery(String query) {
         checkNotNull(query, "query");
-        setQueryMultiParams(parseQuery(query));
+        setParsedQuery(QueryParams.parse(query));
+        return this;
+    }
+
+    UriBuilder setParsedQuery(QueryParams params) {
+        this.queryParams.clear();
+        List<String> multiValueNames = null;
+        for (int i = 0; i < params.size(); i++) {
+            // names are checked by QueryParams.parse
+            String name = params.getName(i);
+            List<String> values = this.queryParams.get(name);
+            if (values == null) {
+                this.queryParams.put(name, List.of(params.getValue(i)));
+            } else if (values.size() == 1) {
+                // single values are kept in immutable lists, multiple values are collected and copied at the end
+                List<String> multiValues = new ArrayList<>(2);
+                multiValues.add(values.get(0));
+                multiValues.add(params.getValue(i));
+                this.queryParams.put(name, multiValues);
+                if (multiValueNames == null) {
+                    multiValueNames = new ArrayList<>();
+                }
+                multiValueNames.add(name);
+            } else {
+                values.add(params.getValue(i));
+            }
+        }
+        if (multiValueNames != null) {
+            for (String name : multiValueNames) {
+                this.queryParams.put(name, List.copyOf(this.queryParams.get(name)));
+            }
+        }
+        if (!params.isEmpty()) {
+            resetSchemeSpecificPart();
+        }
         return this;
     }
 
@@ -50,6 +50,16 @@ public final class UriComponents {
         }
     }
 
+    /**
+     * Resolves encoded uri reference against encoded absolute base uri, as defined in RFC 3986, section 5.2.
+     * Components are not validated nor decoded.
+     *
+     * @throws InvalidUriException if the base uri has no scheme
+     */
+    public static String resolve(String base, String reference) {
+        return UriResolver.resolve(base, reference);
+    }
+
     public static UriComponents buildOpaque(
             String scheme,
             String ssp,
@@ -224,6 +234,15 @@ public final class UriComponents {
         return UrlValidator.isValidUrl(this);
     }
 
+    /**
+     * Resolves encoded uri reference against this uri.
+     *
+     * @see #resolve(String, String)
+     */
+    public UriComponents resolve(String reference) {
+        return parseUri(UriResolver.resolve(toUriString(), reference));
+    }
+
     public URL toUrl() {
         try {
             return new URL(toUriString());
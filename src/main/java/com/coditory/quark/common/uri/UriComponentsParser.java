@@ -1,46 +1,16 @@
 package com.coditory.quark.common.uri;
 
+import com.coditory.quark.common.net.Ports;
 import com.coditory.quark.common.throwable.Throwables;
 import com.coditory.quark.common.util.Objects;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import static com.coditory.quark.common.util.Objects.mapNotNullOrDefault;
-import static com.coditory.quark.common.util.Strings.isNotEmpty;
 import static com.coditory.quark.common.check.Args.checkNotNull;
 
 class UriComponentsParser {
-    private static final Pattern QUERY_PARAM_PATTERN = Pattern.compile("([^&=]+)(=?)([^&]+)?");
-
-    private static final String SCHEME_PATTERN = "([^:/?#]+):";
-
-    private static final String USERINFO_PATTERN = "([^@\\[/?#]*)";
-
-    private static final String HOST_IPV4_PATTERN = "[^\\[/?#:]*";
-
-    private static final String HOST_IPV6_PATTERN = "\\[[\\p{XDigit}:.]*[%\\p{Alnum}]*]";
-
-    private static final String HOST_PATTERN = "(" + HOST_IPV6_PATTERN + "|" + HOST_IPV4_PATTERN + ")";
-
-    private static final String PORT_PATTERN = "([^/?#]*)";
-
-    private static final String PATH_PATTERN = "([^?#]*)";
-
-    private static final String QUERY_PATTERN = "([^#]*)";
-
-    private static final String LAST_PATTERN = "(.*)";
-
-    // Regex patterns that matches URIs. See RFC 3986, appendix B
-    private static final Pattern URI_PATTERN = Pattern.compile(
-            "^(" + SCHEME_PATTERN + ")?" +
-                    "(//(" + USERINFO_PATTERN + "@)?" + HOST_PATTERN + "(:" + PORT_PATTERN + ")?" + ")?" +
-                    PATH_PATTERN + "(\\?" + QUERY_PATTERN + ")?" + "(#" + LAST_PATTERN + ")?");
-
     public static UriComponents parseHttpUrl(String uri) {
         checkNotNull(uri, "uri");
         try {
@@ -73,12 +43,12 @@ class UriComponentsParser {
 
     public static UriBuilder parseUri(String uri) {
         checkNotNull(uri, "uri");
-        Matcher matcher = URI_PATTERN.matcher(uri);
-        if (!matcher.matches()) {
+        UriRanges ranges = UriRanges.scan(uri);
+        if (ranges == null) {
             throw new InvalidUriException("Could not parse uri: \"" + uri + "\"");
         }
         try {
-            return parseUri(uri, matcher);
+            return parseUri(uri, ranges);
         } catch (InvalidUriException e) {
             throw new InvalidUriException("Could not parse uri: \"" + uri + "\". Cause: " + e.getMessage());
         } catch (RuntimeException e) {
@@ -86,73 +56,209 @@ class UriComponentsParser {
         }
     }
 
+    @Nullable
     public static UriBuilder parseUriOrNull(String uri) {
         checkNotNull(uri, "uri");
-        Matcher matcher = URI_PATTERN.matcher(uri);
-        if (!matcher.matches()) {
+        UriRanges ranges = UriRanges.scan(uri);
+        if (ranges == null) {
             return null;
         }
         try {
-            return parseUri(uri, matcher);
+            return parseUri(uri, ranges);
         } catch (RuntimeException e) {
             return null;
         }
     }
 
-    private static UriBuilder parseUri(String uri, Matcher matcher) {
+    /**
+     * Validates and decodes uri components straight from the source ranges.
+     * Produces the same components as the regex from RFC 3986, appendix B.
+     */
+    static UriBuilder parseUri(String uri, UriRanges ranges) {
+        UriBuilder builder = parseUriBuilder(uri, ranges, new ArrayList<>());
+        builder.validate();
+        return builder;
+    }
+
+    /**
+     * Parses uri that passed {@link #validate(String, UriRanges)}.
+     *
+     * @param segments buffer for the decoded path segments, reused between calls
+     */
+    static UriComponents parseValidated(String uri, UriRanges ranges, List<String> segments) {
+        return parseUriBuilder(uri, ranges, segments)
+                .build();
+    }
+
+    private static UriBuilder parseUriBuilder(String uri, UriRanges ranges, List<String> segments) {
         UriBuilder builder = new UriBuilder();
-        String scheme = matcher.group(2);
-        String userInfo = matcher.group(5);
-        String host = matcher.group(6);
-        String port = matcher.group(8);
-        String path = matcher.group(9);
-        String query = matcher.group(11);
-        String fragment = matcher.group(13);
-        boolean opaque = false;
-        if (isNotEmpty(scheme)) {
-            String rest = uri.substring(scheme.length());
-            if (!rest.startsWith(":/")) {
-                opaque = true;
-            }
-            builder.setScheme(UriRfc.SCHEME.validateAndDecode(scheme));
+        if (ranges.hasScheme()) {
+            builder.setScheme(UriRfc.SCHEME.validateAndDecode(uri, 0, ranges.schemeEnd));
         } else if (uri.startsWith("//")) {
             builder.setProtocolRelative(true);
         }
-        if (opaque) {
-            String ssp = uri.substring(scheme.length()).substring(1);
-            if (isNotEmpty(fragment)) {
-                ssp = ssp.substring(0, ssp.length() - (fragment.length() + 1));
-            }
-            builder.setSchemeSpecificPart(UriRfc.SCHEME_SPECIFIC_PART.validateAndDecode(ssp));
+        if (ranges.opaque) {
+            builder.setSchemeSpecificPart(UriRfc.SCHEME_SPECIFIC_PART.validateAndDecode(uri, ranges.sspStart, ranges.sspEnd));
         } else {
-            Objects.onNotNull(userInfo, it -> builder.setUserInfo(UriRfc.USER_INFO.validateAndDecode(it)));
-            Objects.onNotNull(host, it -> builder.setHost(UriRfc.HOST.validateAndDecode(it)));
-            Objects.onNotNull(port, it -> {
-                String decodedPort = UriRfc.PORT.validateAndDecode(it);
-                builder.setPort(Integer.parseInt(decodedPort));
-            });
-            Objects.onNotNull(path, builder::setPath);
-            Objects.onNotNull(query, q -> builder.setQueryMultiParams(parseQuery(q)));
-        }
-        Objects.onNotNull(fragment, it -> builder.setFragment(UriRfc.FRAGMENT.validateAndDecode(it)));
-        builder.validate();
+            if (ranges.userInfoStart >= 0) {
+                builder.setUserInfo(UriRfc.USER_INFO.validateAndDecode(uri, ranges.userInfoStart, ranges.userInfoEnd));
+            }
+            if (ranges.hasAuthority()) {
+                builder.setHost(UriRfc.HOST.validateAndDecode(uri, ranges.hostStart, ranges.hostEnd));
+            }
+            if (ranges.portStart >= 0) {
+                String port = UriRfc.PORT.validateAndDecode(uri, ranges.portStart, ranges.portEnd);
+                builder.setPort(Integer.parseInt(port));
+            }
+            parsePath(uri, ranges.pathStart, ranges.pathEnd, segments, builder);
+            if (ranges.queryStart >= 0) {
+                builder.setParsedQuery(QueryParams.parse(uri, ranges.queryStart, ranges.queryEnd));
+            }
+        }
+        if (ranges.fragmentStart >= 0) {
+            builder.setFragment(UriRfc.FRAGMENT.validateAndDecode(uri, ranges.fragmentStart, uri.length()));
+        }
         return builder;
     }
 
-    static Map<String, List<String>> parseQuery(String query) {
-        checkNotNull(query, "query");
-        Matcher matcher = QUERY_PARAM_PATTERN.matcher(query);
-        UriRfc.QUERY.checkValidEncoded(query);
-        Map<String, List<String>> result = new HashMap<>();
-        while (matcher.find()) {
-            String name = matcher.group(1);
-            String decodedName = UriRfc.QUERY_PARAM.validateAndDecode(name);
-            String value = matcher.group(3);
-            String normalizedValue = value != null ? value : "";
-            result
-                    .computeIfAbsent(decodedName, k -> new ArrayList<>())
-                    .add(UriRfc.QUERY_PARAM.validateAndDecode(normalizedValue));
-        }
-        return result;
+    private static void parsePath(String uri, int start, int end, List<String> segments, UriBuilder builder) {
+        segments.clear();
+        int segmentStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || uri.charAt(i) == '/') {
+                if (i > segmentStart) {
+                    segments.add(UriRfc.PATH_SEGMENT.validateAndDecode(uri, segmentStart, i));
+                }
+                segmentStart = i + 1;
+            }
+        }
+        builder.setParsedPath(end > start && uri.charAt(start) == '/', segments);
+    }
+
+    /**
+     * Checks the rules of the parser on the source ranges, without decoding and throwing exceptions.
+     * Percent encoded scheme, host and port are only checked for allowed characters,
+     * so the parser may still reject them.
+     */
+    static UriParseStatus validate(String uri, UriRanges ranges) {
+        if (ranges.hasScheme() && !UriRfc.SCHEME.isValidEncoded(uri, 0, ranges.schemeEnd)) {
+            return UriParseStatus.INVALID_SCHEME;
+        }
+        // uri with empty scheme specific part is hierarchical
+        if (ranges.hasScheme()
+                && (!ranges.opaque || ranges.sspStart == ranges.sspEnd)
+                && !UriRfc.SCHEME.isEncoded(uri, 0, ranges.schemeEnd)
+                && !UriPartValidator.isValidScheme(uri, 0, ranges.schemeEnd)) {
+            return UriParseStatus.INVALID_SCHEME;
+        }
+        if (ranges.opaque) {
+            if (!UriRfc.SCHEME_SPECIFIC_PART.isValidEncoded(uri, ranges.sspStart, ranges.sspEnd)) {
+                return UriParseStatus.INVALID_SCHEME_SPECIFIC_PART;
+            }
+        } else {
+            boolean hasHost = ranges.hasAuthority() && ranges.hostEnd > ranges.hostStart;
+            if (ranges.userInfoStart >= 0) {
+                if (!UriRfc.USER_INFO.isValidEncoded(uri, ranges.userInfoStart, ranges.userInfoEnd)
+                        || (!hasHost && ranges.userInfoEnd > ranges.userInfoStart)) {
+                    return UriParseStatus.INVALID_USER_INFO;
+                }
+            }
+            if (hasHost && !isValidHost(uri, ranges.hostStart, ranges.hostEnd)) {
+                return UriParseStatus.INVALID_HOST;
+            }
+            if (ranges.portStart >= 0 && !isValidPort(uri, ranges.portStart, ranges.portEnd, hasHost)) {
+                return UriParseStatus.INVALID_PORT;
+            }
+            if (!isValidPath(uri, ranges.pathStart, ranges.pathEnd)) {
+                return UriParseStatus.INVALID_PATH;
+            }
+            if (ranges.queryStart >= 0 && !isValidQuery(uri, ranges.queryStart, ranges.queryEnd)) {
+                return UriParseStatus.INVALID_QUERY;
+            }
+        }
+        if (ranges.fragmentStart >= 0 && !UriRfc.FRAGMENT.isValidEncoded(uri, ranges.fragmentStart, uri.length())) {
+            return UriParseStatus.INVALID_FRAGMENT;
+        }
+        return UriParseStatus.VALID;
+    }
+
+    private static boolean isValidHost(String uri, int start, int end) {
+        if (!UriRfc.HOST.isValidEncoded(uri, start, end)) {
+            return false;
+        }
+        return UriRfc.HOST.isEncoded(uri, start, end)
+                || UriPartValidator.isValidHost(uri, start, end);
+    }
+
+    private static boolean isValidPort(String uri, int start, int end, boolean hasHost) {
+        if (!UriRfc.PORT.isValidEncoded(uri, start, end)) {
+            return false;
+        }
+        if (UriRfc.PORT.isEncoded(uri, start, end)) {
+            return true;
+        }
+        if (start == end || !hasHost) {
+            return false;
+        }
+        int port = 0;
+        for (int i = start; i < end; i++) {
+            port = port * 10 + (uri.charAt(i) - '0');
+            if (port > Ports.MAX_PORT_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidPath(String uri, int start, int end) {
+        int segmentStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || uri.charAt(i) == '/') {
+                if (!UriRfc.PATH_SEGMENT.isValidEncoded(uri, segmentStart, i)) {
+                    return false;
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidQuery(String uri, int start, int end) {
+        if (!UriRfc.QUERY.isValidEncoded(uri, start, end)) {
+            return false;
+        }
+        // parameter value must not contain '=' and name must not be blank, parameters without a name are skipped
+        boolean emptyName = true;
+        boolean blankName = true;
+        boolean value = false;
+        for (int i = start; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c == '&' || (c == '=' && !value)) {
+                if (!emptyName && blankName && !value) {
+                    return false;
+                }
+                value = c == '=' && !emptyName;
+                if (c == '&') {
+                    emptyName = true;
+                    blankName = true;
+                }
+            } else if (c == '=') {
+                return false;
+            } else if (!value) {
+                emptyName = false;
+                if (c == '%') {
+                    // escapes were validated above, decoded name is blank when it has only whitespace escapes
+                    blankName = blankName && hexValue(uri, i + 1) <= ' ';
+                    i += 2;
+                } else {
+                    blankName = blankName && c == '+';
+                }
+            }
+        }
+        return value || emptyName || !blankName;
+    }
+
+    private static int hexValue(String uri, int index) {
+        return (Character.digit(uri.charAt(index), 16) << 4) | Character.digit(uri.charAt(index + 1), 16);
     }
 }
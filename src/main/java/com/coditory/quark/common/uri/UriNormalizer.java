@@ -0,0 +1,456 @@
+package com.coditory.quark.common.uri;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.coditory.quark.common.check.Args.checkNotNegative;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.uri.UriRanges.QUERY_PARAM_RANGE_SIZE;
+import static com.coditory.quark.common.util.Strings.isNotBlank;
+import static com.coditory.quark.common.util.Strings.lowerCase;
+
+/**
+ * Produces canonical form of a uri in a single pass, following RFC 3986, section 6.2.2 and 6.2.3:
+ * <ul>
+ *     <li>scheme and host are lowercased</li>
+ *     <li>percent encoded triplets use uppercase hex digits, unreserved characters are decoded</li>
+ *     <li>dot segments are removed from absolute paths</li>
+ *     <li>empty path with authority is replaced with "/"</li>
+ *     <li>default port, empty query and empty fragment are removed</li>
+ *     <li>query params are sorted by name (optional), values of the same param keep their order</li>
+ * </ul>
+ * Components are validated with the same rules as in {@link UriComponents#parseUri(String)},
+ * invalid uris are rejected with {@link InvalidUriException}. The only difference are percent encoded schemes,
+ * which are decoded and validated, so some of them accepted by the parser are rejected.
+ */
+public final class UriNormalizer {
+    private static final UriNormalizer INSTANCE = builder().build();
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final Comparator<String> QUERY_PARAM_NAME_COMPARATOR = (a, b) ->
+            compareQueryParamNames(a, 0, a.length(), b, 0, b.length());
+
+    public static UriNormalizer getInstance() {
+        return INSTANCE;
+    }
+
+    public static UriNormalizerBuilder builder() {
+        return new UriNormalizerBuilder();
+    }
+
+    private final boolean removeDefaultPort;
+    private final boolean sortQueryParams;
+    private final boolean removeFragment;
+    private final NormalizedUriCache cache;
+
+    private UriNormalizer(boolean removeDefaultPort, boolean sortQueryParams, boolean removeFragment, int cacheSize) {
+        this.removeDefaultPort = removeDefaultPort;
+        this.sortQueryParams = sortQueryParams;
+        this.removeFragment = removeFragment;
+        this.cache = cacheSize > 0 ? new NormalizedUriCache(cacheSize) : null;
+    }
+
+    public String normalize(String uri) {
+        checkNotNull(uri, "uri");
+        if (cache != null) {
+            return cache.get(uri, this::normalizeUncached);
+        }
+        return normalizeUncached(uri);
+    }
+
+    @Nullable
+    public String normalizeOrNull(String uri) {
+        try {
+            return normalize(uri);
+        } catch (InvalidUriException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns 64-bit hash of the normalized uri. Uris with the same canonical form have the same fingerprint.
+     * Without a cache the canonical form is hashed straight from the buffer, without creating a String.
+     */
+    public long fingerprint(String uri) {
+        checkNotNull(uri, "uri");
+        if (cache != null) {
+            return hash(normalize(uri));
+        }
+        StringBuilder builder = new StringBuilder(uri.length());
+        normalize(uri, builder);
+        return hash(builder);
+    }
+
+    public void normalize(String uri, StringBuilder out) {
+        checkNotNull(uri, "uri");
+        checkNotNull(out, "out");
+        UriRanges ranges = UriRanges.scan(uri);
+        if (ranges == null) {
+            throw new InvalidUriException("Could not parse uri: \"" + uri + "\"");
+        }
+        String scheme = null;
+        if (ranges.hasScheme()) {
+            scheme = lowerCase(UriRfc.SCHEME.validateAndDecode(uri, 0, ranges.schemeEnd));
+            // uri with empty scheme specific part is hierarchical
+            boolean hierarchical = !ranges.opaque || ranges.sspStart == ranges.sspEnd;
+            if (!isNotBlank(scheme) || (hierarchical && !UriPartValidator.isValidScheme(scheme))) {
+                throw new InvalidUriException("Invalid scheme: " + scheme);
+            }
+            appendNormalizedEncoding(uri, 0, ranges.schemeEnd, true, false, out);
+            out.append(':');
+        }
+        if (ranges.opaque) {
+            // empty fragment is kept by the scanner in the scheme specific part
+            int sspEnd = ranges.fragmentStart == uri.length() && ranges.sspEnd - 1 > ranges.sspStart
+                    ? ranges.sspEnd - 1
+                    : ranges.sspEnd;
+            String ssp = UriRfc.SCHEME_SPECIFIC_PART.validateAndDecode(uri, ranges.sspStart, sspEnd);
+            if (!ssp.isEmpty() && !isNotBlank(ssp)) {
+                if (sspEnd == ranges.sspEnd) {
+                    throw new InvalidUriException("Blank scheme specific part in uri: \"" + uri + "\"");
+                }
+                // without the empty fragment parser would reject the blank scheme specific part
+                sspEnd = ranges.sspEnd;
+            }
+            appendNormalizedEncoding(uri, ranges.sspStart, sspEnd, false, out);
+        } else {
+            if (ranges.hasAuthority()) {
+                appendAuthority(uri, ranges, scheme, out);
+            }
+            int pathStart = out.length();
+            appendPath(uri, ranges, out);
+            if (!ranges.hasAuthority() && out.length() - pathStart > 1
+                    && out.charAt(pathStart) == '/' && out.charAt(pathStart + 1) == '/') {
+                // removed dot segment cannot turn the path into an authority
+                out.insert(pathStart, "/.");
+            }
+            if (ranges.queryStart >= 0) {
+                appendQuery(uri, ranges.queryStart, ranges.queryEnd, out);
+            }
+        }
+        if (ranges.fragmentStart >= 0 && !removeFragment && ranges.fragmentStart < uri.length()) {
+            UriRfc.FRAGMENT.checkValidEncoded(uri, ranges.fragmentStart, uri.length());
+            out.append('#');
+            appendNormalizedEncoding(uri, ranges.fragmentStart, uri.length(), false, out);
+        }
+    }
+
+    private String normalizeUncached(String uri) {
+        StringBuilder builder = new StringBuilder(uri.length());
+        normalize(uri, builder);
+        return builder.toString();
+    }
+
+    private void appendAuthority(String uri, UriRanges ranges, @Nullable String scheme, StringBuilder out) {
+        out.append("//");
+        boolean hasUserInfo = ranges.userInfoEnd > ranges.userInfoStart;
+        if (hasUserInfo) {
+            UriRfc.USER_INFO.checkValidEncoded(uri, ranges.userInfoStart, ranges.userInfoEnd);
+            appendNormalizedEncoding(uri, ranges.userInfoStart, ranges.userInfoEnd, false, out);
+            out.append('@');
+        }
+        String host = UriRfc.HOST.validateAndDecode(uri, ranges.hostStart, ranges.hostEnd);
+        boolean hasHost = isNotBlank(host);
+        if (hasHost) {
+            UriPartValidator.checkHost(lowerCase(host));
+        } else if (hasUserInfo) {
+            throw new InvalidUriException("URI with user info must include host");
+        }
+        appendNormalizedEncoding(uri, ranges.hostStart, ranges.hostEnd, true, out);
+        if (ranges.portStart >= 0) {
+            if (!hasHost) {
+                throw new InvalidUriException("URI with port must include host");
+            }
+            int port = parsePort(UriRfc.PORT.validateAndDecode(uri, ranges.portStart, ranges.portEnd));
+            if (!removeDefaultPort || port != defaultPort(scheme)) {
+                out.append(':').append(port);
+            }
+        }
+    }
+
+    private static int parsePort(String port) {
+        try {
+            int result = Integer.parseInt(port);
+            UriPartValidator.checkPort(result);
+            return result;
+        } catch (NumberFormatException e) {
+            throw new InvalidUriException("Invalid port: " + port, e);
+        }
+    }
+
+    private static void appendPath(String uri, UriRanges ranges, StringBuilder out) {
+        int start = ranges.pathStart;
+        int end = ranges.pathEnd;
+        if (start == end) {
+            if (ranges.hasAuthority()) {
+                out.append('/');
+            }
+            return;
+        }
+        if (uri.charAt(start) != '/') {
+            // dot segments in relative references can only be resolved against a base uri
+            appendPathSegments(uri, start, end, out);
+            return;
+        }
+        int base = out.length();
+        int position = start;
+        while (position < end) {
+            int segmentStart = position + 1;
+            int segmentEnd = scanSegmentEnd(uri, segmentStart, end);
+            UriRfc.PATH_SEGMENT.checkValidEncoded(uri, segmentStart, segmentEnd);
+            int mark = out.length();
+            out.append('/');
+            appendNormalizedEncoding(uri, segmentStart, segmentEnd, false, out);
+            int length = out.length() - mark;
+            boolean last = segmentEnd == end;
+            if (length == 2 && out.charAt(mark + 1) == '.') {
+                out.setLength(mark);
+                if (last) {
+                    out.append('/');
+                }
+            } else if (length == 3 && out.charAt(mark + 1) == '.' && out.charAt(mark + 2) == '.') {
+                out.setLength(removeLastSegment(out, base, mark));
+                if (last) {
+                    out.append('/');
+                }
+            }
+            position = segmentEnd;
+        }
+    }
+
+    private static void appendPathSegments(String uri, int start, int end, StringBuilder out) {
+        int position = start;
+        while (position < end) {
+            int segmentEnd = scanSegmentEnd(uri, position, end);
+            UriRfc.PATH_SEGMENT.checkValidEncoded(uri, position, segmentEnd);
+            appendNormalizedEncoding(uri, position, segmentEnd, false, out);
+            if (segmentEnd < end) {
+                out.append('/');
+            }
+            position = segmentEnd + 1;
+        }
+    }
+
+    private static int removeLastSegment(StringBuilder out, int base, int end) {
+        for (int i = end - 1; i >= base; i--) {
+            if (out.charAt(i) == '/') {
+                return i;
+            }
+        }
+        return base;
+    }
+
+    private static int scanSegmentEnd(String uri, int start, int end) {
+        int position = start;
+        while (position < end && uri.charAt(position) != '/') {
+            position++;
+        }
+        return position;
+    }
+
+    private void appendQuery(String uri, int start, int end, StringBuilder out) {
+        // params are split and validated the same way as in QueryParams.parse
+        UriRfc.QUERY.checkValidEncoded(uri, start, end);
+        int[] ranges = UriRanges.scanQueryParams(uri, start, end);
+        if (ranges.length == 0) {
+            return;
+        }
+        int queryStart = out.length();
+        out.append('?');
+        boolean sorted = true;
+        int previousParamStart = -1;
+        for (int i = 0; i < ranges.length; i += QUERY_PARAM_RANGE_SIZE) {
+            int nameStart = ranges[i];
+            int nameEnd = ranges[i + 1];
+            int valueStart = ranges[i + 2];
+            int valueEnd = ranges[i + 3];
+            QueryParams.checkName(UriRfc.QUERY_PARAM.validateAndDecode(uri, nameStart, nameEnd), uri, start, end);
+            UriRfc.QUERY_PARAM.checkValidEncoded(uri, valueStart, valueEnd);
+            if (previousParamStart >= 0) {
+                out.append('&');
+            }
+            int paramStart = out.length();
+            appendNormalizedEncoding(uri, nameStart, nameEnd, false, out);
+            if (valueStart > nameEnd) {
+                out.append('=');
+                appendNormalizedEncoding(uri, valueStart, valueEnd, false, out);
+            }
+            if (previousParamStart >= 0 && compareQueryParamNames(out, previousParamStart, paramStart - 1, out, paramStart, out.length()) > 0) {
+                sorted = false;
+            }
+            previousParamStart = paramStart;
+        }
+        if (sortQueryParams && !sorted) {
+            String[] sortedParams = out.substring(queryStart + 1).split("&");
+            Arrays.sort(sortedParams, QUERY_PARAM_NAME_COMPARATOR);
+            out.setLength(queryStart + 1);
+            out.append(String.join("&", sortedParams));
+        }
+    }
+
+    private static int compareQueryParamNames(CharSequence a, int aStart, int aEnd, CharSequence b, int bStart, int bEnd) {
+        aEnd = queryParamNameEnd(a, aStart, aEnd);
+        bEnd = queryParamNameEnd(b, bStart, bEnd);
+        int length = Math.min(aEnd - aStart, bEnd - bStart);
+        for (int i = 0; i < length; i++) {
+            int diff = a.charAt(aStart + i) - b.charAt(bStart + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (aEnd - aStart) - (bEnd - bStart);
+    }
+
+    private static int queryParamNameEnd(CharSequence param, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (param.charAt(i) == '=') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Decodes percent encoded unreserved characters and uppercases hex digits of the remaining triplets.
+     */
+    private static void appendNormalizedEncoding(String uri, int start, int end, boolean lowerCase, StringBuilder out) {
+        appendNormalizedEncoding(uri, start, end, lowerCase, true, out);
+    }
+
+    private static void appendNormalizedEncoding(String uri, int start, int end, boolean lowerCase, boolean decodeUnreserved, StringBuilder out) {
+        for (int i = start; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c == '%' && i + 2 < end) {
+                int value = (Character.digit(uri.charAt(i + 1), 16) << 4) | Character.digit(uri.charAt(i + 2), 16);
+                if (decodeUnreserved && isUnreserved(value)) {
+                    out.append(lowerCase ? toLowerCase((char) value) : (char) value);
+                } else {
+                    out.append('%')
+                            .append(HEX_DIGITS[value >> 4])
+                            .append(HEX_DIGITS[value & 0xF]);
+                }
+                i += 2;
+            } else {
+                out.append(lowerCase ? toLowerCase(c) : c);
+            }
+        }
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z'
+                ? (char) (c + ('a' - 'A'))
+                : c;
+    }
+
+    private static boolean isUnreserved(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static int defaultPort(@Nullable String scheme) {
+        if (scheme == null) {
+            return -1;
+        }
+        switch (scheme) {
+            case "http":
+            case "ws":
+                return 80;
+            case "https":
+            case "wss":
+                return 443;
+            case "ftp":
+                return 21;
+            default:
+                return -1;
+        }
+    }
+
+    private static long hash(CharSequence normalized) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash = (hash ^ normalized.charAt(i)) * FNV_PRIME;
+        }
+        // murmur3 finalizer spreads the low entropy FNV bits
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Bounded LRU cache with constant time hits. Misses are normalized outside the lock,
+     * so a slow or invalid uri does not block other threads.
+     */
+    private static final class NormalizedUriCache {
+        private final Map<String, String> entries;
+
+        NormalizedUriCache(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        String get(String uri, Function<String, String> normalizer) {
+            String normalized;
+            synchronized (entries) {
+                normalized = entries.get(uri);
+            }
+            if (normalized != null) {
+                return normalized;
+            }
+            normalized = normalizer.apply(uri);
+            synchronized (entries) {
+                String previous = entries.putIfAbsent(uri, normalized);
+                return previous != null ? previous : normalized;
+            }
+        }
+    }
+
+    public static class UriNormalizerBuilder {
+        private boolean removeDefaultPort = true;
+        private boolean sortQueryParams = true;
+        private boolean removeFragment = false;
+        private int cacheSize = 0;
+
+        private UriNormalizerBuilder() {
+        }
+
+        public UriNormalizerBuilder removeDefaultPort(boolean removeDefaultPort) {
+            this.removeDefaultPort = removeDefaultPort;
+            return this;
+        }
+
+        public UriNormalizerBuilder sortQueryParams(boolean sortQueryParams) {
+            this.sortQueryParams = sortQueryParams;
+            return this;
+        }
+
+        public UriNormalizerBuilder removeFragment(boolean removeFragment) {
+            this.removeFragment = removeFragment;
+            return this;
+        }
+
+        /**
+         * Enables a bounded LRU cache of normalized uris. Cache is disabled by default.
+         */
+        public UriNormalizerBuilder cacheSize(int cacheSize) {
+            this.cacheSize = checkNotNegative(cacheSize, "cacheSize");
+            return this;
+        }
+
+        public UriNormalizer build() {
+            return new UriNormalizer(removeDefaultPort, sortQueryParams, removeFragment, cacheSize);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.coditory.quark.common.uri;
+
+/**
+ * Result code of parsing a uri. Invalid uris are reported with the first invalid component.
+ */
+public enum UriParseStatus {
+    VALID,
+    /**
+     * Null or a uri that cannot be split into components.
+     */
+    MALFORMED,
+    INVALID_SCHEME,
+    INVALID_SCHEME_SPECIFIC_PART,
+    INVALID_USER_INFO,
+    INVALID_HOST,
+    INVALID_PORT,
+    INVALID_PATH,
+    INVALID_QUERY,
+    INVALID_FRAGMENT,
+    /**
+     * Uri with valid components that could not be combined.
+     */
+    INVALID_URI;
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
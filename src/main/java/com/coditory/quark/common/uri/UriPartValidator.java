@@ -2,22 +2,42 @@ package com.coditory.quark.common.uri;
 
 import com.coditory.quark.common.net.Ports;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import static com.coditory.quark.common.net.InetAddressValidator.isValidInetAddress;
 
 final class UriPartValidator {
     private static final String SPECIAL_CHARS = ";/@&=,.?:+$";
-    private static final String VALID_CHARS = "[^\\s" + SPECIAL_CHARS + "]";
-    private static final String ATOM = VALID_CHARS + '+';
-    private static final Pattern SCHEME_PATTERN = Pattern.compile("^\\p{Alpha}[\\p{Alnum}\\+\\-\\.]*");
-    private static final Pattern ATOM_PATTERN = Pattern.compile("^(" + ATOM + ").*?$");
-    private static final Pattern DOMAIN_PATTERN = Pattern.compile("^" + ATOM + "(\\." + ATOM + ")*$");
-    private static final Pattern ALPHA_PATTERN = Pattern.compile("^[a-zA-Z]");
+    private static final String WHITESPACE_CHARS = " \t\n\u000B\f\r";
+    private static final int MIN_TOP_LEVEL_DOMAIN_LENGTH = 2;
+    private static final int MAX_TOP_LEVEL_DOMAIN_LENGTH = 4;
+    private static final boolean[] SCHEME_CHARS = new boolean[128];
+    private static final boolean[] DOMAIN_LABEL_CHARS = new boolean[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            SCHEME_CHARS[c] = isAsciiAlphanumeric(c) || c == '+' || c == '-' || c == '.';
+            DOMAIN_LABEL_CHARS[c] = SPECIAL_CHARS.indexOf(c) < 0 && WHITESPACE_CHARS.indexOf(c) < 0;
+        }
+    }
+
+    private UriPartValidator() {
+        throw new UnsupportedOperationException("Do not instantiate utility class");
+    }
 
     static boolean isValidScheme(String scheme) {
-        return scheme != null && SCHEME_PATTERN.matcher(scheme).matches();
+        return scheme != null && isValidScheme(scheme, 0, scheme.length());
+    }
+
+    static boolean isValidScheme(String source, int start, int end) {
+        if (start >= end || !isAsciiAlpha(source.charAt(start))) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            char c = source.charAt(i);
+            if (c >= 128 || !SCHEME_CHARS[c]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     static void checkScheme(String scheme) {
@@ -27,49 +47,70 @@ final class UriPartValidator {
     }
 
     static boolean isValidHost(String host) {
-        boolean hostname = false;
-        boolean ipV4Address = isValidInetAddress(host);
-        if (!ipV4Address) {
-            hostname = DOMAIN_PATTERN.matcher(host).matches();
+        return isValidHost(host, 0, host.length());
+    }
+
+    static boolean isValidHost(String source, int start, int end) {
+        if (isInetAddressCandidate(source, start, end) && isValidInetAddress(source, start, end)) {
+            return true;
         }
-        if (hostname) {
-            char[] chars = host.toCharArray();
-            int size = 1;
-            for (char element : chars) {
-                if (element == '.') {
-                    size++;
-                }
+        return isValidDomainName(source, start, end);
+    }
+
+    private static boolean isInetAddressCandidate(String source, int start, int end) {
+        // ipv4 address has only digits and dots, ipv6 address always has a colon
+        boolean digitsAndDots = start < end;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == ':') {
+                return true;
             }
-            String[] domainSegment = new String[size];
-            boolean match = true;
-            int segmentCount = 0;
-            int segmentLength = 0;
-
-            while (match) {
-                Matcher atomMatcher = ATOM_PATTERN.matcher(host);
-                match = atomMatcher.matches();
-                if (match) {
-                    domainSegment[segmentCount] = atomMatcher.group(1);
-                    segmentLength = domainSegment[segmentCount].length() + 1;
-                    host = segmentLength >= host.length()
-                            ? ""
-                            : host.substring(segmentLength);
-
-                    segmentCount++;
+            digitsAndDots &= c == '.' || isAsciiDigit(c);
+        }
+        return digitsAndDots;
+    }
+
+    /**
+     * Domain name is a dot separated list of at least two non-empty labels.
+     * Top level domain must have 2 to 4 characters and start with a letter.
+     */
+    private static boolean isValidDomainName(String source, int start, int end) {
+        int labels = 0;
+        int labelStart = start;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '.') {
+                if (i == labelStart) {
+                    return false;
                 }
-            }
-            String topLevel = domainSegment[segmentCount - 1];
-            if (topLevel.length() < 2 || topLevel.length() > 4) {
-                return false;
-            }
-            if (!ALPHA_PATTERN.matcher(topLevel.substring(0, 1)).matches()) {
-                return false;
-            }
-            if (segmentCount < 2) {
+                labels++;
+                labelStart = i + 1;
+            } else if (c < 128 ? !DOMAIN_LABEL_CHARS[c] : (labels > 0 && isLineTerminator(c))) {
+                // line terminators were rejected by the former regex only after the first label
                 return false;
             }
         }
-        return hostname || ipV4Address;
+        int topLevelLength = end - labelStart;
+        return topLevelLength >= MIN_TOP_LEVEL_DOMAIN_LENGTH
+                && topLevelLength <= MAX_TOP_LEVEL_DOMAIN_LENGTH
+                && labels > 0
+                && isAsciiAlpha(source.charAt(labelStart));
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return isAsciiAlpha(c) || isAsciiDigit(c);
+    }
+
+    private static boolean isAsciiAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
     static void checkHost(String host) {
@@ -0,0 +1,250 @@
+package com.coditory.quark.common.uri;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Offsets of uri components in the source string, as split by the regex from RFC 3986, appendix B.
+ * Start offsets of missing components are set to -1. Components are not validated nor decoded.
+ */
+final class UriRanges {
+    static final int QUERY_PARAM_RANGE_SIZE = 4;
+
+    int schemeEnd = -1;
+    boolean opaque;
+    int sspStart = -1;
+    int sspEnd = -1;
+    int userInfoStart = -1;
+    int userInfoEnd = -1;
+    int hostStart = -1;
+    int hostEnd = -1;
+    int portStart = -1;
+    int portEnd = -1;
+    int pathStart = -1;
+    int pathEnd = -1;
+    int queryStart = -1;
+    int queryEnd = -1;
+    int fragmentStart = -1;
+
+    UriRanges() {
+    }
+
+    boolean hasScheme() {
+        return schemeEnd >= 0;
+    }
+
+    boolean hasAuthority() {
+        return hostStart >= 0;
+    }
+
+    /**
+     * @return ranges or null if uri cannot be split into components
+     */
+    @Nullable
+    static UriRanges scan(String uri) {
+        UriRanges ranges = new UriRanges();
+        return ranges.rescan(uri) ? ranges : null;
+    }
+
+    /**
+     * Resets the offsets and scans another uri, so a single instance can be reused.
+     *
+     * @return false if uri cannot be split into components
+     */
+    boolean rescan(String uri) {
+        reset();
+        if (!isParsable(uri)) {
+            return false;
+        }
+        int length = uri.length();
+        int position = 0;
+        int scannedSchemeEnd = scan(uri, 0, length, ":/?#");
+        if (scannedSchemeEnd > 0 && scannedSchemeEnd < length && uri.charAt(scannedSchemeEnd) == ':') {
+            schemeEnd = scannedSchemeEnd;
+            position = scannedSchemeEnd + 1;
+            if (!uri.startsWith("/", position)) {
+                scanOpaque(uri, position, this);
+                return true;
+            }
+        }
+        if (uri.startsWith("//", position)) {
+            position = scanAuthority(uri, position + 2, this);
+        }
+        pathStart = position;
+        pathEnd = scan(uri, position, length, "?#");
+        position = pathEnd;
+        if (position < length && uri.charAt(position) == '?') {
+            queryStart = position + 1;
+            queryEnd = scan(uri, position + 1, length, "#");
+            position = queryEnd;
+        }
+        if (position < length) {
+            fragmentStart = position + 1;
+        }
+        return true;
+    }
+
+    private void reset() {
+        schemeEnd = -1;
+        opaque = false;
+        sspStart = -1;
+        sspEnd = -1;
+        userInfoStart = -1;
+        userInfoEnd = -1;
+        hostStart = -1;
+        hostEnd = -1;
+        portStart = -1;
+        portEnd = -1;
+        pathStart = -1;
+        pathEnd = -1;
+        queryStart = -1;
+        queryEnd = -1;
+        fragmentStart = -1;
+    }
+
+    /**
+     * Every string can be split into uri components except for the ones with a line terminator in the fragment.
+     */
+    private static boolean isParsable(String uri) {
+        int fragment = uri.indexOf('#');
+        if (fragment < 0) {
+            return true;
+        }
+        for (int i = fragment + 1; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void scanOpaque(String uri, int start, UriRanges ranges) {
+        int fragment = uri.indexOf('#', start);
+        ranges.opaque = true;
+        ranges.sspStart = start;
+        // empty fragment is kept in the scheme specific part
+        ranges.sspEnd = fragment >= 0 && fragment + 1 < uri.length()
+                ? fragment
+                : uri.length();
+        if (fragment >= 0) {
+            ranges.fragmentStart = fragment + 1;
+        }
+    }
+
+    private static int scanAuthority(String uri, int start, UriRanges ranges) {
+        int length = uri.length();
+        int position = start;
+        int userInfoEnd = scan(uri, position, length, "@[/?#");
+        if (userInfoEnd < length && uri.charAt(userInfoEnd) == '@') {
+            ranges.userInfoStart = position;
+            ranges.userInfoEnd = userInfoEnd;
+            position = userInfoEnd + 1;
+        }
+        int hostEnd = scanIpv6Host(uri, position);
+        if (hostEnd < 0) {
+            hostEnd = scan(uri, position, length, "[/?#:");
+        }
+        ranges.hostStart = position;
+        ranges.hostEnd = hostEnd;
+        position = hostEnd;
+        if (position < length && uri.charAt(position) == ':') {
+            ranges.portStart = position + 1;
+            ranges.portEnd = scan(uri, position + 1, length, "/?#");
+            position = ranges.portEnd;
+        }
+        return position;
+    }
+
+    /**
+     * Matches: \[[\p{XDigit}:.]*[%\p{Alnum}]*]
+     *
+     * @return end of the host or -1 if host is not an IPv6 literal
+     */
+    private static int scanIpv6Host(String uri, int start) {
+        int length = uri.length();
+        if (start >= length || uri.charAt(start) != '[') {
+            return -1;
+        }
+        int position = start + 1;
+        while (position < length && (isHexDigit(uri.charAt(position)) || uri.charAt(position) == ':' || uri.charAt(position) == '.')) {
+            position++;
+        }
+        while (position < length && (isAsciiAlphanumeric(uri.charAt(position)) || uri.charAt(position) == '%')) {
+            position++;
+        }
+        return position < length && uri.charAt(position) == ']'
+                ? position + 1
+                : -1;
+    }
+
+    /**
+     * Splits query into parameters. Parameters without a name are skipped.
+     *
+     * @return flat array of: name start, name end, value start, value end
+     */
+    static int[] scanQueryParams(String uri, int start, int end) {
+        int[] ranges = new int[QUERY_PARAM_RANGE_SIZE * 4];
+        int size = 0;
+        int position = start;
+        while (position < end) {
+            int nameEnd = scan(uri, position, end, "&=");
+            if (nameEnd == position) {
+                position++;
+                continue;
+            }
+            int valueStart = nameEnd < end && uri.charAt(nameEnd) == '='
+                    ? nameEnd + 1
+                    : nameEnd;
+            int valueEnd = scan(uri, valueStart, end, "&");
+            if (size + QUERY_PARAM_RANGE_SIZE > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[size++] = position;
+            ranges[size++] = nameEnd;
+            ranges[size++] = valueStart;
+            ranges[size++] = valueEnd;
+            position = valueEnd;
+        }
+        return Arrays.copyOf(ranges, size);
+    }
+
+    /**
+     * @param stopChars ascii characters that end the scan
+     * @return index of the first stop character or end
+     */
+    static int scan(String uri, int start, int end, String stopChars) {
+        // stop chars as bit masks for characters in ranges [0, 64) and [64, 128)
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < stopChars.length(); i++) {
+            char c = stopChars.charAt(i);
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        int position = start;
+        while (position < end) {
+            char c = uri.charAt(position);
+            boolean stop = c < 64
+                    ? (low & (1L << c)) != 0
+                    : c < 128 && (high & (1L << (c - 64))) != 0;
+            if (stop) {
+                return position;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
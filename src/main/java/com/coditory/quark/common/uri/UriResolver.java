@@ -0,0 +1,197 @@
+package com.coditory.quark.common.uri;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Resolves uri references against a base uri, as defined in RFC 3986, section 5.2.
+ * Components are located with the regex from RFC 3986, appendix B, computed as offsets
+ * in the source strings. Result is assembled in a single buffer and dot segments
+ * are removed in place.
+ */
+final class UriResolver {
+    // component delimiters
+    private static final int SCHEME = 1;
+    private static final int PATH = 2;
+    private static final int QUERY = 4;
+    private static final int FRAGMENT = 8;
+
+    private UriResolver() {
+        throw new UnsupportedOperationException("Do not instantiate utility class");
+    }
+
+    static String resolve(String base, String reference) {
+        checkNotNull(base, "base");
+        checkNotNull(reference, "reference");
+        int baseSchemeEnd = schemeEnd(base);
+        if (baseSchemeEnd < 0) {
+            throw new InvalidUriException("Expected absolute base uri: \"" + base + "\"");
+        }
+        StringBuilder out = new StringBuilder(base.length() + reference.length() + 2);
+        int schemeEnd = schemeEnd(reference);
+        if (schemeEnd >= 0) {
+            out.append(reference, 0, schemeEnd + 1);
+            appendHierarchicalPart(reference, schemeEnd + 1, out);
+            return out.toString();
+        }
+        out.append(base, 0, baseSchemeEnd + 1);
+        if (reference.startsWith("//")) {
+            appendHierarchicalPart(reference, 0, out);
+            return out.toString();
+        }
+        int basePathStart = pathStart(base, baseSchemeEnd + 1);
+        int basePathEnd = scan(base, basePathStart, QUERY | FRAGMENT);
+        out.append(base, baseSchemeEnd + 1, basePathStart);
+        int pathEnd = scan(reference, 0, QUERY | FRAGMENT);
+        int queryEnd = scan(reference, pathEnd, FRAGMENT);
+        if (pathEnd == 0) {
+            out.append(base, basePathStart, basePathEnd);
+            if (queryEnd == 0) {
+                // reference has no query, base query is kept
+                out.append(base, basePathEnd, scan(base, basePathEnd, FRAGMENT));
+            }
+        } else if (reference.charAt(0) == '/') {
+            appendPath(reference, 0, pathEnd, out);
+        } else {
+            int pathStart = out.length();
+            if (basePathStart > baseSchemeEnd + 1 && basePathStart == basePathEnd) {
+                // base with authority and empty path
+                out.append('/');
+            } else {
+                out.append(base, basePathStart, lastSegmentStart(base, basePathStart, basePathEnd));
+            }
+            out.append(reference, 0, pathEnd);
+            removeDotSegments(out, pathStart);
+        }
+        out.append(reference, pathEnd, reference.length());
+        return out.toString();
+    }
+
+    /**
+     * Appends authority, path without dot segments, query and fragment.
+     */
+    private static void appendHierarchicalPart(String uri, int start, StringBuilder out) {
+        int pathStart = pathStart(uri, start);
+        out.append(uri, start, pathStart);
+        int pathEnd = scan(uri, pathStart, QUERY | FRAGMENT);
+        appendPath(uri, pathStart, pathEnd, out);
+        out.append(uri, pathEnd, uri.length());
+    }
+
+    private static void appendPath(String uri, int start, int end, StringBuilder out) {
+        int pathStart = out.length();
+        out.append(uri, start, end);
+        removeDotSegments(out, pathStart);
+    }
+
+    /**
+     * @return index of the first delimiter from the set or the length of the uri
+     */
+    private static int scan(String uri, int start, int delimiters) {
+        int length = uri.length();
+        for (int i = start; i < length; i++) {
+            char c = uri.charAt(i);
+            // all delimiters are lower than '@'
+            if (c < '@' && (delimiter(c) & delimiters) != 0) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int delimiter(char c) {
+        switch (c) {
+            case ':':
+                return SCHEME;
+            case '/':
+                return PATH;
+            case '?':
+                return QUERY;
+            case '#':
+                return FRAGMENT;
+            default:
+                return 0;
+        }
+    }
+
+    private static int schemeEnd(String uri) {
+        int schemeEnd = scan(uri, 0, SCHEME | PATH | QUERY | FRAGMENT);
+        return schemeEnd > 0 && schemeEnd < uri.length() && uri.charAt(schemeEnd) == ':'
+                ? schemeEnd
+                : -1;
+    }
+
+    private static int pathStart(String uri, int hierarchicalPartStart) {
+        return uri.startsWith("//", hierarchicalPartStart)
+                ? scan(uri, hierarchicalPartStart + 2, PATH | QUERY | FRAGMENT)
+                : hierarchicalPartStart;
+    }
+
+    private static int lastSegmentStart(String uri, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (uri.charAt(i) == '/') {
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Implements remove_dot_segments from RFC 3986, section 5.2.4, on the path that spans from start
+     * to the end of the buffer. Output never outgrows the consumed input, so the path is rewritten in place.
+     */
+    private static void removeDotSegments(StringBuilder path, int start) {
+        int end = path.length();
+        int read = start;
+        int write = start;
+        while (read < end) {
+            int remaining = end - read;
+            char c = path.charAt(read);
+            if (c == '.') {
+                if (remaining == 1 || path.charAt(read + 1) == '/') {
+                    // "./" or "."
+                    read += Math.min(2, remaining);
+                    continue;
+                }
+                if (path.charAt(read + 1) == '.' && (remaining == 2 || path.charAt(read + 2) == '/')) {
+                    // "../" or ".."
+                    read += Math.min(3, remaining);
+                    continue;
+                }
+            } else if (c == '/' && remaining > 1 && path.charAt(read + 1) == '.') {
+                if (remaining == 2 || path.charAt(read + 2) == '/') {
+                    // "/./" or "/." is replaced with "/"
+                    read += 2;
+                    if (read == end) {
+                        path.setCharAt(write++, '/');
+                    }
+                    continue;
+                }
+                if (path.charAt(read + 2) == '.' && (remaining == 3 || path.charAt(read + 3) == '/')) {
+                    // "/../" or "/.." is replaced with "/" and the last output segment is removed
+                    read += 3;
+                    write = lastSlash(path, start, write);
+                    if (read == end) {
+                        path.setCharAt(write++, '/');
+                    }
+                    continue;
+                }
+            }
+            // move the first segment, with its leading slash, to the output
+            path.setCharAt(write++, c);
+            read++;
+            while (read < end && path.charAt(read) != '/') {
+                path.setCharAt(write++, path.charAt(read++));
+            }
+        }
+        path.setLength(write);
+    }
+
+    private static int lastSlash(StringBuilder path, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (path.charAt(i) == '/') {
+                return i;
+            }
+        }
+        return start;
+    }
+}
@@ -5,11 +5,9 @@ import com.coditory.quark.common.encode.percent.PercentCodec;
 import com.coditory.quark.common.text.Alphabets;
 import com.coditory.quark.common.util.Strings;
 
-import java.util.BitSet;
-
 import static com.coditory.quark.common.check.Args.checkNotNull;
-import static com.coditory.quark.common.util.BitSets.toBitSet;
 import static com.coditory.quark.common.util.Strings.removeChars;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public enum UriRfc {
     SCHEME(UriRfcCharacters.SCHEME_ALLOWED),
@@ -22,15 +20,38 @@ public enum UriRfc {
     QUERY_PARAM(UriRfcCharacters.QUERY_PARAM_ALLOWED, true),
     FRAGMENT(UriRfcCharacters.FRAGMENT_ALLOWED);
 
-    private final BitSet allowed;
+    private static final byte[] HEX_DIGITS = new byte[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            HEX_DIGITS[c] = (byte) Character.digit(c, 16);
+        }
+    }
+
+    // allowed ascii characters as bit masks for ranges [0, 64) and [64, 128)
+    private final long allowedLow;
+    private final long allowedHigh;
     private final TranslationCodec codec;
+    private final boolean decodeSpaceAsPlus;
 
     UriRfc(String allowed) {
         this(allowed, false);
     }
 
     UriRfc(String allowed, boolean decodeSpaceAsPlus) {
-        this.allowed = toBitSet(allowed);
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < allowed.length(); i++) {
+            char c = allowed.charAt(i);
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        this.allowedLow = low;
+        this.allowedHigh = high;
+        this.decodeSpaceAsPlus = decodeSpaceAsPlus;
         String encode = decodeSpaceAsPlus
                 ? removeChars(allowed, "+")
                 : allowed;
@@ -41,8 +62,68 @@ public enum UriRfc {
     }
 
     public String validateAndDecode(String source) {
-        checkValidEncoded(source);
-        return decode(source);
+        checkNotNull(source, "source");
+        return validateAndDecode(source, 0, source.length());
+    }
+
+    /**
+     * Validates and decodes a part of the source in a single pass. Parts without encoded characters
+     * are returned as a substring. Consecutive encoded bytes are decoded together as UTF-8,
+     * with the same result as {@link #decode(String)}.
+     */
+    String validateAndDecode(String source, int start, int end) {
+        int i = start;
+        while (i < end) {
+            char ch = source.charAt(i);
+            if (ch == '%' || (ch == '+' && decodeSpaceAsPlus) || !isAllowed(ch)) {
+                break;
+            }
+            i++;
+        }
+        if (i == end) {
+            return start == 0 && end == source.length()
+                    ? source
+                    : source.substring(start, end);
+        }
+        StringBuilder builder = new StringBuilder(end - start);
+        builder.append(source, start, i);
+        byte[] bytes = null;
+        while (i < end) {
+            char ch = source.charAt(i);
+            if (ch == '%') {
+                if (bytes == null) {
+                    bytes = new byte[(end - i) / 3];
+                }
+                int size = 0;
+                boolean ascii = true;
+                while (i < end && source.charAt(i) == '%') {
+                    int value = decodeHex(source, i, end);
+                    if (value < 0) {
+                        throw invalidEncoding(source, start, end, i);
+                    }
+                    bytes[size++] = (byte) value;
+                    ascii = ascii && value < 128;
+                    i += 3;
+                }
+                if (ascii) {
+                    for (int j = 0; j < size; j++) {
+                        builder.append((char) bytes[j]);
+                    }
+                } else {
+                    builder.append(new String(bytes, 0, size, UTF_8));
+                }
+                continue;
+            }
+            if (ch == '+' && decodeSpaceAsPlus) {
+                builder.append(' ');
+            } else if (isAllowed(ch)) {
+                builder.append(ch);
+            } else {
+                throw invalidEncoding(source, start, end, i);
+            }
+            i++;
+        }
+        return builder.toString();
     }
 
     public String decode(String source) {
@@ -66,35 +147,81 @@ public enum UriRfc {
     }
 
     public void checkValidEncoded(String source) {
-        String error = checkValidEncodedWithErrorMessage(source);
-        if (error != null) {
-            throw new InvalidUriException(error);
+        checkNotNull(source, "source");
+        checkValidEncoded(source, 0, source.length());
+    }
+
+    void checkValidEncoded(String source, int start, int end) {
+        int invalid = findInvalidEncoding(source, start, end);
+        if (invalid >= 0) {
+            throw invalidEncoding(source, start, end, invalid);
         }
     }
 
-    private String checkValidEncodedWithErrorMessage(String source) {
-        checkNotNull(source, "source");
-        int length = source.length();
-        for (int i = 0; i < length; i++) {
+    boolean isValidEncoded(String source, int start, int end) {
+        return findInvalidEncoding(source, start, end) < 0;
+    }
+
+    boolean isEncoded(String source, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char ch = source.charAt(i);
+            if (ch == '%' || (ch == '+' && decodeSpaceAsPlus)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return index of the first invalid character or encoded sequence, or -1 if source is valid
+     */
+    private int findInvalidEncoding(String source, int start, int end) {
+        for (int i = start; i < end; i++) {
             char ch = source.charAt(i);
             if (ch == '%') {
-                if ((i + 2) < length) {
-                    char hex1 = source.charAt(i + 1);
-                    char hex2 = source.charAt(i + 2);
-                    int u = Character.digit(hex1, 16);
-                    int l = Character.digit(hex2, 16);
-                    if (u == -1 || l == -1) {
-                        return "Invalid encoded sequence \"" + source.substring(i) + "\"";
-                    }
-                    i += 2;
-                } else {
-                    return "Invalid encoded sequence \"" + source.substring(i) + "\"";
+                if (decodeHex(source, i, end) < 0) {
+                    return i;
                 }
-            } else if (!allowed.get(ch)) {
-                return "Invalid character '" + ch + "' for " + Strings.lowerCase(name()) + " in \"" + source + "\"";
+                i += 2;
+            } else if (!isAllowed(ch)) {
+                return i;
             }
         }
-        return null;
+        return -1;
+    }
+
+    private InvalidUriException invalidEncoding(String source, int start, int end, int index) {
+        char ch = source.charAt(index);
+        String message = ch == '%'
+                ? "Invalid encoded sequence \"" + source.substring(index, end) + "\""
+                : "Invalid character '" + ch + "' for " + Strings.lowerCase(name()) + " in \"" + source.substring(start, end) + "\"";
+        return new InvalidUriException(message);
+    }
+
+    private boolean isAllowed(char ch) {
+        return ch < 64
+                ? (allowedLow & (1L << ch)) != 0
+                : ch < 128 && (allowedHigh & (1L << (ch - 64))) != 0;
+    }
+
+    /**
+     * @return value of the encoded byte at the index or -1 if the sequence is invalid
+     */
+    private static int decodeHex(String source, int index, int end) {
+        if (index + 2 >= end) {
+            return -1;
+        }
+        int high = hexDigit(source.charAt(index + 1));
+        int low = hexDigit(source.charAt(index + 2));
+        return high < 0 || low < 0
+                ? -1
+                : (high << 4) | low;
+    }
+
+    private static int hexDigit(char ch) {
+        return ch < 128
+                ? HEX_DIGITS[ch]
+                : Character.digit(ch, 16);
     }
 
     private static class UriRfcCharacters {
@@ -0,0 +1,529 @@
+package com.coditory.quark.common.uri;
+
+import com.coditory.quark.common.text.Alphabets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.coditory.quark.common.check.Args.checkNotNull;
+
+/**
+ * Compiled RFC 6570 URI template (levels 1-4).
+ * Template is parsed once, literals are encoded during compilation,
+ * so expansion only encodes variable values into a single pre-sized builder.
+ * Instances are immutable and thread safe.
+ * <p>
+ * Supported variable values: collections (list values), maps (associative array values)
+ * and other objects that are expanded with {@link Object#toString()}.
+ * Null values, empty collections and empty maps are treated as undefined.
+ */
+public final class UriTemplate {
+    private static final int MAX_PREFIX_LENGTH = 9999;
+    private static final int EXPRESSION_LENGTH_ESTIMATE = 16;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] UNRESERVED = asciiTable(Alphabets.URI_UNRESERVED);
+    private static final boolean[] UNRESERVED_OR_RESERVED = asciiTable(Alphabets.URI_UNRESERVED + ":/?#[]@!$&'()*+,;=");
+
+    public static UriTemplate compile(String template) {
+        checkNotNull(template, "template");
+        return new UriTemplateParser(template).parse();
+    }
+
+    public static String expand(String template, Map<String, ?> variables) {
+        return compile(template).expand(variables);
+    }
+
+    private final String template;
+    private final Part[] parts;
+    private final List<String> variableNames;
+    private final int lengthEstimate;
+
+    private UriTemplate(String template, List<Part> parts) {
+        this.template = template;
+        this.parts = parts.toArray(new Part[0]);
+        Set<String> names = new LinkedHashSet<>();
+        int lengthEstimate = 0;
+        for (Part part : parts) {
+            if (part instanceof Literal) {
+                lengthEstimate += ((Literal) part).value.length();
+            } else {
+                for (VarSpec varSpec : ((Expression) part).varSpecs) {
+                    names.add(varSpec.name);
+                    lengthEstimate += EXPRESSION_LENGTH_ESTIMATE;
+                }
+            }
+        }
+        this.variableNames = List.copyOf(names);
+        this.lengthEstimate = lengthEstimate;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public List<String> getVariableNames() {
+        return variableNames;
+    }
+
+    public String expand(Map<String, ?> variables) {
+        StringBuilder builder = new StringBuilder(lengthEstimate);
+        expand(variables, builder);
+        return builder.toString();
+    }
+
+    public void expand(Map<String, ?> variables, StringBuilder out) {
+        checkNotNull(variables, "variables");
+        checkNotNull(out, "out");
+        for (Part part : parts) {
+            part.expand(variables, out);
+        }
+    }
+
+    public UriBuilder expandToUriBuilder(Map<String, ?> variables) {
+        return UriBuilder.parseUri(expand(variables));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        UriTemplate that = (UriTemplate) o;
+        return template.equals(that.template);
+    }
+
+    @Override
+    public int hashCode() {
+        return template.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UriTemplate{" + template + '}';
+    }
+
+    private interface Part {
+        void expand(Map<String, ?> variables, StringBuilder out);
+    }
+
+    private static final class Literal implements Part {
+        private final String value;
+
+        Literal(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void expand(Map<String, ?> variables, StringBuilder out) {
+            out.append(value);
+        }
+    }
+
+    private static final class VarSpec {
+        private final String name;
+        private final int prefixLength;
+        private final boolean explode;
+
+        VarSpec(String name, int prefixLength, boolean explode) {
+            this.name = name;
+            this.prefixLength = prefixLength;
+            this.explode = explode;
+        }
+    }
+
+    private enum Operator {
+        SIMPLE(null, ',', false, false),
+        RESERVED(null, ',', false, true),
+        FRAGMENT('#', ',', false, true),
+        LABEL('.', '.', false, false),
+        PATH('/', '/', false, false),
+        PATH_PARAM(';', ';', true, false),
+        QUERY('?', '&', true, false),
+        QUERY_CONTINUATION('&', '&', true, false);
+
+        private final Character first;
+        private final char separator;
+        private final boolean named;
+        private final boolean allowReserved;
+
+        Operator(Character first, char separator, boolean named, boolean allowReserved) {
+            this.first = first;
+            this.separator = separator;
+            this.named = named;
+            this.allowReserved = allowReserved;
+        }
+
+        boolean emptyWithEquals() {
+            return this == QUERY || this == QUERY_CONTINUATION;
+        }
+    }
+
+    private static final class Expression implements Part {
+        private final Operator operator;
+        private final VarSpec[] varSpecs;
+
+        Expression(Operator operator, List<VarSpec> varSpecs) {
+            this.operator = operator;
+            this.varSpecs = varSpecs.toArray(new VarSpec[0]);
+        }
+
+        @Override
+        public void expand(Map<String, ?> variables, StringBuilder out) {
+            boolean first = true;
+            for (VarSpec varSpec : varSpecs) {
+                Object value = variables.get(varSpec.name);
+                if (isUndefined(value)) {
+                    continue;
+                }
+                if (first) {
+                    if (operator.first != null) {
+                        out.append(operator.first.charValue());
+                    }
+                    first = false;
+                } else {
+                    out.append(operator.separator);
+                }
+                if (value instanceof Collection) {
+                    expandCollection(varSpec, (Collection<?>) value, out);
+                } else if (value instanceof Map) {
+                    expandMap(varSpec, (Map<?, ?>) value, out);
+                } else {
+                    expandString(varSpec, value.toString(), out);
+                }
+            }
+        }
+
+        private void expandString(VarSpec varSpec, String value, StringBuilder out) {
+            if (operator.named) {
+                appendName(varSpec.name, value.isEmpty(), out);
+            }
+            int end = varSpec.prefixLength > 0
+                    ? prefixEnd(value, varSpec.prefixLength)
+                    : value.length();
+            encode(value, end, operator.allowReserved, out);
+        }
+
+        private void expandCollection(VarSpec varSpec, Collection<?> values, StringBuilder out) {
+            boolean first = true;
+            if (!varSpec.explode) {
+                if (operator.named) {
+                    appendName(varSpec.name, false, out);
+                }
+                for (Object value : values) {
+                    if (value == null) {
+                        continue;
+                    }
+                    if (!first) {
+                        out.append(',');
+                    }
+                    first = false;
+                    encode(value.toString(), operator.allowReserved, out);
+                }
+                return;
+            }
+            for (Object value : values) {
+                if (value == null) {
+                    continue;
+                }
+                if (!first) {
+                    out.append(operator.separator);
+                }
+                first = false;
+                String text = value.toString();
+                if (operator.named) {
+                    appendName(varSpec.name, text.isEmpty(), out);
+                }
+                encode(text, operator.allowReserved, out);
+            }
+        }
+
+        private void expandMap(VarSpec varSpec, Map<?, ?> values, StringBuilder out) {
+            boolean first = true;
+            if (!varSpec.explode) {
+                if (operator.named) {
+                    appendName(varSpec.name, false, out);
+                }
+                for (Map.Entry<?, ?> entry : values.entrySet()) {
+                    if (entry.getKey() == null || entry.getValue() == null) {
+                        continue;
+                    }
+                    if (!first) {
+                        out.append(',');
+                    }
+                    first = false;
+                    encode(entry.getKey().toString(), operator.allowReserved, out);
+                    out.append(',');
+                    encode(entry.getValue().toString(), operator.allowReserved, out);
+                }
+                return;
+            }
+            for (Map.Entry<?, ?> entry : values.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                if (!first) {
+                    out.append(operator.separator);
+                }
+                first = false;
+                String value = entry.getValue().toString();
+                encode(entry.getKey().toString(), operator.allowReserved, out);
+                if (!value.isEmpty() || operator.emptyWithEquals()) {
+                    out.append('=');
+                }
+                encode(value, operator.allowReserved, out);
+            }
+        }
+
+        private void appendName(String name, boolean emptyValue, StringBuilder out) {
+            out.append(name);
+            if (!emptyValue || operator.emptyWithEquals()) {
+                out.append('=');
+            }
+        }
+
+        private static boolean isUndefined(Object value) {
+            return value == null
+                    || (value instanceof Collection && ((Collection<?>) value).isEmpty())
+                    || (value instanceof Map && ((Map<?, ?>) value).isEmpty());
+        }
+
+        private static int prefixEnd(String value, int prefixLength) {
+            int codePoints = value.codePointCount(0, value.length());
+            return codePoints <= prefixLength
+                    ? value.length()
+                    : value.offsetByCodePoints(0, prefixLength);
+        }
+    }
+
+    private static void encode(String value, boolean allowReserved, StringBuilder out) {
+        encode(value, value.length(), allowReserved, out);
+    }
+
+    private static void encode(String value, int end, boolean allowReserved, StringBuilder out) {
+        boolean[] allowed = allowReserved ? UNRESERVED_OR_RESERVED : UNRESERVED;
+        int cleanStart = 0;
+        int i = 0;
+        while (i < end) {
+            char c = value.charAt(i);
+            if (c < 128 && allowed[c]) {
+                i++;
+                continue;
+            }
+            if (allowReserved && c == '%' && isPercentEncoded(value, i, end)) {
+                i += 3;
+                continue;
+            }
+            out.append(value, cleanStart, i);
+            int codePoint = value.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+                // unpaired surrogate is encoded the same way as in String.getBytes
+                codePoint = '?';
+            }
+            appendUtf8PercentEncoded(codePoint, out);
+            cleanStart = i;
+        }
+        out.append(value, cleanStart, end);
+    }
+
+    private static boolean isPercentEncoded(String value, int index, int end) {
+        return index + 2 < end
+                && Character.digit(value.charAt(index + 1), 16) >= 0
+                && Character.digit(value.charAt(index + 2), 16) >= 0;
+    }
+
+    private static void appendUtf8PercentEncoded(int codePoint, StringBuilder out) {
+        if (codePoint < 0x80) {
+            appendPercentEncoded(codePoint, out);
+        } else if (codePoint < 0x800) {
+            appendPercentEncoded(0xC0 | (codePoint >> 6), out);
+            appendPercentEncoded(0x80 | (codePoint & 0x3F), out);
+        } else if (codePoint < 0x10000) {
+            appendPercentEncoded(0xE0 | (codePoint >> 12), out);
+            appendPercentEncoded(0x80 | ((codePoint >> 6) & 0x3F), out);
+            appendPercentEncoded(0x80 | (codePoint & 0x3F), out);
+        } else {
+            appendPercentEncoded(0xF0 | (codePoint >> 18), out);
+            appendPercentEncoded(0x80 | ((codePoint >> 12) & 0x3F), out);
+            appendPercentEncoded(0x80 | ((codePoint >> 6) & 0x3F), out);
+            appendPercentEncoded(0x80 | (codePoint & 0x3F), out);
+        }
+    }
+
+    private static void appendPercentEncoded(int b, StringBuilder out) {
+        out.append('%')
+                .append(HEX_DIGITS[(b >> 4) & 0xF])
+                .append(HEX_DIGITS[b & 0xF]);
+    }
+
+    private static boolean[] asciiTable(String chars) {
+        boolean[] table = new boolean[128];
+        for (int i = 0; i < chars.length(); i++) {
+            table[chars.charAt(i)] = true;
+        }
+        return table;
+    }
+
+    private static final class UriTemplateParser {
+        private final String template;
+        private final List<Part> parts = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+
+        UriTemplateParser(String template) {
+            this.template = template;
+        }
+
+        UriTemplate parse() {
+            int literalStart = 0;
+            int i = 0;
+            while (i < template.length()) {
+                char c = template.charAt(i);
+                if (c == '}') {
+                    throw invalidTemplate("Unexpected '}' at position " + i);
+                }
+                if (c != '{') {
+                    i++;
+                    continue;
+                }
+                appendLiteral(literalStart, i);
+                int end = template.indexOf('}', i + 1);
+                if (end < 0) {
+                    throw invalidTemplate("Unclosed expression at position " + i);
+                }
+                flushLiteral();
+                parts.add(parseExpression(i + 1, end));
+                i = end + 1;
+                literalStart = i;
+            }
+            appendLiteral(literalStart, template.length());
+            flushLiteral();
+            return new UriTemplate(template, parts);
+        }
+
+        private void appendLiteral(int start, int end) {
+            if (start < end) {
+                encode(template.substring(start, end), true, literal);
+            }
+        }
+
+        private void flushLiteral() {
+            if (literal.length() > 0) {
+                parts.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+
+        private Expression parseExpression(int start, int end) {
+            if (start == end) {
+                throw invalidTemplate("Empty expression at position " + (start - 1));
+            }
+            Operator operator = parseOperator(template.charAt(start));
+            int position = operator == Operator.SIMPLE ? start : start + 1;
+            List<VarSpec> varSpecs = new ArrayList<>();
+            while (true) {
+                int varSpecEnd = template.indexOf(',', position);
+                if (varSpecEnd < 0 || varSpecEnd > end) {
+                    varSpecEnd = end;
+                }
+                varSpecs.add(parseVarSpec(position, varSpecEnd));
+                if (varSpecEnd == end) {
+                    break;
+                }
+                position = varSpecEnd + 1;
+            }
+            return new Expression(operator, varSpecs);
+        }
+
+        private Operator parseOperator(char c) {
+            switch (c) {
+                case '+':
+                    return Operator.RESERVED;
+                case '#':
+                    return Operator.FRAGMENT;
+                case '.':
+                    return Operator.LABEL;
+                case '/':
+                    return Operator.PATH;
+                case ';':
+                    return Operator.PATH_PARAM;
+                case '?':
+                    return Operator.QUERY;
+                case '&':
+                    return Operator.QUERY_CONTINUATION;
+                case '=':
+                case ',':
+                case '!':
+                case '@':
+                case '|':
+                    throw invalidTemplate("Reserved operator '" + c + "' is not supported");
+                default:
+                    return Operator.SIMPLE;
+            }
+        }
+
+        private VarSpec parseVarSpec(int start, int end) {
+            int nameEnd = start;
+            while (nameEnd < end && template.charAt(nameEnd) != ':' && template.charAt(nameEnd) != '*') {
+                nameEnd++;
+            }
+            String name = template.substring(start, nameEnd);
+            checkVarName(name);
+            if (nameEnd == end) {
+                return new VarSpec(name, 0, false);
+            }
+            if (template.charAt(nameEnd) == '*') {
+                if (nameEnd + 1 != end) {
+                    throw invalidTemplate("Invalid explode modifier in variable: " + template.substring(start, end));
+                }
+                return new VarSpec(name, 0, true);
+            }
+            return new VarSpec(name, parsePrefixLength(nameEnd + 1, end), false);
+        }
+
+        private int parsePrefixLength(int start, int end) {
+            if (start == end || end - start > 4 || template.charAt(start) == '0') {
+                throw invalidTemplate("Invalid prefix modifier: " + template.substring(start, end));
+            }
+            int length = 0;
+            for (int i = start; i < end; i++) {
+                char c = template.charAt(i);
+                if (c < '0' || c > '9') {
+                    throw invalidTemplate("Invalid prefix modifier: " + template.substring(start, end));
+                }
+                length = length * 10 + (c - '0');
+            }
+            return Math.min(length, MAX_PREFIX_LENGTH);
+        }
+
+        private void checkVarName(String name) {
+            if (name.isEmpty()) {
+                throw invalidTemplate("Empty variable name");
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '%' && isPercentEncoded(name, i, name.length())) {
+                    i += 2;
+                } else if (c == '.' && i > 0 && i < name.length() - 1 && name.charAt(i - 1) != '.') {
+                    continue;
+                } else if (!isVarChar(c)) {
+                    throw invalidTemplate("Invalid variable name: " + name);
+                }
+            }
+        }
+
+        private static boolean isVarChar(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+        }
+
+        private InvalidUriTemplateException invalidTemplate(String message) {
+            return new InvalidUriTemplateException("Invalid URI template \"" + template + "\". " + message);
+        }
+    }
+}
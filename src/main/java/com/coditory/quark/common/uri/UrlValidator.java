@@ -3,13 +3,16 @@ package com.coditory.quark.common.uri;
 import com.coditory.quark.common.util.Strings;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.coditory.quark.common.check.Args.checkNotNull;
-import static com.coditory.quark.common.net.InetAddressValidator.isValidInetAddress;
+import static com.coditory.quark.common.uri.UriRanges.QUERY_PARAM_RANGE_SIZE;
 
+/**
+ * Validates urls with character class scans over the raw input.
+ * Invalid input is reported without building {@link UriComponents} and without exceptions.
+ */
 public final class UrlValidator {
     private static final UrlValidator INSTANCE = builder().build();
 
@@ -25,23 +28,18 @@ public final class UrlValidator {
         return INSTANCE.isValid(uriComponents);
     }
 
-    private static final String ALPHA_CHARS = "a-zA-Z";
+    private static final String PATH_CHARS = "-:@&?=+,.!/~*'%$_;";
+    private static final boolean[] PATH_ALLOWED = new boolean[128];
+    private static final int MAX_PORT = 0xFFFF;
 
-    private static final String SPECIAL_CHARS = ";/@&=,.?:+$";
-
-    private static final String VALID_CHARS = "[^\\s" + SPECIAL_CHARS + "]";
-
-    private static final String ATOM = VALID_CHARS + '+';
-
-    private static final Pattern SCHEME_PATTERN = Pattern.compile("^\\p{Alpha}[\\p{Alnum}\\+\\-\\.]*");
-
-    private static final Pattern PATH_PATTERN = Pattern.compile("^(/[-\\w:@&?=+,.!/~*'%$_;]*)?$");
-
-    private static final Pattern DOMAIN_PATTERN = Pattern.compile("^" + ATOM + "(\\." + ATOM + ")*$");
-
-    private static final Pattern ATOM_PATTERN = Pattern.compile("^(" + ATOM + ").*?$");
-
-    private static final Pattern ALPHA_PATTERN = Pattern.compile("^[" + ALPHA_CHARS + "]");
+    static {
+        for (char c = 0; c < 128; c++) {
+            PATH_ALLOWED[c] = (c >= 'a' && c <= 'z')
+                    || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9')
+                    || PATH_CHARS.indexOf(c) >= 0;
+        }
+    }
 
     private final boolean allowFragments;
     private final Set<String> allowedSchemes;
@@ -53,14 +51,18 @@ public final class UrlValidator {
 
     public boolean isValid(String url) {
         checkNotNull(url, "url");
-        UriComponents uriComponents;
-        try {
-            uriComponents = UriBuilder.parseUri(url)
-                    .build();
-        } catch (Exception e) {
-            return false;
+        UriRanges ranges = UriRanges.scan(url);
+        return ranges != null && isValid(url, ranges);
+    }
+
+    public boolean[] validateAll(List<String> urls) {
+        checkNotNull(urls, "urls");
+        boolean[] result = new boolean[urls.size()];
+        int i = 0;
+        for (String url : urls) {
+            result[i++] = url != null && isValid(url);
         }
-        return isValid(uriComponents);
+        return result;
     }
 
     public boolean isValid(UriComponents uriComponents) {
@@ -80,74 +82,201 @@ public final class UrlValidator {
         return true;
     }
 
-    boolean isValidScheme(@Nullable String scheme) {
-        if (scheme == null) {
+    private boolean isValid(String url, UriRanges ranges) {
+        if (!ranges.hasScheme() || ranges.opaque || !ranges.hasAuthority()) {
+            return false;
+        }
+        return isValidScheme(url, 0, ranges.schemeEnd)
+                && (ranges.userInfoStart < 0 || UriRfc.USER_INFO.isValidEncoded(url, ranges.userInfoStart, ranges.userInfoEnd))
+                && isValidHost(url, ranges.hostStart, ranges.hostEnd)
+                && (ranges.portStart < 0 || isValidPort(url, ranges.portStart, ranges.portEnd))
+                && isValidPath(url, ranges.pathStart, ranges.pathEnd)
+                && (ranges.queryStart < 0 || isValidQuery(url, ranges.queryStart, ranges.queryEnd))
+                && (ranges.fragmentStart < 0 || isValidFragment(url, ranges.fragmentStart, url.length()));
+    }
+
+    private boolean isValidScheme(String url, int start, int end) {
+        if (!UriRfc.SCHEME.isValidEncoded(url, start, end)) {
             return false;
         }
-        if (!SCHEME_PATTERN.matcher(scheme).matches()) {
+        if (UriRfc.SCHEME.isEncoded(url, start, end)) {
+            String scheme = UriRfc.SCHEME.decode(url.substring(start, end));
+            return Strings.isNotBlank(scheme) && isValidScheme(Strings.lowerCase(scheme));
+        }
+        if (!UriPartValidator.isValidScheme(url, start, end)) {
             return false;
         }
-        return allowedSchemes == null || allowedSchemes.contains(scheme);
+        for (String allowed : allowedSchemes) {
+            if (equalsLowerCased(allowed, url, start, end)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    boolean isValidHost(@Nullable String host) {
-        if (Strings.isNullOrEmpty(host)) {
+    private static boolean equalsLowerCased(String expected, String source, int start, int end) {
+        if (expected.length() != end - start) {
             return false;
         }
-        boolean hostname = false;
-        boolean ipV4Address = isValidInetAddress(host);
-        if (!ipV4Address) {
-            hostname = DOMAIN_PATTERN.matcher(host).matches();
+        for (int i = 0; i < expected.length(); i++) {
+            char c = source.charAt(start + i);
+            char lower = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            if (expected.charAt(i) != lower) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidHost(String url, int start, int end) {
+        if (!UriRfc.HOST.isValidEncoded(url, start, end)) {
+            return false;
         }
-        if (hostname) {
-            char[] chars = host.toCharArray();
-            int size = 1;
-            for (char element : chars) {
-                if (element == '.') {
-                    size++;
+        if (UriRfc.HOST.isEncoded(url, start, end)) {
+            String host = UriRfc.HOST.decode(url.substring(start, end));
+            return Strings.isNotBlank(host) && UriPartValidator.isValidHost(Strings.lowerCase(host));
+        }
+        return start < end && UriPartValidator.isValidHost(url, start, end);
+    }
+
+    private static boolean isValidPort(String url, int start, int end) {
+        if (!UriRfc.PORT.isValidEncoded(url, start, end)) {
+            return false;
+        }
+        if (UriRfc.PORT.isEncoded(url, start, end)) {
+            Integer port = parseIntegerOrNull(UriRfc.PORT.decode(url.substring(start, end)));
+            return port != null && (port == -1 || UriPartValidator.isValidPort(port));
+        }
+        if (start == end) {
+            return false;
+        }
+        int port = 0;
+        for (int i = start; i < end; i++) {
+            port = port * 10 + (url.charAt(i) - '0');
+            if (port > MAX_PORT) {
+                return false;
+            }
+        }
+        return UriPartValidator.isValidPort(port);
+    }
+
+    @Nullable
+    private static Integer parseIntegerOrNull(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Validates raw path segments against the same rules as {@link #isValidPath(String)}
+     * applied to the re-encoded path of parsed components.
+     */
+    private static boolean isValidPath(String url, int start, int end) {
+        int segments = 0;
+        int dot2Count = 0;
+        boolean previousDot = false;
+        int segmentStart = start;
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '/') {
+                if (i > segmentStart && !UriRfc.PATH_SEGMENT.isValidEncoded(url, segmentStart, i)) {
+                    return false;
                 }
+                segments += i > segmentStart ? 1 : 0;
+                segmentStart = i + 1;
+                previousDot = false;
+                continue;
             }
-            String[] domainSegment = new String[size];
-            boolean match = true;
-            int segmentCount = 0;
-            int segmentLength = 0;
-            while (match) {
-                Matcher atomMatcher = ATOM_PATTERN.matcher(host);
-                match = atomMatcher.matches();
-                if (match) {
-                    domainSegment[segmentCount] = atomMatcher.group(1);
-                    segmentLength = domainSegment[segmentCount].length() + 1;
-                    host =
-                            (segmentLength >= host.length())
-                                    ? ""
-                                    : host.substring(segmentLength);
-
-                    segmentCount++;
+            if (c == '%' && i + 2 < end) {
+                // invalid sequences are left for the segment validation
+                int high = Character.digit(url.charAt(i + 1), 16);
+                int low = Character.digit(url.charAt(i + 2), 16);
+                if (high >= 0 && low >= 0) {
+                    c = (char) ((high << 4) | low);
+                    i += 2;
                 }
             }
-            String topLevel = domainSegment[segmentCount - 1];
-            if (topLevel.length() < 2 || topLevel.length() > 4) {
+            if (c == '(' || c == ')') {
                 return false;
             }
-            if (!ALPHA_PATTERN.matcher(topLevel.substring(0, 1)).matches()) {
+            boolean dot = c == '.';
+            dot2Count += dot && previousDot ? 1 : 0;
+            previousDot = dot;
+        }
+        if (end > segmentStart) {
+            if (!UriRfc.PATH_SEGMENT.isValidEncoded(url, segmentStart, end)) {
                 return false;
             }
-            if (segmentCount < 2) {
+            segments++;
+        }
+        // host is required, so the path is rooted and each segment is preceded by a slash
+        return dot2Count <= 0 || (segments - 2) > dot2Count;
+    }
+
+    private static boolean isValidQuery(String url, int start, int end) {
+        if (!UriRfc.QUERY.isValidEncoded(url, start, end)) {
+            return false;
+        }
+        int[] ranges = UriRanges.scanQueryParams(url, start, end);
+        for (int i = 0; i < ranges.length; i += QUERY_PARAM_RANGE_SIZE) {
+            int nameStart = ranges[i];
+            int nameEnd = ranges[i + 1];
+            if (!UriRfc.QUERY_PARAM.isValidEncoded(url, nameStart, nameEnd)
+                    || !UriRfc.QUERY_PARAM.isValidEncoded(url, ranges[i + 2], ranges[i + 3])) {
+                return false;
+            }
+            if (UriRfc.QUERY_PARAM.isEncoded(url, nameStart, nameEnd)
+                    && UriRfc.QUERY_PARAM.decode(url.substring(nameStart, nameEnd)).trim().isEmpty()) {
                 return false;
             }
         }
-        return hostname || ipV4Address;
+        return true;
+    }
+
+    private boolean isValidFragment(String url, int start, int end) {
+        return UriRfc.FRAGMENT.isValidEncoded(url, start, end)
+                && (start == end || allowFragments);
+    }
+
+    boolean isValidScheme(@Nullable String scheme) {
+        if (scheme == null) {
+            return false;
+        }
+        if (!UriPartValidator.isValidScheme(scheme)) {
+            return false;
+        }
+        return allowedSchemes == null || allowedSchemes.contains(scheme);
+    }
+
+    boolean isValidHost(@Nullable String host) {
+        if (Strings.isNullOrEmpty(host)) {
+            return false;
+        }
+        return UriPartValidator.isValidHost(host);
     }
 
     boolean isValidPath(@Nullable String path) {
         if (Strings.isNullOrEmpty(path)) {
             return true;
         }
-        if (!PATH_PATTERN.matcher(path).matches()) {
+        if (path.charAt(0) != '/') {
             return false;
         }
-        int slashCount = countToken("/", path);
-        int dot2Count = countToken("..", path);
+        int slashCount = 0;
+        int dot2Count = 0;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c >= 128 || !PATH_ALLOWED[c]) {
+                return false;
+            }
+            if (c == '/') {
+                slashCount++;
+            } else if (c == '.' && i > 0 && path.charAt(i - 1) == '.') {
+                dot2Count++;
+            }
+        }
         return dot2Count <= 0 || (slashCount - 2) > dot2Count;
     }
 
@@ -155,19 +284,6 @@ public final class UrlValidator {
         return fragment == null || allowFragments;
     }
 
-    private int countToken(String token, String target) {
-        int tokenIndex = 0;
-        int count = 0;
-        while (tokenIndex != -1) {
-            tokenIndex = target.indexOf(token, tokenIndex);
-            if (tokenIndex > -1) {
-                tokenIndex++;
-                count++;
-            }
-        }
-        return count;
-    }
-
     public static UrlValidatorBuilder builder() {
         return new UrlValidatorBuilder();
     }
@@ -16,6 +16,10 @@ import static com.coditory.quark.common.check.Args.checkPositive;
 
 public final class Doubles {
     private static final double[] EMPTY_DOUBLE_ARRAY = new double[0];
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
 
     private Doubles() {
         throw new UnsupportedOperationException("Do not instantiate utility class");
@@ -230,4 +234,104 @@ public final class Doubles {
     public static Optional<Double> parseDoubleOrEmpty(@Nullable String value) {
         return Optional.ofNullable(parseDoubleOrNull(value));
     }
+
+    public static double parseDouble(char[] chars, int offset, int length) {
+        checkNotNull(chars, "chars");
+        double result = parseDoubleOrNaN(chars, offset, length);
+        if (Double.isNaN(result)) {
+            String value = new String(chars, offset, Math.max(length, 0));
+            throw new IllegalArgumentException("Could not parse Double value: '" + value + "'");
+        }
+        return result;
+    }
+
+    public static double parseDoubleOrDefault(char[] chars, int offset, int length, double defaultValue) {
+        checkNotNull(chars, "chars");
+        double result = parseDoubleOrNaN(chars, offset, length);
+        return Double.isNaN(result) ? defaultValue : result;
+    }
+
+    private static double parseDoubleOrNaN(char[] chars, int offset, int length) {
+        if (length <= 0) {
+            return Double.NaN;
+        }
+        int end = offset + length;
+        int pos = offset;
+        boolean negative = chars[pos] == '-';
+        if (negative || chars[pos] == '+') {
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean dot = false;
+        while (pos < end) {
+            char c = chars[pos];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                    if (significantDigits > 15) {
+                        return parseDoubleSlowPath(chars, offset, length);
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (dot) {
+                    exponent--;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (digits == 0) {
+            return parseDoubleSlowPath(chars, offset, length);
+        }
+        if (pos < end && (chars[pos] == 'e' || chars[pos] == 'E')) {
+            pos++;
+            boolean negativeExponent = pos < end && chars[pos] == '-';
+            if (negativeExponent || pos < end && chars[pos] == '+') {
+                pos++;
+            }
+            int exponentStart = pos;
+            int explicitExponent = 0;
+            while (pos < end && chars[pos] >= '0' && chars[pos] <= '9' && explicitExponent < 1000) {
+                explicitExponent = explicitExponent * 10 + (chars[pos++] - '0');
+            }
+            if (pos == exponentStart) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (pos != end) {
+            return parseDoubleSlowPath(chars, offset, length);
+        }
+        double result;
+        if (mantissa == 0) {
+            result = 0;
+        } else if (exponent >= 0 && exponent < EXACT_POWERS_OF_TEN.length) {
+            // mantissa < 10^15 < 2^53 so both operands are exact and result is correctly rounded
+            result = mantissa * EXACT_POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < EXACT_POWERS_OF_TEN.length) {
+            result = mantissa / EXACT_POWERS_OF_TEN[-exponent];
+        } else {
+            return parseDoubleSlowPath(chars, offset, length);
+        }
+        if (!Double.isFinite(result)) {
+            return Double.NaN;
+        }
+        return negative ? -result : result;
+    }
+
+    private static double parseDoubleSlowPath(char[] chars, int offset, int length) {
+        try {
+            double result = Double.parseDouble(new String(chars, offset, length));
+            return Double.isFinite(result) ? result : Double.NaN;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
 }
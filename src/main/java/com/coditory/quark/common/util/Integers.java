@@ -206,4 +206,53 @@ public final class Integers {
     public static Optional<Integer> parseIntegerOrEmpty(@Nullable String value) {
         return Optional.ofNullable(parseIntegerOrNull(value));
     }
+
+    public static int parseInteger(char[] chars, int offset, int length) {
+        checkNotNull(chars, "chars");
+        return parseInteger(chars, offset, length, true, 0);
+    }
+
+    public static int parseIntegerOrDefault(char[] chars, int offset, int length, int defaultValue) {
+        checkNotNull(chars, "chars");
+        return parseInteger(chars, offset, length, false, defaultValue);
+    }
+
+    private static int parseInteger(char[] chars, int offset, int length, boolean strict, int defaultValue) {
+        int end = offset + length;
+        int pos = offset;
+        if (length <= 0) {
+            return invalidInteger(chars, offset, length, strict, defaultValue);
+        }
+        boolean negative = chars[pos] == '-';
+        if (negative || chars[pos] == '+') {
+            pos++;
+            if (pos == end) {
+                return invalidInteger(chars, offset, length, strict, defaultValue);
+            }
+        }
+        // accumulating negatively, to handle Integer.MIN_VALUE
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        while (pos < end) {
+            int digit = chars[pos++] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return invalidInteger(chars, offset, length, strict, defaultValue);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return invalidInteger(chars, offset, length, strict, defaultValue);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static int invalidInteger(char[] chars, int offset, int length, boolean strict, int defaultValue) {
+        if (strict) {
+            String value = new String(chars, offset, Math.max(length, 0));
+            throw new IllegalArgumentException("Could not parse Integer value: '" + value + "'");
+        }
+        return defaultValue;
+    }
 }
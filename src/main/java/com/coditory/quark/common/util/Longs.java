@@ -224,4 +224,53 @@ public final class Longs {
                 : decimalFormat.format(number / entry.getKey());
         return formattedNumber + entry.getValue();
     }
+
+    public static long parseLong(char[] chars, int offset, int length) {
+        checkNotNull(chars, "chars");
+        return parseLong(chars, offset, length, true, 0);
+    }
+
+    public static long parseLongOrDefault(char[] chars, int offset, int length, long defaultValue) {
+        checkNotNull(chars, "chars");
+        return parseLong(chars, offset, length, false, defaultValue);
+    }
+
+    private static long parseLong(char[] chars, int offset, int length, boolean strict, long defaultValue) {
+        int end = offset + length;
+        int pos = offset;
+        if (length <= 0) {
+            return invalidLong(chars, offset, length, strict, defaultValue);
+        }
+        boolean negative = chars[pos] == '-';
+        if (negative || chars[pos] == '+') {
+            pos++;
+            if (pos == end) {
+                return invalidLong(chars, offset, length, strict, defaultValue);
+            }
+        }
+        // accumulating negatively, to handle Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        while (pos < end) {
+            int digit = chars[pos++] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return invalidLong(chars, offset, length, strict, defaultValue);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return invalidLong(chars, offset, length, strict, defaultValue);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static long invalidLong(char[] chars, int offset, int length, boolean strict, long defaultValue) {
+        if (strict) {
+            String value = new String(chars, offset, Math.max(length, 0));
+            throw new IllegalArgumentException("Could not parse Long value: '" + value + "'");
+        }
+        return defaultValue;
+    }
 }
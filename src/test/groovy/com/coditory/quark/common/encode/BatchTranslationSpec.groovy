@@ -0,0 +1,50 @@
+package com.coditory.quark.common.encode
+
+import com.coditory.quark.common.encode.csv.CsvCodec
+import spock.lang.Specification
+
+import java.util.concurrent.ForkJoinPool
+import java.util.stream.Collectors
+
+class BatchTranslationSpec extends Specification {
+    static List<String> inputs = (0..<5000).collect { it % 3 == 0 ? "a,\"b\" $it".toString() : "plain $it".toString() }
+    static List<String> encoded = inputs.collect { CsvCodec.encode(it) }
+
+    def "should encode and decode list in order"() {
+        expect:
+            CsvCodec.getInstance().encodeAll(inputs) == encoded
+            CsvCodec.getInstance().decodeAll(encoded) == inputs
+    }
+
+    def "should encode list in parallel in order"() {
+        given:
+            ForkJoinPool pool = new ForkJoinPool(4)
+        expect:
+            CsvCodec.getInstance().encodeAll(inputs, pool) == encoded
+            CsvCodec.getInstance().decodeAll(encoded, pool) == inputs
+        cleanup:
+            pool.shutdown()
+    }
+
+    def "should encode array into output array"() {
+        given:
+            String[] out = new String[inputs.size()]
+        when:
+            CsvCodec.getInstance().encodeAll(inputs as String[], out)
+        then:
+            out.toList() == encoded
+    }
+
+    def "should encode parallel stream in order"() {
+        expect:
+            CsvCodec.getInstance().encodeAll(inputs.parallelStream())
+                    .collect(Collectors.toList()) == encoded
+    }
+
+    def "should fail on too small output array"() {
+        when:
+            CsvCodec.getInstance().encodeAll(["a", "b"] as String[], new String[1])
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,97 @@
+package com.coditory.quark.common.encode
+
+import com.coditory.quark.common.encode.csv.CsvCodec
+import com.coditory.quark.common.encode.percent.PercentCodec
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+
+import static java.nio.charset.StandardCharsets.UTF_8
+
+class ByteTranslationCodecSpec extends Specification {
+    static List<String> inputs = [
+            "",
+            "any carnal pleasure",
+            'hello "John" & <Jane>',
+            "a,b\nc\td",
+            "Zażółć gęślą jaźń",
+            "a語b 🌉 €"
+    ]
+
+    @Unroll
+    def "should encode bytes the same way as string: #name"() {
+        expect:
+            inputs.every {
+                new String(byteCodec.encode(it.getBytes(UTF_8)), UTF_8) == codec.encode(it)
+            }
+        where:
+            name      | codec                     | byteCodec
+            "percent" | PercentCodec.getInstance() | PercentCodec.getByteCodec()
+            "json"    | JsonCodec.getInstance()    | JsonCodec.getByteCodec()
+            "html"    | Html4Codec.getInstance()   | Html4Codec.getByteCodec()
+            "csv"     | CsvCodec.getInstance()     | CsvCodec.getByteCodec()
+            "base64"  | Base64Codec.getInstance()  | Base64Codec.getByteCodec()
+    }
+
+    @Unroll
+    def "should decode bytes the same way as string: #name"() {
+        expect:
+            inputs.every {
+                String encoded = codec.encode(it)
+                new String(byteCodec.decode(encoded.getBytes(UTF_8)), UTF_8) == it
+            }
+        where:
+            name      | codec                     | byteCodec
+            "percent" | PercentCodec.getInstance() | PercentCodec.getByteCodec()
+            "json"    | JsonCodec.getInstance()    | JsonCodec.getByteCodec()
+            "html"    | Html4Codec.getInstance()   | Html4Codec.getByteCodec()
+            "csv"     | CsvCodec.getInstance()     | CsvCodec.getByteCodec()
+            "base64"  | Base64Codec.getInstance()  | Base64Codec.getByteCodec()
+    }
+
+    @Unroll
+    def "should decode escapes to UTF-8 bytes: #input"() {
+        expect:
+            new String(byteCodec.decode(input.getBytes(UTF_8)), UTF_8) == output
+        where:
+            byteCodec                   | input                 || output
+            JsonCodec.getByteCodec()    | "\\uD83C\\uDF09\\u00e9" || "🌉é"
+            Html4Codec.getByteCodec()   | "&#x1F309;&euro;&amp" || "🌉€&amp"
+            PercentCodec.getByteCodec() | "%F0%9F%8C%89%C3%A9"  || "🌉é"
+    }
+
+    def "should percent encode malformed UTF-8 byte by byte"() {
+        given:
+            byte[] input = [0xC3, 0x61, 0xE4] as byte[]
+        when:
+            byte[] encoded = PercentCodec.getByteCodec().encode(input)
+        then:
+            new String(encoded, UTF_8) == "%C3a%E4"
+            PercentCodec.getByteCodec().decode(encoded) == input
+    }
+
+    def "should return the same array when nothing changes"() {
+        given:
+            byte[] input = "plain".getBytes(UTF_8)
+        expect:
+            JsonCodec.getByteCodec().encode(input).is(input)
+            Html4Codec.getByteCodec().decode(input).is(input)
+    }
+
+    def "should translate byte array slice and direct byte buffer"() {
+        given:
+            byte[] input = "xx\"語\"yy".getBytes(UTF_8)
+            ByteBuffer buffer = ByteBuffer.allocateDirect(input.length)
+            buffer.put(input).flip().position(2).limit(input.length - 2)
+            ByteBuilder fromArray = new ByteBuilder()
+            ByteBuilder fromBuffer = new ByteBuilder()
+        when:
+            JsonCodec.getByteCodec().encode(input, 2, input.length - 4, fromArray)
+            JsonCodec.getByteCodec().encode(buffer, fromBuffer)
+        then:
+            fromArray.toString() == '\\"\\u8A9E\\"'
+            fromBuffer.toString() == '\\"\\u8A9E\\"'
+            !buffer.hasRemaining()
+    }
+}
@@ -0,0 +1,43 @@
+package com.coditory.quark.common.encode
+
+import com.coditory.quark.common.encode.csv.CsvCodec
+import com.coditory.quark.common.encode.percent.PercentCodec
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.CharBuffer
+
+class CharSequenceTranslationSpec extends Specification {
+    static String input = 'a "b" & <c> 語 🌉 \\n %41'
+
+    @Unroll
+    def "should translate char sequence and char array slice: #name"() {
+        given:
+            String expected = codec.encode(input)
+            char[] chars = ("xx" + input + "yy").toCharArray()
+        expect:
+            codec.getEncoder().translate(new StringBuilder(input)) == expected
+            codec.getEncoder().translate(CharBuffer.wrap(chars, 2, input.length())) == expected
+            codec.getEncoder().translate(chars, 2, input.length()) == expected
+        and:
+            codec.getDecoder().translate(new StringBuilder(expected)) == input
+            codec.getDecoder().translate(expected.toCharArray(), 0, expected.length()) == input
+        where:
+            name      | codec
+            "json"    | JsonCodec.getInstance()
+            "java"    | JavaCodec.getInstance()
+            "html"    | Html4Codec.getInstance()
+            "percent" | PercentCodec.getInstance()
+            "csv"     | CsvCodec.getInstance()
+    }
+
+    def "should append translated char sequence to output"() {
+        given:
+            StringBuilder out = new StringBuilder("> ")
+        when:
+            boolean changed = Html4Codec.getInstance().decode(CharBuffer.wrap("&lt;p&gt;"), out)
+        then:
+            changed
+            out.toString() == "> <p>"
+    }
+}
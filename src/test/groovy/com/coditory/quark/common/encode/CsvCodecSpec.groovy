@@ -39,4 +39,14 @@ class CsvCodecSpec extends Specification {
             ","                        || "\",\""
             "He didn't say, \"stop!\"" || "\"He didn't say, \"\"stop!\"\"\""
     }
+
+    def "should append single quote character to output builder"() {
+        given:
+            StringBuilder out = new StringBuilder("a")
+        when:
+            boolean changed = CsvCodec.decode("\"", out)
+        then:
+            !changed
+            out.toString() == "a\""
+    }
 }
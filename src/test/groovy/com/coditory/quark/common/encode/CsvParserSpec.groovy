@@ -0,0 +1,181 @@
+package com.coditory.quark.common.encode
+
+import com.coditory.quark.common.base.UsesFiles
+import com.coditory.quark.common.encode.csv.CsvCodec
+import com.coditory.quark.common.encode.csv.CsvFileParser
+import com.coditory.quark.common.encode.csv.CsvParser
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+
+class CsvParserSpec extends Specification implements UsesFiles {
+    @Unroll
+    def "should parse csv: #input"() {
+        expect:
+            CsvParser.getInstance().parse(input) == output
+        where:
+            input                         || output
+            ""                            || []
+            "a"                           || [["a"]]
+            "a,b\nc,d"                    || [["a", "b"], ["c", "d"]]
+            "a,b\r\nc,d\r\n"              || [["a", "b"], ["c", "d"]]
+            "a,,\n\nb"                    || [["a", "", ""], ["b"]]
+            "\"a,b\",c"                   || [["a,b", "c"]]
+            "\"a\nb\",c"                  || [["a\nb", "c"]]
+            "\"say \"\"hi\"\"\",x"        || [["say \"hi\"", "x"]]
+            "\"\",x"                      || [["", "x"]]
+    }
+
+    def "should parse tsv"() {
+        expect:
+            CsvParser.forSeparator('\t' as char).parse("a\tb,c\n\"x\ty\"\tz") == [["a", "b,c"], ["x\ty", "z"]]
+    }
+
+    def "should parse projected columns"() {
+        given:
+            String input = "id,name,price\n1,\"a,b\",2.5\n2,c,3"
+        expect:
+            CsvParser.getInstance().withColumns(2, 0).parse(input) == [["price", "id"], ["2.5", "1"], ["3", "2"]]
+            CsvParser.getInstance().withColumns("price", "name").parse(input) == [["2.5", "a,b"], ["3", "c"]]
+    }
+
+    def "should decode projected columns to primitives"() {
+        given:
+            List<String> result = []
+        when:
+            CsvParser.getInstance()
+                    .withColumns("id", "price")
+                    .parse("id,name,price\n1,a,2.5\n2,b,", { result.add(it.getLong(0) + ":" + it.getDoubleOrDefault(1, -1d)) })
+        then:
+            result == ["1:2.5", "2:-1.0"]
+    }
+
+    def "should return null for projected column missing from short record"() {
+        given:
+            List<String> missing = []
+        when:
+            List<List<String>> result = CsvParser.getInstance()
+                    .withColumns("id", "price")
+                    .parse("id,name,price\n1,a,2.5\n2,b")
+            CsvParser.getInstance()
+                    .withColumns("id", "price")
+                    .parse("id,name,price\n2,b", { missing.add(it.getString(1)) })
+        then:
+            result == [["1", "2.5"], ["2", null]]
+            missing == [null]
+        when:
+            CsvParser.getInstance()
+                    .withColumns("id", "price")
+                    .parse("id,name,price\n2,b", { it.getDouble(1) })
+        then:
+            IllegalArgumentException e = thrown(IllegalArgumentException)
+            e.message == "Missing column in csv record: 1"
+    }
+
+    def "should fail on missing projected column"() {
+        when:
+            CsvParser.getInstance().withColumns("other").parse("id,name\n1,a")
+        then:
+            IllegalArgumentException e = thrown(IllegalArgumentException)
+            e.message == "Missing column in csv header: other"
+    }
+
+    def "should parse csv file in chunks split on record boundaries"() {
+        given:
+            List<List<String>> records = (0..<1000).collect {
+                it % 3 == 0
+                        ? ["$it".toString(), "multi\nline \"quoted\", value", "end"]
+                        : ["$it".toString(), "value", "end"]
+            }
+            File file = writeFile("input.csv", encode(records))
+            CsvFileParser parser = CsvFileParser.builder()
+                    .chunkSize(101)
+                    .build()
+
+        when:
+            List<List<String>> ordered = parser.parse(file.toPath())
+        then:
+            ordered == records
+
+        when:
+            Queue<List<String>> unordered = new ConcurrentLinkedQueue<>()
+            parser.parseUnordered(file.toPath(), { unordered.add(it) })
+        then:
+            unordered.toSet() == records.toSet()
+    }
+
+    def "should split csv file with stray quotes as the serial parser"() {
+        given:
+            String input = (0..<200).collect { it % 4 == 0 ? "$it,ab\",\"x\ny\"" : "$it,a\"b,\"c\"d" }.join("\n")
+            File file = writeFile("input.csv", input)
+            CsvFileParser parser = CsvFileParser.builder()
+                    .chunkSize(7)
+                    .build()
+        expect:
+            parser.parse(file.toPath()) == CsvParser.getInstance().parse(input)
+    }
+
+    def "should skip byte order mark in csv file"() {
+        given:
+            File file = writeFile("input.csv", "\uFEFF\"a\nb\",c\nd,e")
+            CsvFileParser parser = CsvFileParser.builder()
+                    .chunkSize(2)
+                    .build()
+        expect:
+            parser.parse(file.toPath()) == [["a\nb", "c"], ["d", "e"]]
+    }
+
+    def "should skip blank lines before csv file header"() {
+        given:
+            File file = writeFile("input.csv", "\n\r\n\nid,value\n1,a\n\n2\n")
+            CsvFileParser parser = CsvFileParser.builder()
+                    .chunkSize(3)
+                    .columns("value")
+                    .build()
+        expect:
+            parser.parse(file.toPath()) == [["a"], [null]]
+    }
+
+    def "should propagate sink failure and cancel pending chunks"() {
+        given:
+            File file = writeFile("input.csv", (0..<1000).collect { "$it,value" }.join("\n"))
+            ForkJoinPool pool = new ForkJoinPool(2)
+            CsvFileParser parser = CsvFileParser.builder()
+                    .chunkSize(101)
+                    .pool(pool)
+                    .build()
+        when:
+            parser.parseOrdered(file.toPath(), { throw new IllegalStateException("sink failure") })
+        then:
+            IllegalStateException e = thrown(IllegalStateException)
+            e.message == "sink failure"
+            pool.awaitQuiescence(5, TimeUnit.SECONDS)
+        cleanup:
+            pool.shutdown()
+    }
+
+    def "should parse projected columns of csv file"() {
+        given:
+            String input = "id,value,name\n" + (0..<1000).collect { "$it,\"${it * 2}\",\"x\ny\"" }.join("\n")
+            File file = writeFile("input.csv", input)
+            CsvFileParser parser = CsvFileParser.builder()
+                    .chunkSize(101)
+                    .columns("value")
+                    .build()
+            LongAdder sum = new LongAdder()
+        when:
+            parser.forEachRowUnordered(file.toPath(), { sum.add(it.getLong(0)) })
+        then:
+            sum.sum() == (0..<1000).sum() * 2
+    }
+
+    private static String encode(List<List<String>> records) {
+        return records
+                .collect { record -> record.collect { CsvCodec.encode(it) }.join(",") }
+                .join("\n")
+    }
+}
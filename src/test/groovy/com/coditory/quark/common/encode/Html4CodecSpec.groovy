@@ -55,6 +55,20 @@ class Html4CodecSpec extends Specification {
             "&#x80;&#x9F;" || "\u0080\u009F"
     }
 
+    @Unroll
+    def "should decode out of range numeric entity as replacement char: #input"() {
+        expect:
+            Html4Codec.decode(input) == output
+        where:
+            input                      || output
+            "&#x1F309;"                || "🌉"
+            "&#1114111;"               || "\uDBFF\uDFFF"
+            "&#1114112;"               || "\uFFFD"
+            "&#x110000;"               || "\uFFFD"
+            "&#99999999999999999999;" || "\uFFFD"
+            "&#;&#x;&#12ab;"           || "&#;&#x;&#12ab;"
+    }
+
     @Unroll
     def "should decode special cases: #input"() {
         expect:
@@ -64,4 +78,44 @@ class Html4CodecSpec extends Specification {
             "&lt;P&O&gt;" || "<P&O>"
             "test & &lt;" || "test & <"
     }
+
+    @Unroll
+    def "should decode named and numeric entities in single pass: #input"() {
+        expect:
+            Html4Codec.decode(input) == output
+        where:
+            input                        || output
+            "&thetasym;&#65;&#x42;&euro;" || "\u03D1AB\u20AC"
+            "&frac12;&sup2;&there4;"      || "\u00BD\u00B2\u2234"
+            "&amp&amp;"                   || "&amp&"
+            "&AMP;&unknown;&;&"           || "&AMP;&unknown;&;&"
+            "&thetasymx;"                 || "&thetasymx;"
+    }
+
+    def "should decode every encoded html 4 entity"() {
+        given:
+            String input = (0x20..0x2030)
+                    .collect { new String(Character.toChars(it)) }
+                    .join()
+        expect:
+            Html4Codec.decode(Html4Codec.encode(input)) == input
+    }
+
+    def "should encode and decode every entity from the table"() {
+        given:
+            List<String> pairs = TranslationConstants.HTML_ENTITIES.toList()
+        expect:
+            pairs.collate(2).every { Html4Codec.encode(it[0]) == it[1] && Html4Codec.decode(it[1]) == it[0] }
+        and:
+            pairs.collate(2).collect { it[0] } == pairs.collate(2).collect { it[0] }.sort()
+    }
+
+    def "should match precomputed entity hash tables"() {
+        when:
+            HtmlEntityHashBuilder builder = HtmlEntityHashBuilder.build(TranslationConstants.HTML_ENTITIES)
+        then:
+            builder.getDisplacements() == HtmlEntityTables.DISPLACEMENTS
+            builder.getEntities() == HtmlEntityTables.ENTITIES
+            builder.getValues() == HtmlEntityTables.VALUES
+    }
 }
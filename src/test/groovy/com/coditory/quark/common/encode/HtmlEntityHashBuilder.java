@@ -0,0 +1,182 @@
+package com.coditory.quark.common.encode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import static com.coditory.quark.common.check.Args.check;
+import static com.coditory.quark.common.check.Args.checkNotNull;
+import static com.coditory.quark.common.encode.HtmlEntityDecoder.bucket;
+import static com.coditory.quark.common.encode.HtmlEntityDecoder.hash;
+import static com.coditory.quark.common.encode.HtmlEntityDecoder.isAlphanumeric;
+import static com.coditory.quark.common.encode.HtmlEntityDecoder.slot;
+
+/**
+ * Builds perfect hash tables for {@link HtmlEntityDecoder}.
+ * Test only, verifies and regenerates {@link HtmlEntityTables} with:
+ * {@code ./gradlew generateHtmlEntityTables}
+ */
+final class HtmlEntityHashBuilder {
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    /**
+     * Writes source of {@link HtmlEntityTables} built from {@link TranslationConstants#HTML_ENTITIES}
+     * to the file passed as the first argument or prints it when there is no argument.
+     */
+    public static void main(String[] args) throws IOException {
+        String source = build(TranslationConstants.HTML_ENTITIES).toSource();
+        if (args.length == 0) {
+            System.out.print(source);
+        } else {
+            Files.writeString(Path.of(args[0]), source);
+        }
+    }
+
+    /**
+     * @param pairs pairs of: character, entity in format {@code &name;}
+     */
+    static HtmlEntityHashBuilder build(String[] pairs) {
+        checkNotNull(pairs, "pairs");
+        check(pairs.length > 0 && pairs.length % 2 == 0, "Expected pairs of: character, entity");
+        for (int i = 0; i < pairs.length; i += 2) {
+            String entity = pairs[i + 1];
+            check(pairs[i].length() == 1, "Expected single character. Got: %s", pairs[i]);
+            check(entity.length() > 2 && entity.charAt(0) == '&' && entity.charAt(entity.length() - 1) == ';',
+                    "Expected entity in format: &name; Got: %s", entity);
+            for (int j = 1; j < entity.length() - 1; ++j) {
+                check(isAlphanumeric(entity.charAt(j)), "Expected alphanumeric entity name. Got: %s", entity);
+            }
+        }
+        HtmlEntityHashBuilder builder = new HtmlEntityHashBuilder(pairs.length / 2);
+        builder.buildPerfectHash(pairs);
+        return builder;
+    }
+
+    private final String[] entities;
+    private final char[] values;
+    private final int[] displacements;
+    private final int mask;
+
+    private HtmlEntityHashBuilder(int size) {
+        // half empty table, so displacements are found in a few attempts
+        int capacity = Integer.highestOneBit(size * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.entities = new String[capacity];
+        this.values = new char[capacity];
+        this.displacements = new int[(size + BUCKET_SIZE - 1) / BUCKET_SIZE];
+    }
+
+    String[] getEntities() {
+        return entities.clone();
+    }
+
+    char[] getValues() {
+        return values.clone();
+    }
+
+    int[] getDisplacements() {
+        return displacements.clone();
+    }
+
+    String toSource() {
+        StringBuilder out = new StringBuilder();
+        out.append("package com.coditory.quark.common.encode;\n\n")
+                .append("/**\n")
+                .append(" * Perfect hash tables of {@link TranslationConstants#HTML_ENTITIES} used by {@link HtmlEntityDecoder}.\n")
+                .append(" * Generated with HtmlEntityHashBuilder from test sources, regenerate them when the entity table changes:\n")
+                .append(" * {@code ./gradlew generateHtmlEntityTables}\n")
+                .append(" */\n")
+                .append("final class HtmlEntityTables {\n")
+                .append("    static final int[] DISPLACEMENTS = {\n");
+        appendRows(out, displacements.length, 12, i -> String.valueOf(displacements[i]));
+        out.append("    };\n\n")
+                .append("    static final String[] ENTITIES = {\n");
+        appendRows(out, entities.length, 8, i -> entities[i] == null ? "null" : "\"" + entities[i] + "\"");
+        out.append("    };\n\n")
+                .append("    static final char[] VALUES = {\n");
+        appendRows(out, values.length, 8, i -> String.format("'\\u%04X'", (int) values[i]));
+        out.append("    };\n\n")
+                .append("    private HtmlEntityTables() {\n")
+                .append("        throw new UnsupportedOperationException(\"Do not instantiate utility class\");\n")
+                .append("    }\n")
+                .append("}\n");
+        return out.toString();
+    }
+
+    private static void appendRows(StringBuilder out, int length, int rowSize, IntFunction<String> element) {
+        for (int i = 0; i < length; ++i) {
+            out.append(i % rowSize == 0 ? "            " : " ")
+                    .append(element.apply(i));
+            if (i < length - 1) {
+                out.append(',');
+            }
+            if (i % rowSize == rowSize - 1 || i == length - 1) {
+                out.append('\n');
+            }
+        }
+    }
+
+    private void buildPerfectHash(String[] pairs) {
+        // buckets stored as linked lists of pair indexes
+        int[] heads = new int[displacements.length];
+        int[] next = new int[pairs.length / 2];
+        int[] sizes = new int[displacements.length];
+        Arrays.fill(heads, -1);
+        for (int i = 0; i < next.length; ++i) {
+            int bucket = bucket(hash(pairs[2 * i + 1]), displacements.length);
+            next[i] = heads[bucket];
+            heads[bucket] = i;
+            sizes[bucket]++;
+        }
+        int maxBucketSize = 0;
+        for (int size : sizes) {
+            maxBucketSize = Math.max(maxBucketSize, size);
+        }
+        int[] slots = new int[maxBucketSize];
+        // largest buckets are placed first, while most slots are still free
+        for (int bucketSize = maxBucketSize; bucketSize > 0; --bucketSize) {
+            for (int bucket = 0; bucket < heads.length; ++bucket) {
+                if (sizes[bucket] != bucketSize) {
+                    continue;
+                }
+                int displacement = findDisplacement(pairs, heads[bucket], next, slots);
+                displacements[bucket] = displacement;
+                int slot = 0;
+                for (int i = heads[bucket]; i >= 0; i = next[i]) {
+                    entities[slots[slot]] = pairs[2 * i + 1];
+                    values[slots[slot]] = pairs[2 * i].charAt(0);
+                    slot++;
+                }
+            }
+        }
+    }
+
+    private int findDisplacement(String[] pairs, int head, int[] next, int[] slots) {
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT; ++displacement) {
+            if (fits(pairs, head, next, displacement, slots)) {
+                return displacement;
+            }
+        }
+        throw new IllegalStateException("Could not build perfect hash for entity: " + pairs[2 * head + 1]);
+    }
+
+    private boolean fits(String[] pairs, int head, int[] next, int displacement, int[] slots) {
+        int count = 0;
+        for (int i = head; i >= 0; i = next[i]) {
+            int slot = slot(hash(pairs[2 * i + 1]), displacement, mask);
+            if (entities[slot] != null) {
+                return false;
+            }
+            for (int j = 0; j < count; ++j) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[count++] = slot;
+        }
+        return true;
+    }
+}
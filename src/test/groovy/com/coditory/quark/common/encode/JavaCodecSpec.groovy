@@ -50,4 +50,16 @@ class JavaCodecSpec extends Specification {
             input    || output
             "a\\45b" || "a%b"
     }
+
+    @Unroll
+    def "should decode escapes without an encoded form: #input"() {
+        expect:
+            JavaCodec.decode(input) == output
+        where:
+            input     || output
+            "\\'"     || "'"
+            "\\/"     || "/"
+            "a\\xb"   || "axb"
+            "a\\"     || "a"
+    }
 }
@@ -42,4 +42,48 @@ class JsonCodecSpec extends Specification {
             input    || output
             "a\\45b" || "a%b"
     }
+
+    def "should return the same instance when there is nothing to decode"() {
+        given:
+            String input = "hello 'John'"
+        expect:
+            JsonCodec.decode(input).is(input)
+    }
+
+    @Unroll
+    def "should decode json escapes: #input"() {
+        expect:
+            JsonCodec.decode(input) == output
+        where:
+            input                 || output
+            "\\b\\f\\n\\r\\t"     || "\b\f\n\r\t"
+            "\\\"\\\\\\/"         || "\"\\/"
+            "\\u0041\\u00e9"      || "Aé"
+            "\\uD83C\\uDF09 ok"   || "🌉 ok"
+            "a\\u8a9eb"           || "a語b"
+    }
+
+    def "should decode char array slice"() {
+        given:
+            char[] input = "xx\\u0041\\nyy".toCharArray()
+        expect:
+            JsonCodec.decode(input, 2, 8) == "A\n"
+    }
+
+    def "should decode UTF-8 byte array slice"() {
+        given:
+            byte[] input = "x語\\\"🌉\\u0041x".getBytes("UTF-8")
+        expect:
+            JsonCodec.decode(input, 1, input.length - 2) == "語\"🌉A"
+    }
+
+    @Unroll
+    def "should fail to decode invalid unicode escape: #input"() {
+        when:
+            JsonCodec.decode(input)
+        then:
+            thrown(IllegalArgumentException)
+        where:
+            input << ["\\u12", "\\u12G4"]
+    }
 }
@@ -0,0 +1,68 @@
+package com.coditory.quark.common.encode
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+
+import static java.nio.charset.StandardCharsets.UTF_8
+
+class JsonStringWriterSpec extends Specification {
+    @Unroll
+    def "should write the same output as JsonCodec: #input"() {
+        given:
+            JsonStringWriter writer = JsonStringWriter.getInstance()
+            byte[] expected = ("\"" + JsonCodec.encode(input) + "\"").getBytes(UTF_8)
+        expect:
+            writer.write(input) == expected
+            writer.encodedLength(input) == expected.length
+        where:
+            input << [
+                    "",
+                    "any carnal pleasure",
+                    'hello "John"',
+                    "slash / and backslash \\",
+                    "a\nb\tc\u0001",
+                    "a語b",
+                    "🌉"
+            ]
+    }
+
+    @Unroll
+    def "should write non ascii characters as UTF-8: #input"() {
+        expect:
+            new String(JsonStringWriter.getUtf8Instance().write(input), UTF_8) == output
+        where:
+            input         || output
+            "a語b"         || '"a語b"'
+            "🌉"          || '"🌉"'
+            "\"\n"        || '"\\"\\n"'
+            "lone \uD83C" || '"lone \\uD83C"'
+    }
+
+    def "should write to byte array at offset"() {
+        given:
+            byte[] out = new byte[10]
+        when:
+            int end = JsonStringWriter.getInstance().write("a\"b", out, 2)
+        then:
+            end == 8
+            new String(out, 2, end - 2, UTF_8) == '"a\\"b"'
+    }
+
+    def "should write to direct byte buffer and output stream"() {
+        given:
+            String input = ("x\"語🌉" * 200)
+            byte[] expected = JsonStringWriter.getUtf8Instance().write(input)
+            ByteBuffer buffer = ByteBuffer.allocateDirect(expected.length)
+            ByteArrayOutputStream stream = new ByteArrayOutputStream()
+        when:
+            JsonStringWriter.getUtf8Instance().write(input, buffer)
+            JsonStringWriter.getUtf8Instance().write(input, stream)
+        then:
+            byte[] written = new byte[buffer.flip().remaining()]
+            buffer.get(written)
+            written == expected
+            stream.toByteArray() == expected
+    }
+}
@@ -5,6 +5,8 @@ import spock.lang.Specification
 import spock.lang.Unroll
 
 import static com.coditory.quark.common.text.Alphabets.*
+import static java.nio.charset.StandardCharsets.ISO_8859_1
+import static java.nio.charset.StandardCharsets.UTF_8
 
 class PercentCodecSpec extends Specification {
     @Unroll
@@ -64,4 +66,21 @@ class PercentCodecSpec extends Specification {
         then:
             decoded == "ABCabc®語"
     }
+
+    def "should reject byte translation for non UTF-8 charset"() {
+        given:
+            TranslationCodec codec = PercentCodec.builder()
+                    .charset(ISO_8859_1)
+                    .build()
+        expect:
+            codec.decode("%E9") == "é"
+        when:
+            ((ByteTranslator) codec.getDecoder()).translate("%E9".getBytes(UTF_8))
+        then:
+            thrown(IllegalStateException)
+        when:
+            ((ByteTranslator) codec.getEncoder()).translate("é".getBytes(UTF_8))
+        then:
+            thrown(IllegalStateException)
+    }
 }
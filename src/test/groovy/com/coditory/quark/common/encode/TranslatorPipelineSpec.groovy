@@ -0,0 +1,39 @@
+package com.coditory.quark.common.encode
+
+import com.coditory.quark.common.encode.csv.CsvCodec
+import com.coditory.quark.common.encode.percent.PercentCodec
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TranslatorPipelineSpec extends Specification {
+    @Unroll
+    def "should encode and decode with codec pipeline: #input"() {
+        given:
+            TranslationCodec codec = JsonCodec.getInstance().andThen(PercentCodec.getInstance())
+        expect:
+            codec.encode(input) == PercentCodec.encode(JsonCodec.encode(input))
+            codec.decode(codec.encode(input)) == input
+        where:
+            input << ["", "plain", 'a "b" 語/', "🌉 & ;"]
+    }
+
+    def "should html escape and csv quote in a single pipeline"() {
+        given:
+            TranslationCodec codec = Html4Codec.getInstance().andThen(CsvCodec.getInstance())
+        expect:
+            codec.encode("a,<b>") == "\"a,&lt;b&gt;\""
+            codec.decode("\"a,&lt;b&gt;\"") == "a,<b>"
+    }
+
+    def "should return the same instance when no stage changes the input"() {
+        given:
+            Translator translator = Translator.pipeline(
+                    JsonCodec.getInstance().getEncoder(),
+                    Html4Codec.getInstance().getEncoder(),
+                    CsvCodec.getEncoder()
+            )
+            String input = "plain text"
+        expect:
+            translator.translate(input).is(input)
+    }
+}
@@ -0,0 +1,85 @@
+package com.coditory.quark.common.net
+
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CidrSetSpec extends Specification {
+    @Shared
+    CidrSet cidrs = CidrSet.of([
+            "10.0.0.0/8",
+            "10.1.0.0/16",
+            "10.1.2.3",
+            "192.168.0.0/24",
+            "2001:db8::/32",
+            "2001:db8:1::/48",
+            "::1"
+    ])
+
+    @Unroll
+    def "should find longest prefix match for: #address"() {
+        expect:
+            cidrs.longestPrefixMatch(address) == expected
+            cidrs.contains(address) == (expected != null)
+        where:
+            address              || expected
+            "10.2.3.4"           || "10.0.0.0/8"
+            "10.1.3.4"           || "10.1.0.0/16"
+            "10.1.2.3"           || "10.1.2.3"
+            "10.1.2.4"           || "10.1.0.0/16"
+            "192.168.0.255"      || "192.168.0.0/24"
+            "192.168.1.0"        || null
+            "11.0.0.0"           || null
+            "2001:db8:2::1"      || "2001:db8::/32"
+            "2001:db8:1:ffff::1" || "2001:db8:1::/48"
+            "::1"                || "::1"
+            "::2"                || null
+            "invalid"            || null
+    }
+
+    def "should match binary addresses"() {
+        expect:
+            cidrs.containsInet4Address(0x0A010203)
+            !cidrs.containsInet4Address(0x0B000000)
+            cidrs.longestPrefixMatchInet4Address(0x0A010203) == "10.1.2.3"
+            cidrs.containsInet6Address(0x20010db800010000L, 1L)
+            cidrs.longestPrefixMatchInet6Address(0L, 1L) == "::1"
+            !cidrs.containsInet6Address(0L, 2L)
+    }
+
+    def "should match any address with zero length prefix"() {
+        given:
+            CidrSet all = CidrSet.builder()
+                    .add("0.0.0.0/0")
+                    .add("::/0")
+                    .build()
+        expect:
+            all.contains("1.2.3.4")
+            all.contains("255.255.255.255")
+            all.contains("ffff::1")
+    }
+
+    def "should ignore host bits and duplicated blocks"() {
+        when:
+            CidrSet result = CidrSet.of(["10.1.2.3/8", "10.0.0.0/8"])
+        then:
+            result.size() == 1
+            result.longestPrefixMatch("10.200.0.1") == "10.1.2.3/8"
+    }
+
+    def "should create empty set"() {
+        expect:
+            CidrSet.empty().isEmpty()
+            !CidrSet.empty().contains("10.0.0.1")
+    }
+
+    @Unroll
+    def "should reject invalid CIDR block: #cidr"() {
+        when:
+            CidrSet.builder().add(cidr)
+        then:
+            thrown(IllegalArgumentException)
+        where:
+            cidr << ["", "/8", "10.0.0.0/", "10.0.0.0/33", "10.0.0.0/a", "::/129", "fe80::1%eth0/64", "10.0.0/8"]
+    }
+}
@@ -0,0 +1,80 @@
+package com.coditory.quark.common.net
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+
+import static com.coditory.quark.common.net.InetAddressValidator.INVALID_INET4_ADDRESS
+
+class InetAddressValidatorSpec extends Specification {
+    @Unroll
+    def "should parse ipv4 address: #address"() {
+        expect:
+            InetAddressValidator.parseInet4Address(address) == expected
+            InetAddressValidator.isValidInet4Address(address)
+            InetAddressValidator.isValidInetAddress(address)
+        where:
+            address           || expected
+            "0.0.0.0"         || 0L
+            "10.0.0.1"        || 0x0A000001L
+            "192.168.1.20"    || 0xC0A80114L
+            "255.255.255.255" || 0xFFFFFFFFL
+    }
+
+    @Unroll
+    def "should reject invalid ipv4 address: #address"() {
+        expect:
+            InetAddressValidator.parseInet4Address(address) == INVALID_INET4_ADDRESS
+            !InetAddressValidator.isValidInet4Address(address)
+        where:
+            address << ["", "1.2.3", "1.2.3.4.5", "1.2.3.256", "01.2.3.4", "1..2.3", "1.2.3.4 ", "a.b.c.d", "1.2.3.1000"]
+    }
+
+    def "should parse ipv4 address from a region"() {
+        expect:
+            InetAddressValidator.parseInet4Address("http://10.0.0.1/", 7, 15) == 0x0A000001L
+    }
+
+    @Unroll
+    def "should parse ipv6 address: #address"() {
+        given:
+            long[] longs = new long[2]
+            byte[] bytes = new byte[16]
+        expect:
+            InetAddressValidator.parseInet6Address(address, longs)
+            InetAddressValidator.parseInet6Address(address, bytes)
+            InetAddressValidator.isValidInet6Address(address)
+        and:
+            longs.toList() == [high, low]
+            bytes == ByteBuffer.allocate(16).putLong(high).putLong(low).array()
+        where:
+            address                                   || high                  | low
+            "::"                                      || 0L                    | 0L
+            "::1"                                     || 0L                    | 1L
+            "1::"                                     || 0x0001000000000000L   | 0L
+            "2001:db8::ff00:42:8329"                  || 0x20010db800000000L   | 0x0000ff0000428329L
+            "2001:0DB8:0000:0000:0000:FF00:0042:8329" || 0x20010db800000000L   | 0x0000ff0000428329L
+            "1:2:3:4:5:6:7:8"                         || 0x0001000200030004L   | 0x0005000600070008L
+            "::ffff:10.0.0.1"                         || 0L                    | 0x0000ffff0a000001L
+            "1:2:3:4:5:6:1.2.3.4"                     || 0x0001000200030004L   | 0x0005000601020304L
+            "fe80::1%eth0"                            || 0xfe80000000000000L   | 1L
+            "2001:db8::/32"                           || 0x20010db800000000L   | 0L
+    }
+
+    @Unroll
+    def "should reject invalid ipv6 address: #address"() {
+        given:
+            long[] result = [7L, 7L]
+        expect:
+            !InetAddressValidator.parseInet6Address(address, result)
+            !InetAddressValidator.isValidInet6Address(address)
+            result.toList() == [7L, 7L]
+        where:
+            address << [
+                    "", ":", ":::", "1:2", ":1::", "1::2:", "1::2::3", "12345::", "g::",
+                    "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7:8::", "1:2:3:4:5:6:7::8",
+                    "::1.2.3", "1.2.3.4::", "::1%", "::1%a%b", "::1/129", "::1/a", "::1/1/2"
+            ]
+    }
+}
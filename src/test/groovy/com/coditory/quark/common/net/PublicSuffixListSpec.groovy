@@ -0,0 +1,89 @@
+package com.coditory.quark.common.net
+
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class PublicSuffixListSpec extends Specification {
+    @Shared
+    PublicSuffixList suffixes = PublicSuffixList.fromClasspath()
+
+    @Unroll
+    def "should resolve public suffix and registrable domain for: #host"() {
+        expect:
+            suffixes.getPublicSuffix(host) == suffix
+            suffixes.getRegistrableDomain(host) == domain
+        where:
+            host                        || suffix             | domain
+            "example.com"               || "com"              | "example.com"
+            "www.Example.COM"           || "com"              | "example.com"
+            "example.com."              || "com"              | "example.com"
+            "a.b.example.co.uk"         || "co.uk"            | "example.co.uk"
+            "co.uk"                     || "co.uk"            | null
+            "a.foo.kawasaki.jp"         || "foo.kawasaki.jp"  | "a.foo.kawasaki.jp"
+            "foo.kawasaki.jp"           || "foo.kawasaki.jp"  | null
+            "a.city.kawasaki.jp"        || "kawasaki.jp"      | "city.kawasaki.jp"
+            "www.ck"                    || "ck"               | "www.ck"
+            "a.user.github.io"          || "github.io"        | "user.github.io"
+            "example.unlisted"          || "unlisted"         | "example.unlisted"
+            "www.example.公司.cn"         || "公司.cn"            | "example.公司.cn"
+            "www.example.xn--55qx5d.cn" || "xn--55qx5d.cn"    | "example.xn--55qx5d.cn"
+            "www.example。com"      || "com"              | "example.com"
+    }
+
+    @Unroll
+    def "should not resolve registrable domain for: #host"() {
+        expect:
+            suffixes.getRegistrableDomain(host) == null
+        where:
+            host << ["", ".com", "com", "1.2.3.4", "[::1]", "::1"]
+    }
+
+    def "should skip private domains"() {
+        given:
+            PublicSuffixList icann = PublicSuffixList.fromClasspath(PublicSuffixList.DEFAULT_RESOURCE, false)
+        expect:
+            icann.getRegistrableDomain("a.user.github.io") == "github.io"
+            icann.getRegistrableDomain("example.co.uk") == "example.co.uk"
+    }
+
+    def "should check if host is a public suffix"() {
+        expect:
+            suffixes.isPublicSuffix("co.uk")
+            suffixes.isPublicSuffix("unlisted")
+            !suffixes.isPublicSuffix("example.co.uk")
+            suffixes.hasPublicSuffix("example.co.uk")
+            !suffixes.hasPublicSuffix("example.unlisted")
+    }
+
+    def "should load rules from file"() {
+        given:
+            Path file = Files.createTempFile("public-suffix-list", ".dat")
+            Files.writeString(file, "// comment\n\ncom\n*.example.com trailing text\n")
+        when:
+            PublicSuffixList result = PublicSuffixList.fromFile(file)
+        then:
+            result.getRegistrableDomain("a.b.example.com") == "a.b.example.com"
+            result.getRegistrableDomain("b.example.com") == null
+        cleanup:
+            Files.deleteIfExists(file)
+    }
+
+    def "should parse rules from string"() {
+        when:
+            PublicSuffixList result = PublicSuffixList.parse("org\n!www.test.org\n*.test.org")
+        then:
+            result.getRegistrableDomain("a.b.test.org") == "a.b.test.org"
+            result.getRegistrableDomain("www.test.org") == "www.test.org"
+    }
+
+    def "should fail on missing classpath resource"() {
+        when:
+            PublicSuffixList.fromClasspath("missing.dat")
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
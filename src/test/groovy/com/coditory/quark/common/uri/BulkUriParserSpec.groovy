@@ -0,0 +1,135 @@
+package com.coditory.quark.common.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.TimeUnit
+
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_FRAGMENT
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_HOST
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_PATH
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_PORT
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_QUERY
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_SCHEME
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_SCHEME_SPECIFIC_PART
+import static com.coditory.quark.common.uri.UriParseStatus.INVALID_USER_INFO
+import static com.coditory.quark.common.uri.UriParseStatus.MALFORMED
+import static com.coditory.quark.common.uri.UriParseStatus.VALID
+import static java.nio.charset.StandardCharsets.UTF_8
+
+class BulkUriParserSpec extends Specification {
+    BulkUriParser parser = BulkUriParser.builder()
+            .taskSize(2)
+            .chunkSize(3)
+            .build()
+
+    @Unroll
+    def "should report parse status: #status for: #uri"() {
+        when:
+            BulkUriParseResult result = parser.parse([uri])
+        then:
+            result.getStatus(0) == status
+            result.isValid(0) == (status == VALID)
+            (result.getUriComponents(0) != null) == (status == VALID)
+        where:
+            uri                            || status
+            "https://coditory.com/a?b=c#d" || VALID
+            "/a/b"                         || VALID
+            "mailto:john@coditory.com"     || VALID
+            "1a://coditory.com"            || INVALID_SCHEME
+            "1.2.3.4:"                     || INVALID_SCHEME
+            "mailto:a b"                   || INVALID_SCHEME_SPECIFIC_PART
+            "http://a b@coditory.com"      || INVALID_USER_INFO
+            "http://user@:80"              || INVALID_USER_INFO
+            "http://coditory com"          || INVALID_HOST
+            "http://coditory.com:99999"    || INVALID_PORT
+            "http://coditory.com:8a"       || INVALID_PORT
+            "http://coditory.com/a b"      || INVALID_PATH
+            "http://coditory.com/%zz"      || INVALID_PATH
+            "http://coditory.com?a=b=c"    || INVALID_QUERY
+            "http://coditory.com?+=c"      || INVALID_QUERY
+            "http://coditory.com?%20=c"    || INVALID_QUERY
+            "http://coditory.com?a&%09"    || INVALID_QUERY
+            "http://coditory.com?%C2%A0=c" || VALID
+            "http://coditory.com#a b"      || INVALID_FRAGMENT
+            "http://coditory.com#a\nb"     || MALFORMED
+            null                           || MALFORMED
+    }
+
+    def "should parse uris in input order"() {
+        given:
+            List<String> uris = (0..<100).collect { it % 3 == 0 ? "http://coditory.com/$it" : "http://coditory.com/$it x" }
+        when:
+            BulkUriParseResult result = parser.parse(uris)
+        then:
+            result.size() == 100
+            result.countValid() == 34
+            result.count(INVALID_PATH) == 66
+            (0..<100).every {
+                result.getUri(it) == uris[it]
+                        && result.isValid(it) == (it % 3 == 0)
+                        && result.getUriComponents(it)?.toUriString() == (it % 3 == 0 ? uris[it] : null)
+            }
+    }
+
+    def "should parse the same components as the single uri parser"() {
+        given:
+            String uri = "https://john@Coditory.com:8080/a/%C3%B1?x=1&x=2&y#f"
+        expect:
+            parser.parse([uri]).getUriComponents(0).toUriString() == UriComponents.parseUri(uri).toUriString()
+    }
+
+    def "should parse lines from input stream in chunks"() {
+        given:
+            String lines = "http://coditory.com/1\nhttp://coditory.com/ 2\n/3\n\nhttp://coditory.com:x\nhttp://coditory.com/6"
+            List<BulkUriParseResult> chunks = []
+        when:
+            parser.parse(new ByteArrayInputStream(lines.getBytes(UTF_8)), { chunks.add(it) })
+        then:
+            chunks*.size() == [3, 3]
+            chunks[0].getUri(0) == "http://coditory.com/1"
+            chunks[0].getStatus(1) == INVALID_PATH
+            chunks[1].getStatus(0) == VALID
+            chunks[1].getStatus(1) == INVALID_PORT
+            chunks[1].getUri(2) == "http://coditory.com/6"
+    }
+
+    def "should stop parsing input stream when consumer fails"() {
+        given:
+            String lines = (0..<1000).collect { "http://coditory.com/$it" }.join("\n")
+            ForkJoinPool pool = new ForkJoinPool(2)
+            BulkUriParser custom = BulkUriParser.builder()
+                    .pool(pool)
+                    .chunkSize(10)
+                    .build()
+            int calls = 0
+        when:
+            custom.parse(new ByteArrayInputStream(lines.getBytes(UTF_8)), {
+                calls++
+                throw new IllegalStateException("consumer failure")
+            })
+        then:
+            IllegalStateException e = thrown(IllegalStateException)
+            e.message == "consumer failure"
+            calls == 1
+            pool.awaitQuiescence(5, TimeUnit.SECONDS)
+        cleanup:
+            pool.shutdown()
+    }
+
+    def "should parse on custom fork join pool"() {
+        given:
+            ForkJoinPool pool = new ForkJoinPool(2)
+            BulkUriParser custom = BulkUriParser.builder()
+                    .pool(pool)
+                    .build()
+        when:
+            BulkUriParseResult result = custom.parse(["http://coditory.com", "http://coditory com"])
+        then:
+            result.getStatus(0) == VALID
+            result.getStatus(1) == INVALID_HOST
+        cleanup:
+            pool.shutdown()
+    }
+}
@@ -0,0 +1,95 @@
+package com.coditory.quark.common.uri
+
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PathRouterSpec extends Specification {
+    @Shared
+    PathRouter<String> router = PathRouter.<String> builder()
+            .addRoute("/", "root")
+            .addRoute("/users", "users")
+            .addRoute("/users/me/settings", "settings")
+            .addRoute("/users/{id}", "user")
+            .addRoute("/users/{id}/orders/*", "order")
+            .addRoute("/users/{id}/settings", "user-settings")
+            .addRoute("/files/**", "files")
+            .addRoute("/files/{name}/meta", "file-meta")
+            .addRoute("/caf%C3%A9/{name}", "cafe")
+            .build()
+
+    @Unroll
+    def "should match path: #path"() {
+        when:
+            PathRouteMatch<String> result = router.match(path)
+        then:
+            result.value == expected
+            result.variables == variables
+        where:
+            path                          || expected        | variables
+            "/"                           || "root"          | [:]
+            ""                            || "root"          | [:]
+            "/users"                      || "users"         | [:]
+            "/users/"                     || "users"         | [:]
+            "//users//123"                || "user"          | [id: "123"]
+            "/users/me/settings"          || "settings"      | [:]
+            "/users/me"                   || "user"          | [id: "me"]
+            "/users/me/orders/1"          || "order"         | [id: "me"]
+            "/users/123/settings?x=y#z"   || "user-settings" | [id: "123"]
+            "/files"                      || "files"         | [:]
+            "/files/a/b/c"                || "files"         | [:]
+            "/files/a/meta"               || "file-meta"     | [name: "a"]
+            "/caf%C3%A9/%C5%BC%C3%B3%C5%82w" || "cafe"      | [name: "żółw"]
+    }
+
+    @Unroll
+    def "should not match path: #path"() {
+        expect:
+            router.match(path) == null
+            router.matchValue(path) == null
+        where:
+            path << ["/unknown", "/users/123/orders", "/users/123/orders/1/2"]
+    }
+
+    def "should decode variables lazily"() {
+        when:
+            PathRouteMatch<String> result = router.match("/users/a%2Fb")
+        then:
+            result.pattern == "/users/{id}"
+            result.getVariable("id") == "a/b"
+            result.getVariable("other") == null
+    }
+
+    def "should match value without variables"() {
+        expect:
+            router.matchValue("/users/123/orders/1") == "order"
+    }
+
+    def "should match many routes"() {
+        given:
+            PathRouter.PathRouterBuilder<Integer> builder = PathRouter.builder()
+            (0..<3000).each { builder.addRoute("/service${it % 50}/resource$it/{id}", it) }
+            PathRouter<Integer> router = builder.build()
+        expect:
+            (0..<3000).every { router.matchValue("/service${it % 50}/resource$it/x") == it }
+    }
+
+    @Unroll
+    def "should reject invalid route pattern: #pattern"() {
+        when:
+            PathRouter.builder().addRoute(pattern, "x")
+        then:
+            thrown(IllegalArgumentException)
+        where:
+            pattern << ["/a/**/b", "/a/{}", "/a/x{y}", "/a/{x}/{x}"]
+    }
+
+    def "should reject duplicated route pattern"() {
+        when:
+            PathRouter.builder()
+                    .addRoute("/a/{x}", "x")
+                    .addRoute("/a/{y}", "y")
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
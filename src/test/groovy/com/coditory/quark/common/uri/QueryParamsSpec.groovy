@@ -0,0 +1,71 @@
+package com.coditory.quark.common.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class QueryParamsSpec extends Specification {
+    def "should parse query params in insertion order"() {
+        when:
+            QueryParams result = QueryParams.parse("b=b1&a=a1&b=b2&c")
+        then:
+            result.size() == 4
+            result.getName(0) == "b"
+            result.getValue(0) == "b1"
+            result.getName(3) == "c"
+            result.getValue(3) == ""
+            result.toMap() == [b: ["b1", "b2"], a: ["a1"], c: [""]]
+            result.toMap().keySet().toList() == ["b", "a", "c"]
+    }
+
+    def "should return first and all values"() {
+        given:
+            QueryParams result = QueryParams.parse("a=a1&b=b1&a=a2")
+        expect:
+            result.getFirst("a") == "a1"
+            result.getFirst("b") == "b1"
+            result.getFirst("c") == null
+            result.getAll("a") == ["a1", "a2"]
+            result.getAll("b") == ["b1"]
+            result.getAll("c") == []
+            result.contains("a")
+            !result.contains("c")
+    }
+
+    @Unroll
+    def "should decode query params: #query"() {
+        expect:
+            QueryParams.parse(query).toMap() == expected
+        where:
+            query                 || expected
+            ""                    || [:]
+            "&&"                  || [:]
+            "=x&a=b"              || [x: [""], a: ["b"]]
+            "a+b=c+d"             || ["a b": ["c d"]]
+            "a%20b=c%26d"         || ["a b": ["c&d"]]
+            "a=%C5%BC%C3%B3%C5%82w" || [a: ["żółw"]]
+            "a&b="                || [a: [""], b: [""]]
+    }
+
+    def "should return empty query params"() {
+        expect:
+            QueryParams.parse("").isEmpty()
+            QueryParams.parse("") == QueryParams.empty()
+    }
+
+    @Unroll
+    def "should fail on invalid query: #query"() {
+        when:
+            QueryParams.parse(query)
+        then:
+            thrown(InvalidUriException)
+        where:
+            query << ["a=%ZZ", "a==b", "+=a", "%20=a", "a=b&%20"]
+    }
+
+    def "should fail on index out of range"() {
+        when:
+            QueryParams.parse("a=b").getName(1)
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
@@ -139,4 +139,12 @@ class UriBuilder_parseUriPartsSpec extends Specification {
             "/test#a b"                      | "Invalid character ' ' for fragment in \"a b\""
             "/test#a#b"                      | "Invalid character '#' for fragment in \"a#b\""
     }
+
+    def "should throw error when parsing uri with line break in fragment"() {
+        when:
+            UriBuilder.parseUri("/test#a\nb")
+        then:
+            InvalidUriException e = thrown(InvalidUriException)
+            e.message == "Could not parse uri: \"/test#a\nb\""
+    }
 }
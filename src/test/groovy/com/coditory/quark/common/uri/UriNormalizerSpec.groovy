@@ -0,0 +1,106 @@
+package com.coditory.quark.common.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.stream.Collectors
+
+class UriNormalizerSpec extends Specification {
+    UriNormalizer normalizer = UriNormalizer.getInstance()
+
+    @Unroll
+    def "should normalize uri: #uri"() {
+        expect:
+            normalizer.normalize(uri) == expected
+        where:
+            uri                                           || expected
+            "HTTP://Example.COM"                          || "http://example.com/"
+            "https://User@Example.com:443/"               || "https://User@example.com/"
+            "https://example.com:8443/"                   || "https://example.com:8443/"
+            "http://example.com/a/./b/../c"               || "http://example.com/a/c"
+            "http://example.com/a/b/.."                   || "http://example.com/a/"
+            "http://example.com/a/b/."                    || "http://example.com/a/b/"
+            "http://example.com/../../a"                  || "http://example.com/a"
+            "http://example.com/%7euser/%2e%2E/x"         || "http://example.com/x"
+            "http://example.com/%c5%bc?q=%c5%bc+x"        || "http://example.com/%C5%BC?q=%C5%BC+x"
+            "http://example.com/?b=2&a=1&b=1&&a=0"        || "http://example.com/?a=1&a=0&b=2&b=1"
+            "http://example.com/a?"                       || "http://example.com/a"
+            "http://example.com/a#"                       || "http://example.com/a"
+            "http://example.com/a#Frag%3a"                || "http://example.com/a#Frag%3A"
+            "mailto:John%2edoe@Example.com"               || "mailto:John.doe@Example.com"
+            "a/./b/../c"                                  || "a/./b/../c"
+            "/a//b/"                                      || "/a//b/"
+    }
+
+    def "should produce the same fingerprint for equivalent uris"() {
+        expect:
+            normalizer.fingerprint("http://example.com/?a=1&b=2") == normalizer.fingerprint("HTTP://Example.com:80?b=2&a=1")
+            normalizer.fingerprint("http://example.com/a") != normalizer.fingerprint("http://example.com/b")
+    }
+
+    def "should normalize with custom options"() {
+        given:
+            UriNormalizer normalizer = UriNormalizer.builder()
+                    .removeDefaultPort(false)
+                    .sortQueryParams(false)
+                    .removeFragment(true)
+                    .cacheSize(10)
+                    .build()
+        expect:
+            normalizer.normalize("HTTP://Example.com:80/?b=1&a=2#frag") == "http://example.com:80/?b=1&a=2"
+            normalizer.normalize("HTTP://Example.com:80/?b=1&a=2#frag") == "http://example.com:80/?b=1&a=2"
+            normalizer.fingerprint("HTTP://Example.com:80/?b=1&a=2#frag") == normalizer.fingerprint("http://example.com:80/?b=1&a=2")
+    }
+
+    @Unroll
+    def "should reject invalid uri: #uri"() {
+        when:
+            normalizer.normalize(uri)
+        then:
+            thrown(InvalidUriException)
+        and:
+            normalizer.normalizeOrNull(uri) == null
+        where:
+            uri << [
+                    "http://a b/",
+                    "http://example.com/%zz",
+                    "http://example.com:99999/",
+                    "http://example.com/#a\nb",
+                    "http://ex.com/?a==b",
+                    "http://ex.com/?%20=x",
+                    "?+&/",
+                    "a:%0D"
+            ]
+    }
+
+    @Unroll
+    def "should normalize to uri accepted by the parser: #uri"() {
+        when:
+            String result = normalizer.normalize(uri)
+        then:
+            result == expected
+            UriComponents.parseUri(uri) != null
+            UriComponents.parseUri(result) != null
+            normalizer.normalize(result) == result
+        where:
+            uri                   || expected
+            "http://??=x"         || "http:///??=x"
+            "http://ex.com/?=x&a" || "http://ex.com/?a&x"
+            "a:%0D#"              || "a:%0D#"
+            "a:b#"                || "a:b"
+    }
+
+    def "should normalize with cache from multiple threads"() {
+        given:
+            UriNormalizer cached = UriNormalizer.builder()
+                    .cacheSize(16)
+                    .build()
+            List<String> uris = (0..<200).collect { "HTTP://Example.com/${it % 40}?b=1&a=2".toString() }
+        when:
+            List<String> results = uris.parallelStream()
+                    .map { cached.normalize(it) }
+                    .collect(Collectors.toList())
+        then:
+            results == uris.collect { normalizer.normalize(it) }
+    }
+}
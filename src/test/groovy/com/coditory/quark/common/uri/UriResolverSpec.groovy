@@ -0,0 +1,88 @@
+package com.coditory.quark.common.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UriResolverSpec extends Specification {
+    static final String BASE = "http://a/b/c/d;p?q"
+
+    @Unroll
+    def "should resolve reference: #reference"() {
+        expect:
+            UriComponents.resolve(BASE, reference) == expected
+        where:
+            reference       || expected
+            "g:h"           || "g:h"
+            "g"             || "http://a/b/c/g"
+            "./g"           || "http://a/b/c/g"
+            "g/"            || "http://a/b/c/g/"
+            "/g"            || "http://a/g"
+            "//g"           || "http://g"
+            "?y"            || "http://a/b/c/d;p?y"
+            "g?y"           || "http://a/b/c/g?y"
+            "#s"            || "http://a/b/c/d;p?q#s"
+            "g#s"           || "http://a/b/c/g#s"
+            "g?y#s"         || "http://a/b/c/g?y#s"
+            ";x"            || "http://a/b/c/;x"
+            "g;x"           || "http://a/b/c/g;x"
+            "g;x?y#s"       || "http://a/b/c/g;x?y#s"
+            ""              || "http://a/b/c/d;p?q"
+            "."             || "http://a/b/c/"
+            "./"            || "http://a/b/c/"
+            ".."            || "http://a/b/"
+            "../"           || "http://a/b/"
+            "../g"          || "http://a/b/g"
+            "../.."         || "http://a/"
+            "../../"        || "http://a/"
+            "../../g"       || "http://a/g"
+    }
+
+    @Unroll
+    def "should resolve abnormal reference: #reference"() {
+        expect:
+            UriComponents.resolve(BASE, reference) == expected
+        where:
+            reference       || expected
+            "../../../g"    || "http://a/g"
+            "../../../../g" || "http://a/g"
+            "/./g"          || "http://a/g"
+            "/../g"         || "http://a/g"
+            "g."            || "http://a/b/c/g."
+            ".g"            || "http://a/b/c/.g"
+            "g.."           || "http://a/b/c/g.."
+            "..g"           || "http://a/b/c/..g"
+            "./../g"        || "http://a/b/g"
+            "./g/."         || "http://a/b/c/g/"
+            "g/./h"         || "http://a/b/c/g/h"
+            "g/../h"        || "http://a/b/c/h"
+            "g;x=1/./y"     || "http://a/b/c/g;x=1/y"
+            "g;x=1/../y"    || "http://a/b/c/y"
+            "g?y/./x"       || "http://a/b/c/g?y/./x"
+            "g?y/../x"      || "http://a/b/c/g?y/../x"
+            "g#s/./x"       || "http://a/b/c/g#s/./x"
+            "g#s/../x"      || "http://a/b/c/g#s/../x"
+            "http:g"        || "http:g"
+    }
+
+    def "should resolve reference against base with empty path"() {
+        expect:
+            UriComponents.resolve("https://coditory.com", "a/b") == "https://coditory.com/a/b"
+            UriComponents.resolve("https://coditory.com?x=1", "#y") == "https://coditory.com?x=1#y"
+    }
+
+    def "should resolve reference against uri components"() {
+        when:
+            UriComponents result = UriComponents.parseUri("https://coditory.com/a/b?x=1")
+                    .resolve("../c?y=2#z")
+        then:
+            result.toUriString() == "https://coditory.com/c?y=2#z"
+    }
+
+    def "should fail to resolve reference against relative base"() {
+        when:
+            UriComponents.resolve("/a/b", "c")
+        then:
+            InvalidUriException e = thrown(InvalidUriException)
+            e.message == "Expected absolute base uri: \"/a/b\""
+    }
+}
@@ -0,0 +1,50 @@
+package com.coditory.quark.common.uri
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UriRfcSpec extends Specification {
+    @Unroll
+    def "should validate and decode #rfc: #value"() {
+        expect:
+            rfc.validateAndDecode(value) == expected
+        where:
+            rfc                 | value                 || expected
+            UriRfc.PATH_SEGMENT | "abc"                 || "abc"
+            UriRfc.PATH_SEGMENT | "a%20b"               || "a b"
+            UriRfc.PATH_SEGMENT | "a+b"                 || "a+b"
+            UriRfc.PATH_SEGMENT | "%C3%B1%c3%b1"        || "ññ"
+            UriRfc.PATH_SEGMENT | "%E2%82%AC-%2F"       || "€-/"
+            UriRfc.PATH_SEGMENT | "%FF"                 || "�"
+            UriRfc.QUERY_PARAM  | "a+b%2B"              || "a b+"
+            UriRfc.FRAGMENT     | "a/b?c%3F"            || "a/b?c?"
+    }
+
+    @Unroll
+    def "should reject invalid #rfc: #value"() {
+        when:
+            rfc.validateAndDecode(value)
+        then:
+            InvalidUriException e = thrown(InvalidUriException)
+            e.message == message
+        where:
+            rfc                 | value    || message
+            UriRfc.PATH_SEGMENT | "a b"    || "Invalid character ' ' for path_segment in \"a b\""
+            UriRfc.PATH_SEGMENT | "a/b"    || "Invalid character '/' for path_segment in \"a/b\""
+            UriRfc.PATH_SEGMENT | "ñ"      || "Invalid character 'ñ' for path_segment in \"ñ\""
+            UriRfc.QUERY_PARAM  | "a=b"    || "Invalid character '=' for query_param in \"a=b\""
+            UriRfc.PORT         | "%38a"   || "Invalid character 'a' for port in \"%38a\""
+            UriRfc.FRAGMENT     | "a%2"    || "Invalid encoded sequence \"%2\""
+            UriRfc.FRAGMENT     | "a%zzb"  || "Invalid encoded sequence \"%zzb\""
+    }
+
+    def "should validate and decode part of the source"() {
+        given:
+            String source = "/a%20b/c?d"
+        expect:
+            UriRfc.PATH_SEGMENT.validateAndDecode(source, 1, 6) == "a b"
+            UriRfc.PATH_SEGMENT.validateAndDecode(source, 7, 8) == "c"
+            UriRfc.PATH_SEGMENT.isValidEncoded(source, 1, 6)
+            !UriRfc.PATH_SEGMENT.isValidEncoded(source, 0, 8)
+    }
+}
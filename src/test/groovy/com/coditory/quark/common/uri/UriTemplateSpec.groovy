@@ -0,0 +1,142 @@
+package com.coditory.quark.common.uri
+
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UriTemplateSpec extends Specification {
+    // variables from RFC 6570, section 3.2
+    @Shared
+    Map<String, Object> variables = [
+            count     : ["one", "two", "three"],
+            dom       : ["example", "com"],
+            dub       : "me/too",
+            hello     : "Hello World!",
+            half      : "50%",
+            var       : "value",
+            who       : "fred",
+            base      : "http://example.com/home/",
+            path      : "/foo/bar",
+            list      : ["red", "green", "blue"],
+            keys      : [semi: ";", dot: ".", comma: ","],
+            v         : "6",
+            x         : "1024",
+            y         : "768",
+            empty     : "",
+            empty_keys: [:]
+    ]
+
+    @Unroll
+    def "should expand simple and reserved expressions: #template"() {
+        expect:
+            UriTemplate.compile(template).expand(variables) == expected
+        where:
+            template         || expected
+            "{var}"          || "value"
+            "{hello}"        || "Hello%20World%21"
+            "{half}"         || "50%25"
+            "O{empty}X"      || "OX"
+            "O{undef}X"      || "OX"
+            "{x,y}"          || "1024,768"
+            "{var:3}"        || "val"
+            "{var:30}"       || "value"
+            "{list}"         || "red,green,blue"
+            "{keys}"         || "semi,%3B,dot,.,comma,%2C"
+            "{keys*}"        || "semi=%3B,dot=.,comma=%2C"
+            "{+hello}"       || "Hello%20World!"
+            "{+half}"        || "50%25"
+            "{base}index"    || "http%3A%2F%2Fexample.com%2Fhome%2Findex"
+            "{+base}index"   || "http://example.com/home/index"
+            "{+path:6}/here" || "/foo/b/here"
+            "{+keys*}"       || "semi=;,dot=.,comma=,"
+            "{#hello}"       || "#Hello%20World!"
+            "foo{#empty}"    || "foo#"
+            "foo{#undef}"    || "foo"
+            "{#path,x}/here" || "#/foo/bar,1024/here"
+    }
+
+    @Unroll
+    def "should expand label and path expressions: #template"() {
+        expect:
+            UriTemplate.compile(template).expand(variables) == expected
+        where:
+            template          || expected
+            "{.who,who}"      || ".fred.fred"
+            "www{.dom*}"      || "www.example.com"
+            "X{.empty}"       || "X."
+            "X{.undef}"       || "X"
+            "X{.list*}"       || "X.red.green.blue"
+            "X{.keys*}"       || "X.semi=%3B.dot=..comma=%2C"
+            "X{.empty_keys}"  || "X"
+            "{/who,dub}"      || "/fred/me%2Ftoo"
+            "{/var,empty}"    || "/value/"
+            "{/var:1,var}"    || "/v/value"
+            "{/list*}"        || "/red/green/blue"
+            "{/list*,path:4}" || "/red/green/blue/%2Ffoo"
+            "{/keys*}"        || "/semi=%3B/dot=./comma=%2C"
+    }
+
+    @Unroll
+    def "should expand path parameter and query expressions: #template"() {
+        expect:
+            UriTemplate.compile(template).expand(variables) == expected
+        where:
+            template            || expected
+            "{;who}"            || ";who=fred"
+            "{;empty}"          || ";empty"
+            "{;hello:5}"        || ";hello=Hello"
+            "{;v,empty,who}"    || ";v=6;empty;who=fred"
+            "{;list}"           || ";list=red,green,blue"
+            "{;list*}"          || ";list=red;list=green;list=blue"
+            "{;keys*}"          || ";semi=%3B;dot=.;comma=%2C"
+            "{?x,y,empty}"      || "?x=1024&y=768&empty="
+            "{?x,y,undef}"      || "?x=1024&y=768"
+            "{?list}"           || "?list=red,green,blue"
+            "{?list*}"          || "?list=red&list=green&list=blue"
+            "{?keys}"           || "?keys=semi,%3B,dot,.,comma,%2C"
+            "{?keys*}"          || "?semi=%3B&dot=.&comma=%2C"
+            "?fixed=yes{&x}"    || "?fixed=yes&x=1024"
+            "{&count*}"         || "&count=one&count=two&count=three"
+    }
+
+    @Unroll
+    def "should encode literals and non ascii values: #template"() {
+        expect:
+            UriTemplate.compile(template).expand(values) == expected
+        where:
+            template              | values         || expected
+            "/a b/{x}"            | [x: "y"]       || "/a%20b/y"
+            "/%7Efoo/{x}"         | [x: "y"]       || "/%7Efoo/y"
+            "/a|b"                | [:]            || "/a%7Cb"
+            "{x}"                 | [x: "żółw"]    || "%C5%BC%C3%B3%C5%82w"
+            "{x:1}"               | [x: "😀x"]     || "%F0%9F%98%80"
+            "{+x}"                | [x: "%C5%BC%"] || "%C5%BC%25"
+            "{x}"                 | [x: 123]       || "123"
+    }
+
+    @Unroll
+    def "should fail on invalid template: #template"() {
+        when:
+            UriTemplate.compile(template)
+        then:
+            thrown(InvalidUriTemplateException)
+        where:
+            template << ["{", "}", "{}", "{=x}", "{a b}", "{x:0}", "{x:10000}", "{x*y}", "{a..b}", "{a,}"]
+    }
+
+    def "should return variable names"() {
+        expect:
+            UriTemplate.compile("https://{host}/a{/path*}{?q,host}").variableNames == ["host", "path", "q"]
+    }
+
+    def "should expand template to uri builder"() {
+        given:
+            UriTemplate template = UriTemplate.compile("https://{host}/users{/id}{?q*}")
+        when:
+            UriComponents result = template.expandToUriBuilder([host: "coditory.com", id: "a b", q: [page: "2"]]).build()
+        then:
+            result.host == "coditory.com"
+            result.pathSegments == ["users", "a b"]
+            result.queryParams == [page: ["2"]]
+    }
+}
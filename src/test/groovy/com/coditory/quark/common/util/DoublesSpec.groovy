@@ -128,6 +128,41 @@ class DoublesSpec extends Specification {
             e.message == "Could not parse Double value: 'abc'"
     }
 
+    @Unroll
+    def "should parse double value from char range: #value"() {
+        given:
+            char[] chars = ("[" + value + "]").toCharArray()
+        expect:
+            parseDoubleOrDefault(chars, 1, value.length(), -7d) == expected
+        where:
+            value                    || expected
+            "0"                      || 0d
+            "-1.5"                   || -1.5d
+            "0.1"                    || 0.1d
+            ".5"                     || 0.5d
+            "1e10"                   || 1e10d
+            "-3.25E-3"               || -3.25e-3d
+            "123456789012345678"     || 123456789012345678d
+            "1.7976931348623157E308" || Double.MAX_VALUE
+            "1e400"                  || -7d
+            "NaN"                    || -7d
+            "abc"                    || -7d
+            ""                       || -7d
+    }
+
+    def "should parse double from char range or throw error"() {
+        when:
+            double result = parseDouble("x1.5x".toCharArray(), 1, 3)
+        then:
+            result == 1.5d
+
+        when:
+            parseDouble("xabcx".toCharArray(), 1, 3)
+        then:
+            IllegalArgumentException e = thrown(IllegalArgumentException)
+            e.message == "Could not parse Double value: 'abc'"
+    }
+
 
     @Unroll
     def "contains(#array, #target) == #expected"() {
@@ -129,6 +129,39 @@ class IntegersSpec extends Specification {
             e.message == "Could not parse Integer value: 'abc'"
     }
 
+    @Unroll
+    def "should parse int value from char range: #value"() {
+        given:
+            char[] chars = ("[" + value + "]").toCharArray()
+        expect:
+            parseIntegerOrDefault(chars, 1, value.length(), -7) == expected
+        where:
+            value         || expected
+            "0"           || 0
+            "-1"          || -1
+            "+1"          || 1
+            "123"         || 123
+            "2147483647"  || Integer.MAX_VALUE
+            "-2147483648" || Integer.MIN_VALUE
+            "2147483648"  || -7
+            "1.1"         || -7
+            "-"           || -7
+            ""            || -7
+    }
+
+    def "should parse int from char range or throw error"() {
+        when:
+            int result = parseInteger("x12x".toCharArray(), 1, 2)
+        then:
+            result == 12
+
+        when:
+            parseInteger("xabcx".toCharArray(), 1, 3)
+        then:
+            IllegalArgumentException e = thrown(IllegalArgumentException)
+            e.message == "Could not parse Integer value: 'abc'"
+    }
+
     def "closestCast(#input) == #expected"() {
         expect:
             closestCast(input) == expected
@@ -128,6 +128,37 @@ class LongsSpec extends Specification {
             e.message == "Could not parse Long value: 'abc'"
     }
 
+    @Unroll
+    def "should parse long value from char range: #value"() {
+        given:
+            char[] chars = ("[" + value + "]").toCharArray()
+        expect:
+            parseLongOrDefault(chars, 1, value.length(), -7L) == expected
+        where:
+            value                  || expected
+            "0"                    || 0L
+            "-1"                   || -1L
+            "2147483648"           || 2147483648L
+            "9223372036854775807"  || Long.MAX_VALUE
+            "-9223372036854775808" || Long.MIN_VALUE
+            "9223372036854775808"  || -7L
+            "1e3"                  || -7L
+            ""                     || -7L
+    }
+
+    def "should parse long from char range or throw error"() {
+        when:
+            long result = parseLong("x12x".toCharArray(), 1, 2)
+        then:
+            result == 12L
+
+        when:
+            parseLong("xabcx".toCharArray(), 1, 3)
+        then:
+            IllegalArgumentException e = thrown(IllegalArgumentException)
+            e.message == "Could not parse Long value: 'abc'"
+    }
+
     @Unroll
     def "should format to human readable"() {
         when: